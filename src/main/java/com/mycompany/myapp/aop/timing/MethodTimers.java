@@ -0,0 +1,72 @@
+package com.mycompany.myapp.aop.timing;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sampled timers of the methods of a kind of component, tagged by {@value #CLASS_TAG} and {@value #METHOD_TAG}.
+ * <p>
+ * Tags only come from the declared class and method names, never from arguments, so there is at most one timer per
+ * method of the application. Timers are looked up once per method, then reused, so that recording does not allocate.
+ * Only a share of the invocations is recorded: the counts of the timers must be divided by the sample rate.
+ */
+public class MethodTimers {
+
+    public static final String CLASS_TAG = "class";
+
+    public static final String METHOD_TAG = "method";
+
+    private final MeterRegistry meterRegistry;
+
+    private final String name;
+
+    private final String description;
+
+    private final double sampleRate;
+
+    private final Map<Class<?>, Map<Method, Timer>> timers = new ConcurrentHashMap<>();
+
+    public MethodTimers(MeterRegistry meterRegistry, String name, String description, double sampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.name = name;
+        this.description = description;
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Decide whether to record an invocation.
+     *
+     * @return {@code true} if the invocation must be recorded.
+     */
+    public boolean sample() {
+        return sampleRate >= 1.0 || (sampleRate > 0.0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    /**
+     * Record an invocation.
+     *
+     * @param type the class or interface invoked.
+     * @param method the method invoked.
+     * @param nanos the duration of the invocation, in nanoseconds.
+     */
+    public void record(Class<?> type, Method method, long nanos) {
+        timers
+            .computeIfAbsent(type, t -> new ConcurrentHashMap<>())
+            .computeIfAbsent(method, m -> newTimer(type, m))
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer newTimer(Class<?> type, Method method) {
+        return Timer
+            .builder(name)
+            .description(description)
+            .tag(CLASS_TAG, type.getSimpleName())
+            .tag(METHOD_TAG, method.getName())
+            .register(meterRegistry);
+    }
+}
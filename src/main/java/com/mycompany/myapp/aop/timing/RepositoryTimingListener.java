@@ -0,0 +1,27 @@
+package com.mycompany.myapp.aop.timing;
+
+import java.util.concurrent.TimeUnit;
+import org.springframework.data.repository.core.support.RepositoryMethodInvocationListener;
+
+/**
+ * Listener timing the methods of the Spring Data repositories, as {@value #METER_NAME} meters.
+ * <p>
+ * Spring Data measures each invocation itself, so no proxy is added in front of the repositories.
+ */
+public class RepositoryTimingListener implements RepositoryMethodInvocationListener {
+
+    public static final String METER_NAME = "repository.invocations";
+
+    private final MethodTimers timers;
+
+    public RepositoryTimingListener(MethodTimers timers) {
+        this.timers = timers;
+    }
+
+    @Override
+    public void afterInvocation(RepositoryMethodInvocation invocation) {
+        if (timers.sample()) {
+            timers.record(invocation.getRepositoryInterface(), invocation.getMethod(), invocation.getDuration(TimeUnit.NANOSECONDS));
+        }
+    }
+}
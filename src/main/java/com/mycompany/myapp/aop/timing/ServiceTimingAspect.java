@@ -0,0 +1,53 @@
+package com.mycompany.myapp.aop.timing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+
+/**
+ * Aspect timing the methods of the service Spring components, as {@value #METER_NAME} meters.
+ * <p>
+ * Invocations which are not sampled only go through the proxy; nothing about them is read nor formatted.
+ */
+@Aspect
+public class ServiceTimingAspect {
+
+    public static final String METER_NAME = "service.invocations";
+
+    private final MethodTimers timers;
+
+    public ServiceTimingAspect(MethodTimers timers) {
+        this.timers = timers;
+    }
+
+    /**
+     * Pointcut that matches all services in the application's service package.
+     */
+    @Pointcut("within(com.mycompany.myapp.service..*) && within(@org.springframework.stereotype.Service *)")
+    public void servicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Advice that times a sample of the service method invocations, whether they succeed or fail.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("servicePointcut()")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!timers.sample()) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+            timers.record(signature.getDeclaringType(), signature.getMethod(), System.nanoTime() - start);
+        }
+    }
+}
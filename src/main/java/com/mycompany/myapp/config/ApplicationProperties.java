@@ -1,5 +1,11 @@
 package com.mycompany.myapp.config;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +16,698 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
     // jhipster-needle-application-properties-property
+    private final Firebase firebase = new Firebase();
+
+    private final ReceivedRequests receivedRequests = new ReceivedRequests();
+
+    private final SqlMetrics sqlMetrics = new SqlMetrics();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final Cache cache = new Cache();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    private final Dataset dataset = new Dataset();
+
     // jhipster-needle-application-properties-property-getter
+    public Firebase getFirebase() {
+        return firebase;
+    }
+
+    public ReceivedRequests getReceivedRequests() {
+        return receivedRequests;
+    }
+
+    public SqlMetrics getSqlMetrics() {
+        return sqlMetrics;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    public Dataset getDataset() {
+        return dataset;
+    }
+
     // jhipster-needle-application-properties-property-class
+    public static class Firebase {
+
+        /**
+         * How custom tokens are signed: {@code admin} uses the Firebase Admin SDK, {@code local} a throw-away key.
+         */
+        private String signer = "admin";
+
+        /**
+         * Whether {@code /api/authenticate} and {@code /api/register} still return a {@code FirebaseToken} header.
+         */
+        private boolean inlineToken = true;
+
+        /**
+         * How long those endpoints wait for the token before answering without it.
+         */
+        private Duration inlineTimeout = Duration.ofSeconds(2);
+
+        private int poolSize = 2;
+
+        private int queueCapacity = 200;
+
+        public String getSigner() {
+            return signer;
+        }
+
+        public void setSigner(String signer) {
+            this.signer = signer;
+        }
+
+        public boolean isInlineToken() {
+            return inlineToken;
+        }
+
+        public void setInlineToken(boolean inlineToken) {
+            this.inlineToken = inlineToken;
+        }
+
+        public Duration getInlineTimeout() {
+            return inlineTimeout;
+        }
+
+        public void setInlineTimeout(Duration inlineTimeout) {
+            this.inlineTimeout = inlineTimeout;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class ReceivedRequests {
+
+        /**
+         * Interval between two heartbeats on the open streams, so that proxies don't close idle connections.
+         */
+        private Duration heartbeat = Duration.ofSeconds(15);
+
+        /**
+         * How long a stream stays open; clients reconnect afterwards.
+         */
+        private Duration timeout = Duration.ofMinutes(30);
+
+        /**
+         * How long a per-owner count is trusted before being read again from the database.
+         */
+        private Duration countTimeToLive = Duration.ofMinutes(10);
+
+        private int maxStreamsPerUser = 4;
+
+        public Duration getHeartbeat() {
+            return heartbeat;
+        }
+
+        public void setHeartbeat(Duration heartbeat) {
+            this.heartbeat = heartbeat;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+
+        public Duration getCountTimeToLive() {
+            return countTimeToLive;
+        }
+
+        public void setCountTimeToLive(Duration countTimeToLive) {
+            this.countTimeToLive = countTimeToLive;
+        }
+
+        public int getMaxStreamsPerUser() {
+            return maxStreamsPerUser;
+        }
+
+        public void setMaxStreamsPerUser(int maxStreamsPerUser) {
+            this.maxStreamsPerUser = maxStreamsPerUser;
+        }
+    }
+
+    public static class SqlMetrics {
+
+        /**
+         * Whether the SQL statements, rows and JDBC time of each request handler are measured.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Whether the rows read are counted too. Every result set is then proxied, and each call to it goes through a
+         * listener: disabled in production.
+         */
+        private boolean rows = true;
+
+        /**
+         * Whether responses carry an {@code X-Sql-Count} header with the number of statements run by their handler.
+         */
+        private boolean header = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isRows() {
+            return rows;
+        }
+
+        public void setRows(boolean rows) {
+            this.rows = rows;
+        }
+
+        public boolean isHeader() {
+            return header;
+        }
+
+        public void setHeader(boolean header) {
+            this.header = header;
+        }
+    }
+
+    public static class MethodTiming {
+
+        /**
+         * Whether repository and service methods are timed. When disabled, no listener nor aspect is registered.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Share of the invocations recorded, between 0 and 1.
+         */
+        private double sampleRate = 1.0;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Ehcache regions configuration, by cache name without the {@code com.mycompany.myapp.domain.} prefix. Regions
+         * which are not listed use {@code jhipster.cache.ehcache}.
+         */
+        private final Map<String, Region> regions = new HashMap<>();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+
+        public static class Region {
+
+            /**
+             * Number of entries kept on heap, {@code jhipster.cache.ehcache.max-entries} if not set.
+             */
+            private Long heapEntries;
+
+            /**
+             * Size of the off-heap tier in megabytes, none if not set. Entries must be serializable.
+             */
+            private Long offHeapMb;
+
+            /**
+             * Time an entry is kept after it is written, {@code jhipster.cache.ehcache.time-to-live-seconds} if not set.
+             */
+            private Duration timeToLive;
+
+            /**
+             * Time an entry is kept after it is last read, none if not set.
+             */
+            private Duration timeToIdle;
+
+            /**
+             * How entries are stored on heap.
+             */
+            private Copier copier = Copier.REFERENCE;
+
+            public Long getHeapEntries() {
+                return heapEntries;
+            }
+
+            public void setHeapEntries(Long heapEntries) {
+                this.heapEntries = heapEntries;
+            }
+
+            public Long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(Long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public Duration getTimeToLive() {
+                return timeToLive;
+            }
+
+            public void setTimeToLive(Duration timeToLive) {
+                this.timeToLive = timeToLive;
+            }
+
+            public Duration getTimeToIdle() {
+                return timeToIdle;
+            }
+
+            public void setTimeToIdle(Duration timeToIdle) {
+                this.timeToIdle = timeToIdle;
+            }
+
+            public Copier getCopier() {
+                return copier;
+            }
+
+            public void setCopier(Copier copier) {
+                this.copier = copier;
+            }
+        }
+
+        public static class Invalidation {
+
+            /**
+             * Whether cache evictions are exchanged with the other nodes over PostgreSQL {@code LISTEN}/{@code NOTIFY}.
+             */
+            private boolean enabled = false;
+
+            /**
+             * Name of the notification channel.
+             */
+            private String channel = "cache_invalidation";
+
+            /**
+             * Delay between two notifications of the evictions of this node, which are coalesced meanwhile.
+             */
+            private Duration flushInterval = Duration.ofMillis(50);
+
+            /**
+             * Number of keys of a region past which the whole region is evicted.
+             */
+            private int maxKeysPerRegion = 100;
+
+            /**
+             * Time waited for notifications before the listening connection is checked.
+             */
+            private Duration pollTimeout = Duration.ofSeconds(10);
+
+            /**
+             * Delay before the listening connection is opened again once lost.
+             */
+            private Duration reconnectDelay = Duration.ofSeconds(5);
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+
+            public Duration getFlushInterval() {
+                return flushInterval;
+            }
+
+            public void setFlushInterval(Duration flushInterval) {
+                this.flushInterval = flushInterval;
+            }
+
+            public int getMaxKeysPerRegion() {
+                return maxKeysPerRegion;
+            }
+
+            public void setMaxKeysPerRegion(int maxKeysPerRegion) {
+                this.maxKeysPerRegion = maxKeysPerRegion;
+            }
+
+            public Duration getPollTimeout() {
+                return pollTimeout;
+            }
+
+            public void setPollTimeout(Duration pollTimeout) {
+                this.pollTimeout = pollTimeout;
+            }
+
+            public Duration getReconnectDelay() {
+                return reconnectDelay;
+            }
+
+            public void setReconnectDelay(Duration reconnectDelay) {
+                this.reconnectDelay = reconnectDelay;
+            }
+        }
+
+        public enum Copier {
+            /**
+             * Entries are stored as is: callers share the cached instances.
+             */
+            REFERENCE,
+
+            /**
+             * Entries are stored serialized, and callers get their own copy.
+             */
+            SERIALIZING,
+        }
+    }
+
+    public static class ReadReplicas {
+
+        /**
+         * Replicas receiving the read-only transactions, none by default.
+         */
+        private final List<Instance> instances = new ArrayList<>();
+
+        /**
+         * Replication lag past which a replica is left out, until it catches up.
+         */
+        private Duration maxLag = Duration.ofSeconds(5);
+
+        /**
+         * Delay between two checks of the replication lag of the replicas.
+         */
+        private Duration checkInterval = Duration.ofSeconds(5);
+
+        public List<Instance> getInstances() {
+            return instances;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getCheckInterval() {
+            return checkInterval;
+        }
+
+        public void setCheckInterval(Duration checkInterval) {
+            this.checkInterval = checkInterval;
+        }
+
+        public static class Instance {
+
+            /**
+             * JDBC URL of the replica.
+             */
+            private String url;
+
+            /**
+             * Login of the replica, {@code spring.datasource.username} if not set.
+             */
+            private String username;
+
+            /**
+             * Password of the replica, {@code spring.datasource.password} if not set.
+             */
+            private String password;
+
+            /**
+             * Size of the connection pool of the replica, {@code spring.datasource.hikari.maximum-pool-size} if not set.
+             */
+            private Integer maximumPoolSize;
+
+            public String getUrl() {
+                return url;
+            }
+
+            public void setUrl(String url) {
+                this.url = url;
+            }
+
+            public String getUsername() {
+                return username;
+            }
+
+            public void setUsername(String username) {
+                this.username = username;
+            }
+
+            public String getPassword() {
+                return password;
+            }
+
+            public void setPassword(String password) {
+                this.password = password;
+            }
+
+            public Integer getMaximumPoolSize() {
+                return maximumPoolSize;
+            }
+
+            public void setMaximumPoolSize(Integer maximumPoolSize) {
+                this.maximumPoolSize = maximumPoolSize;
+            }
+        }
+    }
+
+    public static class Dataset {
+
+        /**
+         * Seed of all the random choices: the same seed and sizes always generate the same rows.
+         */
+        private long seed = 42;
+
+        /**
+         * Date the generated activity and message dates are spread from, one year onwards.
+         */
+        private Instant epoch = Instant.parse("2026-01-01T00:00:00Z");
+
+        private int users = 100_000;
+
+        private int activities = 1_000_000;
+
+        private int tags = 1_000;
+
+        private int tagsPerActivity = 3;
+
+        /**
+         * Average number of participants of an activity.
+         */
+        private int participantsPerActivity = 5;
+
+        /**
+         * Meets of each user; the newest one is enabled.
+         */
+        private int meetsPerUser = 2;
+
+        private int requestsPerMeet = 3;
+
+        private int conversations = 200_000;
+
+        private int messagesPerConversation = 10;
+
+        /**
+         * Exponent of the Zipf distribution of tag popularity; 0 makes all tags equally popular.
+         */
+        private double tagSkew = 1.1;
+
+        /**
+         * Number of users, the first ones generated, hosting a large share of the activities.
+         */
+        private int celebrityHosts = 100;
+
+        /**
+         * Share of the activities hosted by the celebrity hosts.
+         */
+        private double celebrityShare = 0.2;
+
+        /**
+         * Rows sent per JDBC batch.
+         */
+        private int batchSize = 5_000;
+
+        /**
+         * Whether the application stops once the dataset is generated.
+         */
+        private boolean exitWhenDone = true;
+
+        public long getSeed() {
+            return seed;
+        }
+
+        public void setSeed(long seed) {
+            this.seed = seed;
+        }
+
+        public Instant getEpoch() {
+            return epoch;
+        }
+
+        public void setEpoch(Instant epoch) {
+            this.epoch = epoch;
+        }
+
+        public int getUsers() {
+            return users;
+        }
+
+        public void setUsers(int users) {
+            this.users = users;
+        }
+
+        public int getActivities() {
+            return activities;
+        }
+
+        public void setActivities(int activities) {
+            this.activities = activities;
+        }
+
+        public int getTags() {
+            return tags;
+        }
+
+        public void setTags(int tags) {
+            this.tags = tags;
+        }
+
+        public int getTagsPerActivity() {
+            return tagsPerActivity;
+        }
+
+        public void setTagsPerActivity(int tagsPerActivity) {
+            this.tagsPerActivity = tagsPerActivity;
+        }
+
+        public int getParticipantsPerActivity() {
+            return participantsPerActivity;
+        }
+
+        public void setParticipantsPerActivity(int participantsPerActivity) {
+            this.participantsPerActivity = participantsPerActivity;
+        }
+
+        public int getMeetsPerUser() {
+            return meetsPerUser;
+        }
+
+        public void setMeetsPerUser(int meetsPerUser) {
+            this.meetsPerUser = meetsPerUser;
+        }
+
+        public int getRequestsPerMeet() {
+            return requestsPerMeet;
+        }
+
+        public void setRequestsPerMeet(int requestsPerMeet) {
+            this.requestsPerMeet = requestsPerMeet;
+        }
+
+        public int getConversations() {
+            return conversations;
+        }
+
+        public void setConversations(int conversations) {
+            this.conversations = conversations;
+        }
+
+        public int getMessagesPerConversation() {
+            return messagesPerConversation;
+        }
+
+        public void setMessagesPerConversation(int messagesPerConversation) {
+            this.messagesPerConversation = messagesPerConversation;
+        }
+
+        public double getTagSkew() {
+            return tagSkew;
+        }
+
+        public void setTagSkew(double tagSkew) {
+            this.tagSkew = tagSkew;
+        }
+
+        public int getCelebrityHosts() {
+            return celebrityHosts;
+        }
+
+        public void setCelebrityHosts(int celebrityHosts) {
+            this.celebrityHosts = celebrityHosts;
+        }
+
+        public double getCelebrityShare() {
+            return celebrityShare;
+        }
+
+        public void setCelebrityShare(double celebrityShare) {
+            this.celebrityShare = celebrityShare;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public boolean isExitWhenDone() {
+            return exitWhenDone;
+        }
+
+        public void setExitWhenDone(boolean exitWhenDone) {
+            this.exitWhenDone = exitWhenDone;
+        }
+    }
 }
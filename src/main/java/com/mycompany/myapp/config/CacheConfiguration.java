@@ -1,16 +1,27 @@
 package com.mycompany.myapp.config;
 
 import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.copy.SerializingCopier;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.annotation.CachingConfigurer;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.interceptor.CacheOperationInvocationContext;
+import org.springframework.cache.interceptor.CacheResolver;
 import org.springframework.cache.interceptor.KeyGenerator;
+import org.springframework.cache.interceptor.SimpleCacheResolver;
 import org.springframework.context.annotation.*;
 import tech.jhipster.config.JHipsterProperties;
 import tech.jhipster.config.cache.PrefixedKeyGenerator;
@@ -19,20 +30,47 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final String DOMAIN_PREFIX = com.mycompany.myapp.domain.User.class.getPackageName() + ".";
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
+    }
 
-        jcacheConfiguration =
-            Eh107Configuration.fromEhcacheCacheConfiguration(
-                CacheConfigurationBuilder
-                    .newCacheConfigurationBuilder(Object.class, Object.class, ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                    .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                    .build()
+    /**
+     * Build the configuration of a region, from its {@code application.cache.regions} entry if any.
+     *
+     * @param cacheName the name of the region.
+     * @return the configuration.
+     */
+    javax.cache.configuration.Configuration<Object, Object> regionConfiguration(String cacheName) {
+        ApplicationProperties.Cache.Region region = regions.getOrDefault(
+            cacheName.startsWith(DOMAIN_PREFIX) ? cacheName.substring(DOMAIN_PREFIX.length()) : cacheName,
+            new ApplicationProperties.Cache.Region()
+        );
+        ResourcePoolsBuilder resourcePools = ResourcePoolsBuilder.heap(
+            region.getHeapEntries() != null ? region.getHeapEntries() : ehcache.getMaxEntries()
+        );
+        if (region.getOffHeapMb() != null && region.getOffHeapMb() > 0) {
+            resourcePools = resourcePools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        Duration timeToLive = region.getTimeToLive() != null ? region.getTimeToLive() : Duration.ofSeconds(ehcache.getTimeToLiveSeconds());
+        CacheConfigurationBuilder<Object, Object> builder = CacheConfigurationBuilder
+            .newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+            .withExpiry(
+                region.getTimeToIdle() != null
+                    ? ExpiryPolicyBuilder.expiry().create(timeToLive).access(region.getTimeToIdle()).update(timeToLive).build()
+                    : ExpiryPolicyBuilder.timeToLiveExpiration(timeToLive)
             );
+        if (region.getCopier() == ApplicationProperties.Cache.Copier.SERIALIZING) {
+            builder = builder.withKeyCopier(SerializingCopier.asCopierClass()).withValueCopier(SerializingCopier.asCopierClass());
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(builder.build());
     }
 
     @Bean
@@ -65,8 +103,11 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            cm.createCache(cacheName, regionConfiguration(cacheName));
         }
+        // Hits, misses, puts, removals and evictions are then bound to the MeterRegistry as cache.* meters, along with the
+        // other caches of the Spring CacheManager
+        cm.enableStatistics(cacheName, true);
     }
 
     @Autowired(required = false)
@@ -83,4 +124,28 @@ public class CacheConfiguration {
     public KeyGenerator keyGenerator() {
         return new PrefixedKeyGenerator(this.gitProperties, this.buildProperties);
     }
+
+    /**
+     * Resolve the caches of the {@code @Cacheable} methods so that they do not store what they read from a replica.
+     * Kept apart, as the {@link #keyGenerator()} above would otherwise become the default key generator.
+     */
+    @Configuration
+    static class ReplicaAwareCachingConfiguration implements CachingConfigurer {
+
+        private final ObjectProvider<org.springframework.cache.CacheManager> cacheManager;
+
+        ReplicaAwareCachingConfiguration(ObjectProvider<org.springframework.cache.CacheManager> cacheManager) {
+            this.cacheManager = cacheManager;
+        }
+
+        @Override
+        public CacheResolver cacheResolver() {
+            return new SimpleCacheResolver(cacheManager.getObject()) {
+                @Override
+                public Collection<? extends Cache> resolveCaches(CacheOperationInvocationContext<?> context) {
+                    return super.resolveCaches(context).stream().map(ReplicaAwareCacheDecorator::new).collect(Collectors.toList());
+                }
+            };
+        }
+    }
 }
@@ -0,0 +1,32 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.CurrentUserService;
+import com.mycompany.myapp.web.rest.util.CurrentUser;
+import com.mycompany.myapp.web.rest.util.CurrentUserArgumentResolver;
+import java.util.List;
+import org.springdoc.core.SpringDocUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers the {@link CurrentUser @CurrentUser} handler argument support, and hides such arguments from the API docs.
+ */
+@Configuration
+public class CurrentUserConfiguration implements WebMvcConfigurer {
+
+    static {
+        SpringDocUtils.getConfig().addAnnotationsToIgnore(CurrentUser.class);
+    }
+
+    private final CurrentUserService currentUserService;
+
+    public CurrentUserConfiguration(CurrentUserService currentUserService) {
+        this.currentUserService = currentUserService;
+    }
+
+    @Override
+    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+        resolvers.add(new CurrentUserArgumentResolver(currentUserService));
+    }
+}
@@ -1,8 +1,19 @@
 package com.mycompany.myapp.config;
 
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -27,6 +38,83 @@ public class DatabaseConfiguration {
         this.env = env;
     }
 
+    /**
+     * Create the {@link ReplicaRoutingDataSource} sending the read-only transactions to the read replicas, when
+     * {@code application.read-replicas.instances} are set. Otherwise, Spring Boot creates a single pool for the primary.
+     *
+     * @param dataSourceProperties the properties of the primary.
+     * @param applicationProperties the properties of the replicas.
+     * @param meterRegistry the registry of the pool metrics.
+     * @return the routing data source.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "application.read-replicas.instances[0]", name = "url")
+    public ReplicaRoutingDataSource dataSource(
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        ApplicationProperties.ReadReplicas readReplicas = applicationProperties.getReadReplicas();
+        HikariDataSource primary = createPool(
+            dataSourceProperties,
+            dataSourceProperties.determineUrl(),
+            dataSourceProperties.determineUsername(),
+            dataSourceProperties.determinePassword(),
+            meterRegistry
+        );
+        String poolName = primary.getPoolName() != null ? primary.getPoolName() : "Hikari";
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < readReplicas.getInstances().size(); i++) {
+            ApplicationProperties.ReadReplicas.Instance instance = readReplicas.getInstances().get(i);
+            HikariDataSource replica = createPool(
+                dataSourceProperties,
+                instance.getUrl(),
+                instance.getUsername() != null ? instance.getUsername() : dataSourceProperties.determineUsername(),
+                instance.getPassword() != null ? instance.getPassword() : dataSourceProperties.determinePassword(),
+                meterRegistry
+            );
+            replica.setPoolName(poolName + "-replica-" + i);
+            replica.setReadOnly(true);
+            if (instance.getMaximumPoolSize() != null) {
+                replica.setMaximumPoolSize(instance.getMaximumPoolSize());
+            }
+            replicas.add(replica);
+        }
+        log.info("Routing read-only transactions to {} read replica(s)", replicas.size());
+        ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+            primary,
+            replicas,
+            readReplicas.getMaxLag(),
+            readReplicas.getCheckInterval()
+        );
+        meterRegistry.ifAvailable(registry ->
+            Gauge
+                .builder("datasource.replicas.healthy", dataSource, ReplicaRoutingDataSource::getHealthyReplicaCount)
+                .description("Read replicas receiving the read-only transactions")
+                .register(registry)
+        );
+        return dataSource;
+    }
+
+    private HikariDataSource createPool(
+        DataSourceProperties dataSourceProperties,
+        String url,
+        String username,
+        String password,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        HikariDataSource pool = dataSourceProperties
+            .initializeDataSourceBuilder()
+            .type(HikariDataSource.class)
+            .url(url)
+            .username(username)
+            .password(password)
+            .build();
+        Binder.get(env).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        meterRegistry.ifAvailable(registry -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+        return pool;
+    }
+
     /**
      * Open the TCP port for the H2 database, so it is available remotely.
      *
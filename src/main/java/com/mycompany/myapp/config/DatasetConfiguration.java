@@ -0,0 +1,32 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.DatasetGenerator;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Loads the synthetic dataset of {@link DatasetGenerator} once the application has started, for example with
+ * {@code java -jar target/meetupbackend-*.jar --spring.profiles.active=prod,dataset}.
+ */
+@Configuration
+@Profile(Constants.SPRING_PROFILE_DATASET)
+public class DatasetConfiguration {
+
+    @Bean
+    public ApplicationRunner datasetRunner(
+        DatasetGenerator datasetGenerator,
+        ApplicationProperties applicationProperties,
+        ConfigurableApplicationContext context
+    ) {
+        return args -> {
+            datasetGenerator.generate();
+            if (applicationProperties.getDataset().isExitWhenDone()) {
+                System.exit(SpringApplication.exit(context));
+            }
+        };
+    }
+}
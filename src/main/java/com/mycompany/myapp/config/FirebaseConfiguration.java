@@ -0,0 +1,43 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.service.FirebaseAdminTokenSigner;
+import com.mycompany.myapp.service.FirebaseTokenService;
+import com.mycompany.myapp.service.FirebaseTokenSigner;
+import com.mycompany.myapp.service.LocalFirebaseTokenSigner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class FirebaseConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(FirebaseConfiguration.class);
+
+    private final ApplicationProperties.Firebase properties;
+
+    public FirebaseConfiguration(ApplicationProperties applicationProperties) {
+        this.properties = applicationProperties.getFirebase();
+    }
+
+    @Bean
+    public FirebaseTokenSigner firebaseTokenSigner() {
+        if ("local".equals(properties.getSigner())) {
+            log.warn("Signing Firebase tokens with a local key, Firebase will not accept them");
+            return new LocalFirebaseTokenSigner();
+        }
+        return new FirebaseAdminTokenSigner();
+    }
+
+    @Bean(name = FirebaseTokenService.EXECUTOR_BEAN_NAME)
+    public ThreadPoolTaskExecutor firebaseTokenExecutor() {
+        log.debug("Creating Firebase token executor");
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getPoolSize());
+        executor.setMaxPoolSize(properties.getPoolSize());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix("firebase-token-");
+        return executor;
+    }
+}
@@ -0,0 +1,61 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.aop.timing.MethodTimers;
+import com.mycompany.myapp.aop.timing.RepositoryTimingListener;
+import com.mycompany.myapp.aop.timing.ServiceTimingAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Times the repository and service methods, see {@link RepositoryTimingListener} and {@link ServiceTimingAspect}.
+ * <p>
+ * Nothing is registered when {@code application.method-timing.enabled} is false.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.method-timing", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class MethodTimingConfiguration {
+
+    @Bean
+    public RepositoryTimingListener repositoryTimingListener(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new RepositoryTimingListener(
+            new MethodTimers(
+                meterRegistry,
+                RepositoryTimingListener.METER_NAME,
+                "Sampled invocations of repository methods",
+                applicationProperties.getMethodTiming().getSampleRate()
+            )
+        );
+    }
+
+    @Bean
+    public ServiceTimingAspect serviceTimingAspect(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        return new ServiceTimingAspect(
+            new MethodTimers(
+                meterRegistry,
+                ServiceTimingAspect.METER_NAME,
+                "Sampled invocations of service methods",
+                applicationProperties.getMethodTiming().getSampleRate()
+            )
+        );
+    }
+
+    @Bean
+    public static BeanPostProcessor repositoryTimingListenerPostProcessor(ObjectProvider<RepositoryTimingListener> listener) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport) {
+                    ((RepositoryFactoryBeanSupport<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                            factory.addInvocationListener(listener.getObject())
+                        );
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.repository.ReadReplicaTransactions;
+import java.util.concurrent.Callable;
+import org.springframework.cache.Cache;
+
+/**
+ * {@link Cache} decorator which does not store the values loaded in a transaction sent to a read replica, see
+ * {@link ReadReplicaTransactions#isCurrentTransactionOnReplica()}: they may predate the last eviction, and would then be
+ * served until they expire. Reads and evictions go to the target cache as is.
+ */
+public class ReplicaAwareCacheDecorator implements Cache {
+
+    private final Cache targetCache;
+
+    public ReplicaAwareCacheDecorator(Cache targetCache) {
+        this.targetCache = targetCache;
+    }
+
+    @Override
+    public String getName() {
+        return targetCache.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return targetCache.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return targetCache.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return targetCache.get(key, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = targetCache.get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        if (!ReadReplicaTransactions.isCurrentTransactionOnReplica()) {
+            targetCache.put(key, value);
+        }
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        if (ReadReplicaTransactions.isCurrentTransactionOnReplica()) {
+            return targetCache.get(key);
+        }
+        return targetCache.putIfAbsent(key, value);
+    }
+
+    @Override
+    public void evict(Object key) {
+        targetCache.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return targetCache.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        targetCache.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return targetCache.invalidate();
+    }
+}
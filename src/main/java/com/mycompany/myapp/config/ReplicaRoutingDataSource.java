@@ -0,0 +1,216 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.repository.ReadReplicaTransactions;
+import com.zaxxer.hikari.HikariDataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * {@link javax.sql.DataSource} sending the read-only transactions to the PostgreSQL read replicas, and everything else
+ * to the primary.
+ * <p>
+ * Connections are only fetched on the first statement of a transaction, once it is known to be read-only. Replicas are
+ * used in turn, leaving out those which can't be reached or whose replication lag exceeds the maximum lag, as checked
+ * at a fixed interval. Read-only transactions go to the primary while no replica is healthy.
+ * <p>
+ * What a replica returns may predate the last cache eviction: the Hibernate sessions of a transaction sent to a replica
+ * only read the second-level cache, and {@link ReadReplicaTransactions} tells the other caches not to store it.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    /**
+     * Replication lag of a replica in seconds: none when it replayed all it received, otherwise the age of the last
+     * transaction replayed.
+     */
+    static final String LAG_QUERY =
+        "select case when not pg_is_in_recovery() or pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() then 0" +
+        " else coalesce(extract(epoch from now() - pg_last_xact_replay_timestamp()), 0) end";
+
+    private final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final HikariDataSource primary;
+
+    private final List<Replica> replicas;
+
+    private final Duration maxLag;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ScheduledExecutorService checker;
+
+    public ReplicaRoutingDataSource(
+        HikariDataSource primary,
+        List<HikariDataSource> replicaPools,
+        Duration maxLag,
+        Duration checkInterval
+    ) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).collect(Collectors.toList());
+        this.maxLag = maxLag;
+        Router router = new Router();
+        Map<Object, Object> targets = new HashMap<>();
+        replicas.forEach(replica -> targets.put(replica.name, replica.pool));
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        // Known upfront, so that starting a transaction does not fetch a connection before it is flagged read-only
+        setDefaultAutoCommit(primary.isAutoCommit());
+        setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        checker =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "read-replica-check");
+                thread.setDaemon(true);
+                return thread;
+            });
+        checker.scheduleWithFixedDelay(this::checkReplicas, 0, checkInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Get the number of replicas currently receiving read-only transactions.
+     *
+     * @return the number of healthy replicas.
+     */
+    public int getHealthyReplicaCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.pool.getConnection(); Statement statement = connection.createStatement()) {
+                try (ResultSet resultSet = statement.executeQuery(LAG_QUERY)) {
+                    resultSet.next();
+                    double lagSeconds = resultSet.getDouble(1);
+                    healthy = lagSeconds * 1000 <= maxLag.toMillis();
+                    if (!healthy && replica.healthy) {
+                        log.warn("Read replica {} is {}s behind, using other instances", replica.name, lagSeconds);
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                healthy = false;
+                if (replica.healthy) {
+                    log.warn("Read replica {} is unavailable, using other instances: {}", replica.name, e.getMessage());
+                }
+            }
+            if (healthy && !replica.healthy) {
+                log.info("Read replica {} is available", replica.name);
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    @Override
+    public void close() {
+        checker.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    private static final class Replica {
+
+        private final String name;
+
+        private final HikariDataSource pool;
+
+        private volatile boolean healthy;
+
+        private Replica(HikariDataSource pool) {
+            this.name = pool.getPoolName();
+            this.pool = pool;
+        }
+    }
+
+    private final class Router extends AbstractRoutingDataSource {
+
+        @Override
+        protected Object determineCurrentLookupKey() {
+            // Without synchronization, nothing would tell the caches when the transaction is over
+            if (
+                !TransactionSynchronizationManager.isCurrentTransactionReadOnly() ||
+                !TransactionSynchronizationManager.isSynchronizationActive() ||
+                replicas.isEmpty()
+            ) {
+                return null;
+            }
+            String current = ReadReplicaTransactions.getCurrentReplica();
+            if (current != null) {
+                return current;
+            }
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.healthy) {
+                    TransactionSynchronizationManager.registerSynchronization(new ReplicaTransaction(replica.name));
+                    return replica.name;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Flags a transaction as sent to a replica until it completes, and keeps its Hibernate sessions from storing what
+     * they load in the second-level cache.
+     */
+    private static final class ReplicaTransaction implements TransactionSynchronization {
+
+        private final String replicaName;
+
+        private final Map<Session, CacheMode> cacheModes = new IdentityHashMap<>();
+
+        private ReplicaTransaction(String replicaName) {
+            this.replicaName = replicaName;
+            ReadReplicaTransactions.bindReplica(replicaName);
+            for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+                if (resource instanceof EntityManagerHolder) {
+                    Session session = ((EntityManagerHolder) resource).getEntityManager().unwrap(Session.class);
+                    cacheModes.put(session, session.getCacheMode());
+                    session.setCacheMode(CacheMode.GET);
+                }
+            }
+        }
+
+        @Override
+        public void suspend() {
+            ReadReplicaTransactions.unbindReplica();
+        }
+
+        @Override
+        public void resume() {
+            ReadReplicaTransactions.bindReplica(replicaName);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            ReadReplicaTransactions.unbindReplica();
+            cacheModes.forEach((session, cacheMode) -> {
+                if (session.isOpen()) {
+                    session.setCacheMode(cacheMode);
+                }
+            });
+        }
+    }
+}
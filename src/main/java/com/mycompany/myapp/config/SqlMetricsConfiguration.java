@@ -0,0 +1,64 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.management.SqlStatistics;
+import com.mycompany.myapp.management.SqlStatisticsInterceptor;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Proxies the {@link DataSource} to count the SQL statements and JDBC time of each request handler, see
+ * {@link SqlStatisticsInterceptor}. The rows read are only counted with {@code application.sql-metrics.rows}, as their
+ * result sets must be proxied too.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.sql-metrics", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlMetricsConfiguration implements WebMvcConfigurer {
+
+    private static final String ROWS_PROPERTY = "application.sql-metrics.rows";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean rows;
+
+    public SqlMetricsConfiguration(MeterRegistry meterRegistry, ApplicationProperties applicationProperties) {
+        this.meterRegistry = meterRegistry;
+        this.rows = applicationProperties.getSqlMetrics().isRows();
+    }
+
+    /**
+     * Bean post processors are created before the configuration properties are bound, hence the property read from the
+     * {@link Environment}.
+     */
+    @Bean
+    public static BeanPostProcessor sqlStatisticsDataSourcePostProcessor(Environment environment) {
+        boolean rows = environment.getProperty(ROWS_PROPERTY, Boolean.class, true);
+        SqlStatistics.Listener listener = new SqlStatistics.Listener();
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof ProxyDataSource)) {
+                    ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create((DataSource) bean).name(beanName).listener(listener);
+                    if (rows) {
+                        builder.methodListener(listener).proxyResultSet();
+                    }
+                    return builder.build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new SqlStatisticsInterceptor(meterRegistry, rows));
+    }
+}
@@ -0,0 +1,71 @@
+package com.mycompany.myapp.config;
+
+import com.mycompany.myapp.domain.Tag;
+import com.mycompany.myapp.service.TagCatalogService;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Reports every {@link Tag} insert, update and delete to the {@link TagCatalogService}, whichever code path flushed it.
+ */
+@Configuration
+public class TagCatalogConfiguration {
+
+    public TagCatalogConfiguration(EntityManagerFactory entityManagerFactory, TagCatalogService tagCatalogService) {
+        TagChangeListener listener = new TagChangeListener(tagCatalogService);
+        EventListenerRegistry registry = entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+    }
+
+    private static final class TagChangeListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        private static final long serialVersionUID = 1L;
+
+        private final transient TagCatalogService tagCatalogService;
+
+        private TagChangeListener(TagCatalogService tagCatalogService) {
+            this.tagCatalogService = tagCatalogService;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            if (event.getEntity() instanceof Tag) {
+                tagCatalogService.tagsChanged();
+            }
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            if (event.getEntity() instanceof Tag) {
+                tagCatalogService.tagsChanged();
+            }
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            if (event.getEntity() instanceof Tag) {
+                tagCatalogService.tagsChanged();
+            }
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+    }
+}
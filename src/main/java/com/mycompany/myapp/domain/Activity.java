@@ -1,5 +1,6 @@
 package com.mycompany.myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.io.Serializable;
 import java.time.Instant;
 import javax.persistence.*;
@@ -9,6 +10,7 @@ import lombok.Builder;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.UpdateTimestamp;
 
 /**
  * A Activity.
@@ -46,6 +48,14 @@ public class Activity implements Serializable {
     @NotNull
     private User user;
 
+    /**
+     * Last time the row was written, which conditional GET requests are validated against.
+     */
+    @UpdateTimestamp
+    @JsonIgnore
+    @Column(name = "last_modified_date", nullable = false)
+    private Instant lastModifiedDate;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -113,6 +123,10 @@ public class Activity implements Serializable {
         return this;
     }
 
+    public Instant getLastModifiedDate() {
+        return this.lastModifiedDate;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
@@ -0,0 +1,106 @@
+package com.mycompany.myapp.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A row of the activity feed read model.
+ * <p>
+ * One entry per {@link Activity}, sharing its id, with the owner and the participant count copied in so that feed
+ * pages are read from a single table. Entries are only written through
+ * {@link com.mycompany.myapp.service.ActivityFeedService}.
+ */
+@Entity
+@Immutable
+@Table(name = "activity_feed")
+public class ActivityFeedEntry implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "title", nullable = false)
+    private String title;
+
+    @Column(name = "description", nullable = false)
+    private String description;
+
+    @Column(name = "date", nullable = false)
+    private Instant date;
+
+    @Column(name = "owner_id", nullable = false)
+    private Long ownerId;
+
+    @Column(name = "owner_login", nullable = false)
+    private String ownerLogin;
+
+    @Column(name = "owner_image_url")
+    private String ownerImageUrl;
+
+    @Column(name = "participant_count", nullable = false)
+    private Long participantCount;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public String getTitle() {
+        return this.title;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public Instant getDate() {
+        return this.date;
+    }
+
+    public Long getOwnerId() {
+        return this.ownerId;
+    }
+
+    public String getOwnerLogin() {
+        return this.ownerLogin;
+    }
+
+    public String getOwnerImageUrl() {
+        return this.ownerImageUrl;
+    }
+
+    public Long getParticipantCount() {
+        return this.participantCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ActivityFeedEntry)) {
+            return false;
+        }
+        return id != null && id.equals(((ActivityFeedEntry) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ActivityFeedEntry{" +
+            "id=" + getId() +
+            ", title='" + getTitle() + "'" +
+            ", date='" + getDate() + "'" +
+            ", ownerLogin='" + getOwnerLogin() + "'" +
+            ", participantCount=" + getParticipantCount() +
+            "}";
+    }
+}
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.io.Serializable;
 import java.util.HashSet;
 import java.util.Set;
@@ -41,6 +42,28 @@ public class Conversation implements Serializable {
     @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private Set<User> users = new HashSet<>();
 
+    /**
+     * Lower user id of a direct conversation, written by {@code ConversationRepository#findOrCreateDirectConversation} only.
+     */
+    @JsonIgnore
+    @Column(name = "user_low_id", insertable = false, updatable = false)
+    private Long userLowId;
+
+    /**
+     * Higher user id of a direct conversation, written by {@code ConversationRepository#findOrCreateDirectConversation} only.
+     */
+    @JsonIgnore
+    @Column(name = "user_high_id", insertable = false, updatable = false)
+    private Long userHighId;
+
+    /**
+     * Latest message of the conversation, moved forward by {@code ConversationRepository#advanceLastMessage} only.
+     */
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "last_message_id", insertable = false, updatable = false)
+    private ConversationMessage lastMessage;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here
 
     public Long getId() {
@@ -79,6 +102,18 @@ public class Conversation implements Serializable {
         return this;
     }
 
+    public Long getUserLowId() {
+        return this.userLowId;
+    }
+
+    public Long getUserHighId() {
+        return this.userHighId;
+    }
+
+    public ConversationMessage getLastMessage() {
+        return this.lastMessage;
+    }
+
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
     @Override
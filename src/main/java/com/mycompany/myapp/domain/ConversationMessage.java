@@ -0,0 +1,142 @@
+package com.mycompany.myapp.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.*;
+import javax.validation.constraints.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+/**
+ * A message of a {@link Conversation}.
+ * <p>
+ * Messages are append-only: they are never updated, and are read by ranges of their position within their conversation.
+ */
+@Entity
+@Immutable
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "conversation_message")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class ConversationMessage implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int CONTENT_MAX_LENGTH = 2000;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    @Column(name = "id")
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @NotNull
+    private Conversation conversation;
+
+    /**
+     * Position of the message within its conversation, from 1, in commit order.
+     */
+    @NotNull
+    @Column(name = "seq", nullable = false)
+    private Long seq;
+
+    @JsonIgnore
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @NotNull
+    private User sender;
+
+    @NotNull
+    @Size(max = CONTENT_MAX_LENGTH)
+    @Column(name = "content", length = CONTENT_MAX_LENGTH, nullable = false)
+    private String content;
+
+    @NotNull
+    @Column(name = "date", nullable = false)
+    private Instant date;
+
+    // jhipster-needle-entity-add-field - JHipster will add fields here
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Conversation getConversation() {
+        return this.conversation;
+    }
+
+    public void setConversation(Conversation conversation) {
+        this.conversation = conversation;
+    }
+
+    public Long getSeq() {
+        return this.seq;
+    }
+
+    public void setSeq(Long seq) {
+        this.seq = seq;
+    }
+
+    public User getSender() {
+        return this.sender;
+    }
+
+    public void setSender(User sender) {
+        this.sender = sender;
+    }
+
+    public String getContent() {
+        return this.content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public Instant getDate() {
+        return this.date;
+    }
+
+    public void setDate(Instant date) {
+        this.date = date;
+    }
+
+    // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ConversationMessage)) {
+            return false;
+        }
+        return id != null && id.equals(((ConversationMessage) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ConversationMessage{" +
+            "id=" + getId() +
+            ", seq=" + getSeq() +
+            ", content='" + getContent() + "'" +
+            ", date='" + getDate() + "'" +
+            "}";
+    }
+}
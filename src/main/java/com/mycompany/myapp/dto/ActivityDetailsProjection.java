@@ -0,0 +1,24 @@
+package com.mycompany.myapp.dto;
+
+import java.time.Instant;
+
+/**
+ * Scalar view of an activity, its owner and its participation figures, read in a single query.
+ */
+public interface ActivityDetailsProjection {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Instant getDate();
+
+    String getUserName();
+
+    String getImageUrl();
+
+    Long getParticipantCount();
+
+    Long getOwnParticipationCount();
+}
@@ -0,0 +1,19 @@
+package com.mycompany.myapp.dto;
+
+import java.time.Instant;
+
+/**
+ * Modification figures of an activity, its owner and its participants, enough to tell whether its details changed.
+ * <p>
+ * Participants are only ever created or deleted: their count and latest modification date change with every
+ * participation change.
+ */
+public interface ActivityVersionProjection {
+    Instant getLastModifiedDate();
+
+    Instant getOwnerLastModifiedDate();
+
+    Long getParticipantCount();
+
+    Instant getParticipantLastModifiedDate();
+}
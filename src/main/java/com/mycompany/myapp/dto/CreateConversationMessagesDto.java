@@ -0,0 +1,22 @@
+package com.mycompany.myapp.dto;
+
+import com.mycompany.myapp.domain.ConversationMessage;
+import java.util.List;
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CreateConversationMessagesDto {
+
+    public static final int MAX_MESSAGES = 50;
+
+    @NotEmpty
+    @Size(max = MAX_MESSAGES)
+    private List<@NotBlank @Size(max = ConversationMessage.CONTENT_MAX_LENGTH) String> messages;
+}
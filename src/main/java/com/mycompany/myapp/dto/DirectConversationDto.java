@@ -0,0 +1,17 @@
+package com.mycompany.myapp.dto;
+
+import javax.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DirectConversationDto {
+
+    @NotNull
+    private Long id;
+
+    private boolean created;
+}
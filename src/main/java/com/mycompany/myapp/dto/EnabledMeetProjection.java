@@ -0,0 +1,14 @@
+package com.mycompany.myapp.dto;
+
+import java.time.Instant;
+
+/**
+ * Scalar view of the enabled meet of a user.
+ */
+public interface EnabledMeetProjection {
+    Long getId();
+
+    String getDescription();
+
+    Instant getLastModifiedDate();
+}
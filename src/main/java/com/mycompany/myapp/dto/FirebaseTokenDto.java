@@ -0,0 +1,15 @@
+package com.mycompany.myapp.dto;
+
+import javax.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FirebaseTokenDto {
+
+    @NotNull
+    private String token;
+}
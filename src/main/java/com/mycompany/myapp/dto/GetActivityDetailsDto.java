@@ -22,4 +22,7 @@ public class GetActivityDetailsDto extends GetActivityDto {
 
     @NotNull
     private Boolean isParticipating;
+
+    @NotNull
+    private Long participantCount;
 }
@@ -1,5 +1,6 @@
 package com.mycompany.myapp.dto;
 
+import java.time.Instant;
 import javax.validation.constraints.NotNull;
 import lombok.*;
 
@@ -17,4 +18,10 @@ public class GetConversationDto {
     private String userName;
 
     private String imageUrl;
+
+    private Long lastMessageId;
+
+    private String lastMessage;
+
+    private Instant lastMessageDate;
 }
@@ -0,0 +1,28 @@
+package com.mycompany.myapp.dto;
+
+import java.time.Instant;
+import javax.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class GetConversationMessageDto {
+
+    @NotNull
+    private Long id;
+
+    @NotNull
+    private Long seq;
+
+    @NotNull
+    private String userName;
+
+    @NotNull
+    private String content;
+
+    @NotNull
+    private Instant date;
+}
@@ -24,4 +24,16 @@ public class GetMeetDto extends MeetBaseDto {
     private Boolean isRequestSent;
 
     private String imageUrl;
+
+    /**
+     * Constructor used by JPQL constructor expressions, where the request status is read as a count.
+     */
+    public GetMeetDto(Long id, String description, String userName, Boolean isEnabled, Long requestCount, String imageUrl) {
+        super(description);
+        this.id = id;
+        this.userName = userName;
+        this.isEnabled = isEnabled;
+        this.isRequestSent = requestCount != null && requestCount > 0;
+        this.imageUrl = imageUrl;
+    }
 }
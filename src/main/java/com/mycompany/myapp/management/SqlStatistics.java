@@ -0,0 +1,121 @@
+package com.mycompany.myapp.management;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.util.List;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.MethodExecutionContext;
+import net.ttddyy.dsproxy.listener.MethodExecutionListener;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * SQL statements run by the current thread between {@link #start()} and {@link #stop()}: the number of statements
+ * executed, a batch counting as one, the number of rows read from their results, and the time spent executing them.
+ * <p>
+ * Figures are reported by the {@link Listener} of the proxied {@link javax.sql.DataSource}; statements run outside of a
+ * {@link #start()} - {@link #stop()} scope are not counted.
+ */
+public final class SqlStatistics {
+
+    private static final ThreadLocal<SqlStatistics> CURRENT = new ThreadLocal<>();
+
+    private long statements;
+
+    private long rows;
+
+    private long nanos;
+
+    private long executionStart;
+
+    private SqlStatistics() {}
+
+    /**
+     * Start counting the statements of the current thread, discarding any previous count.
+     *
+     * @return the statistics being recorded.
+     */
+    public static SqlStatistics start() {
+        SqlStatistics statistics = new SqlStatistics();
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Get the statistics being recorded for the current thread.
+     *
+     * @return the statistics, or {@code null} if the current thread is not counting.
+     */
+    public static SqlStatistics current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop counting the statements of the current thread.
+     *
+     * @return the statistics recorded, or {@code null} if the current thread was not counting.
+     */
+    public static SqlStatistics stop() {
+        SqlStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    public long getStatements() {
+        return statements;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public Duration getTime() {
+        return Duration.ofNanos(nanos);
+    }
+
+    @Override
+    public String toString() {
+        return "SqlStatistics{statements=" + statements + ", rows=" + rows + ", time=" + getTime() + "}";
+    }
+
+    /**
+     * Listener of a proxied {@link javax.sql.DataSource}, recording the statements and the rows read into the statistics
+     * of the current thread. Result sets must be proxied for rows to be counted.
+     */
+    public static final class Listener implements QueryExecutionListener, MethodExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.executionStart = System.nanoTime();
+            }
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            SqlStatistics statistics = CURRENT.get();
+            if (statistics != null) {
+                statistics.statements++;
+                statistics.nanos += System.nanoTime() - statistics.executionStart;
+            }
+        }
+
+        @Override
+        public void beforeMethod(MethodExecutionContext executionContext) {}
+
+        @Override
+        public void afterMethod(MethodExecutionContext executionContext) {
+            if (
+                executionContext.getTarget() instanceof ResultSet &&
+                "next".equals(executionContext.getMethod().getName()) &&
+                Boolean.TRUE.equals(executionContext.getResult())
+            ) {
+                SqlStatistics statistics = CURRENT.get();
+                if (statistics != null) {
+                    statistics.rows++;
+                }
+            }
+        }
+    }
+}
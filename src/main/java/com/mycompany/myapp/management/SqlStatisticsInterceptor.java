@@ -0,0 +1,88 @@
+package com.mycompany.myapp.management;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+/**
+ * Records the {@link SqlStatistics} of each request handler, as {@value #STATEMENTS_METER_NAME},
+ * {@value #ROWS_METER_NAME} and {@value #TIME_METER_NAME} meters tagged by handler, and as the
+ * {@link #STATISTICS_ATTRIBUTE} request attribute. The {@value #ROWS_METER_NAME} meter is only recorded when rows are
+ * counted.
+ * <p>
+ * Asynchronous handlers, such as server-sent event streams, are only measured until they return.
+ */
+public class SqlStatisticsInterceptor implements AsyncHandlerInterceptor {
+
+    public static final String STATISTICS_ATTRIBUTE = SqlStatistics.class.getName();
+
+    public static final String STATEMENTS_METER_NAME = "sql.statements";
+    public static final String ROWS_METER_NAME = "sql.rows";
+    public static final String TIME_METER_NAME = "sql.time";
+    public static final String HANDLER_DIMENSION = "handler";
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean rows;
+
+    public SqlStatisticsInterceptor(MeterRegistry meterRegistry, boolean rows) {
+        this.meterRegistry = meterRegistry;
+        this.rows = rows;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && request.getDispatcherType() == DispatcherType.REQUEST) {
+            SqlStatistics.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        record(request, handler);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        record(request, handler);
+    }
+
+    private void record(HttpServletRequest request, Object handler) {
+        SqlStatistics statistics = SqlStatistics.stop();
+        if (statistics == null || !(handler instanceof HandlerMethod)) {
+            return;
+        }
+        request.setAttribute(STATISTICS_ATTRIBUTE, statistics);
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        String handlerName = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        DistributionSummary
+            .builder(STATEMENTS_METER_NAME)
+            .description("SQL statements executed by a request handler")
+            .baseUnit("statements")
+            .tag(HANDLER_DIMENSION, handlerName)
+            .register(meterRegistry)
+            .record(statistics.getStatements());
+        if (rows) {
+            DistributionSummary
+                .builder(ROWS_METER_NAME)
+                .description("Rows read from the SQL results of a request handler")
+                .baseUnit("rows")
+                .tag(HANDLER_DIMENSION, handlerName)
+                .register(meterRegistry)
+                .record(statistics.getRows());
+        }
+        Timer
+            .builder(TIME_METER_NAME)
+            .description("Time spent executing the SQL statements of a request handler")
+            .tag(HANDLER_DIMENSION, handlerName)
+            .register(meterRegistry)
+            .record(statistics.getTime().toNanos(), TimeUnit.NANOSECONDS);
+    }
+}
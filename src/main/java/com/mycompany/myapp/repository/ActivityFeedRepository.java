@@ -0,0 +1,111 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.ActivityFeedEntry;
+import java.time.Instant;
+import java.util.Collection;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the {@link ActivityFeedEntry} read model.
+ * <p>
+ * Entries are written with native statements copying from {@code activity}, {@code jhi_user} and {@code participant},
+ * so that a write never has to load the entities involved.
+ */
+@Repository
+public interface ActivityFeedRepository extends JpaRepository<ActivityFeedEntry, Long> {
+    String INSERT_FROM_ACTIVITY =
+        "insert into activity_feed (id, title, description, date, owner_id, owner_login, owner_image_url, participant_count)" +
+        " select activity.id, activity.title, activity.description, activity.date, owner_user.id, owner_user.login, owner_user.image_url," +
+        " (select count(*) from participant where participant.activity_id = activity.id)" +
+        " from activity join jhi_user owner_user on owner_user.id = activity.user_id";
+
+    Page<ActivityFeedEntry> findByOwnerId(Long ownerId, Pageable pageable);
+
+    Page<ActivityFeedEntry> findByOwnerIdNot(Long ownerId, Pageable pageable);
+
+    @Query(
+        "select entry from ActivityFeedEntry entry where entry.ownerId <> :ownerId" +
+        " and exists (select activityTag.id from ActivityTag activityTag" +
+        " where activityTag.activity.id = entry.id and activityTag.tag.id in :tagIds)"
+    )
+    Page<ActivityFeedEntry> findByOwnerIdNotWithAnyTag(
+        @Param("ownerId") Long ownerId,
+        @Param("tagIds") Collection<Long> tagIds,
+        Pageable pageable
+    );
+
+    @Query(
+        "select entry from ActivityFeedEntry entry where entry.ownerId <> :ownerId" +
+        " and (select count(distinct activityTag.tag.id) from ActivityTag activityTag" +
+        " where activityTag.activity.id = entry.id and activityTag.tag.id in :tagIds) = :tagCount"
+    )
+    Page<ActivityFeedEntry> findByOwnerIdNotWithAllTags(
+        @Param("ownerId") Long ownerId,
+        @Param("tagIds") Collection<Long> tagIds,
+        @Param("tagCount") long tagCount,
+        Pageable pageable
+    );
+
+    /*
+     * Keyset (seek) variants of the feed queries: ordered by (date desc, id desc) and returning a Slice, so no count
+     * query is issued and the database never has to skip over previous pages.
+     */
+
+    @Query("select entry from ActivityFeedEntry entry where entry.ownerId <> :ownerId order by entry.date desc, entry.id desc")
+    Slice<ActivityFeedEntry> findFirstSliceByOwnerIdNot(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(
+        "select entry from ActivityFeedEntry entry where entry.ownerId <> :ownerId" +
+        " and (entry.date < :date or (entry.date = :date and entry.id < :id))" +
+        " order by entry.date desc, entry.id desc"
+    )
+    Slice<ActivityFeedEntry> findSliceByOwnerIdNotAfter(
+        @Param("ownerId") Long ownerId,
+        @Param("date") Instant date,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Query("select entry from ActivityFeedEntry entry where entry.ownerId = :ownerId order by entry.date desc, entry.id desc")
+    Slice<ActivityFeedEntry> findFirstSliceByOwnerId(@Param("ownerId") Long ownerId, Pageable pageable);
+
+    @Query(
+        "select entry from ActivityFeedEntry entry where entry.ownerId = :ownerId" +
+        " and (entry.date < :date or (entry.date = :date and entry.id < :id))" +
+        " order by entry.date desc, entry.id desc"
+    )
+    Slice<ActivityFeedEntry> findSliceByOwnerIdAfter(
+        @Param("ownerId") Long ownerId,
+        @Param("date") Instant date,
+        @Param("id") Long id,
+        Pageable pageable
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from activity_feed where id = :id", nativeQuery = true)
+    int deleteEntry(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_FROM_ACTIVITY + " where activity.id = :id", nativeQuery = true)
+    int insertEntry(@Param("id") Long id);
+
+    @Modifying(flushAutomatically = true)
+    @Query(
+        value = "update activity_feed set owner_login = :login, owner_image_url = :imageUrl where owner_id = :ownerId",
+        nativeQuery = true
+    )
+    int updateOwner(@Param("ownerId") Long ownerId, @Param("login") String login, @Param("imageUrl") String imageUrl);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "delete from activity_feed", nativeQuery = true)
+    int deleteAllEntries();
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = INSERT_FROM_ACTIVITY, nativeQuery = true)
+    int insertAllEntries();
+}
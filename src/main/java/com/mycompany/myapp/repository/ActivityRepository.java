@@ -1,8 +1,8 @@
 package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Activity;
-import com.mycompany.myapp.domain.ActivityTag;
-import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.ActivityDetailsProjection;
+import com.mycompany.myapp.dto.ActivityVersionProjection;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -31,10 +31,6 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
         return this.findAllWithToOneRelationships(pageable);
     }
 
-    Page<Activity> findByUser(Pageable pageable, User user);
-
-    Page<Activity> findByUserNot(Pageable pageable, User user);
-
     @Query(
         value = "select distinct activity from Activity activity left join fetch activity.user",
         countQuery = "select count(distinct activity) from Activity activity"
@@ -46,4 +42,22 @@ public interface ActivityRepository extends JpaRepository<Activity, Long> {
 
     @Query("select activity from Activity activity left join fetch activity.user where activity.id =:id")
     Optional<Activity> findOneWithToOneRelationships(@Param("id") Long id);
+
+    @Query(
+        "select activity.id as id, activity.title as title, activity.description as description, activity.date as date," +
+        " owner.login as userName, owner.imageUrl as imageUrl," +
+        " (select count(participant.id) from Participant participant where participant.activity = activity) as participantCount," +
+        " (select count(own.id) from Participant own where own.activity = activity and own.user.login = :login) as ownParticipationCount" +
+        " from Activity activity join activity.user owner where activity.id = :id"
+    )
+    Optional<ActivityDetailsProjection> findDetailsById(@Param("id") Long id, @Param("login") String login);
+
+    @Query(
+        "select activity.lastModifiedDate as lastModifiedDate, owner.lastModifiedDate as ownerLastModifiedDate," +
+        " (select count(participant.id) from Participant participant where participant.activity = activity) as participantCount," +
+        " (select max(participant.lastModifiedDate) from Participant participant where participant.activity = activity)" +
+        " as participantLastModifiedDate" +
+        " from Activity activity join activity.user owner where activity.id = :id"
+    )
+    Optional<ActivityVersionProjection> findVersionById(@Param("id") Long id);
 }
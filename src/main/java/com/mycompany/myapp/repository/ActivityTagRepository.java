@@ -2,7 +2,6 @@ package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Activity;
 import com.mycompany.myapp.domain.ActivityTag;
-import com.mycompany.myapp.domain.Tag;
 import com.mycompany.myapp.domain.User;
 import java.util.List;
 import java.util.Optional;
@@ -18,7 +17,9 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface ActivityTagRepository extends JpaRepository<ActivityTag, Long> {
     List<ActivityTag> findAllByActivity(Activity activity);
-    Page<ActivityTag> findDistinctByTagInAndUserNot(Pageable pageable, List<Tag> tags, User user);
+
+    @Query("select activityTag.tag.id from ActivityTag activityTag where activityTag.activity.id = :activityId")
+    List<Long> findTagIdsByActivityId(@Param("activityId") Long activityId);
 
     @Query("select activityTag from ActivityTag activityTag where activityTag.user.login = ?#{principal.username}")
     List<ActivityTag> findByUserIsCurrentUser();
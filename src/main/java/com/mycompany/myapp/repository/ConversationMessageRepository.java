@@ -0,0 +1,46 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.ConversationMessage;
+import com.mycompany.myapp.dto.GetConversationMessageDto;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ConversationMessage entity.
+ * <p>
+ * Messages are read by range of position within a conversation, walking the {@code (conversation_id, seq)} index: the
+ * pageable only carries the limit, never an offset.
+ */
+@Repository
+public interface ConversationMessageRepository extends JpaRepository<ConversationMessage, Long> {
+    @Query(
+        "select new com.mycompany.myapp.dto.GetConversationMessageDto(" +
+        "message.id, message.seq, sender.login, message.content, message.date)" +
+        " from ConversationMessage message join message.sender sender" +
+        " where message.conversation.id = :conversationId order by message.seq desc"
+    )
+    List<GetConversationMessageDto> findLatest(@Param("conversationId") Long conversationId, Pageable pageable);
+
+    @Query(
+        "select new com.mycompany.myapp.dto.GetConversationMessageDto(" +
+        "message.id, message.seq, sender.login, message.content, message.date)" +
+        " from ConversationMessage message join message.sender sender" +
+        " where message.conversation.id = :conversationId and message.seq < :seq order by message.seq desc"
+    )
+    List<GetConversationMessageDto> findBefore(@Param("conversationId") Long conversationId, @Param("seq") Long seq, Pageable pageable);
+
+    @Query(
+        "select new com.mycompany.myapp.dto.GetConversationMessageDto(" +
+        "message.id, message.seq, sender.login, message.content, message.date)" +
+        " from ConversationMessage message join message.sender sender" +
+        " where message.conversation.id = :conversationId and message.seq > :seq order by message.seq asc"
+    )
+    List<GetConversationMessageDto> findAfter(@Param("conversationId") Long conversationId, @Param("seq") Long seq, Pageable pageable);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ConversationMessage message where message.conversation.id = :conversationId")
+    int deleteByConversationId(@Param("conversationId") Long conversationId);
+}
@@ -2,10 +2,12 @@ package com.mycompany.myapp.repository;
 
 import com.mycompany.myapp.domain.Conversation;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.GetConversationDto;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -17,7 +19,12 @@ import org.springframework.stereotype.Repository;
  * For more information refer to https://github.com/jhipster/generator-jhipster/issues/17990.
  */
 @Repository
-public interface ConversationRepository extends ConversationRepositoryWithBagRelationships, JpaRepository<Conversation, Long> {
+public interface ConversationRepository
+    extends
+        ConversationRepositoryWithBagRelationships,
+        ConversationRepositoryWithDirectConversations,
+        ConversationRepositoryWithLastMessage,
+        JpaRepository<Conversation, Long> {
     default Optional<Conversation> findOneWithEagerRelationships(Long id) {
         return this.fetchBagRelationships(this.findById(id));
     }
@@ -30,8 +37,51 @@ public interface ConversationRepository extends ConversationRepositoryWithBagRel
         return this.fetchBagRelationships(this.findAll(pageable));
     }
 
-    Page<Conversation> findAllByUsersContains(Pageable pageable, User user);
+    boolean existsByIdAndUsersId(Long id, Long usersId);
 
-    @Query("SELECT c FROM Conversation c WHERE :user1 MEMBER OF c.users AND :user2 MEMBER OF c.users")
-    Optional<Conversation> findByBothUsers(@Param("user1") User user1, @Param("user2") User user2);
+    /*
+     * Inbox of a user: one row per conversation with the other participant, read through a self-join on the users
+     * relation so that the users collection of the conversations is never loaded, and the last message read through the
+     * denormalized pointer. Newest conversations first.
+     */
+
+    @Query(
+        value = "select new com.mycompany.myapp.dto.GetConversationDto(conversation.id, other.login, other.imageUrl," +
+        " lastMessage.id, lastMessage.content, lastMessage.date)" +
+        " from Conversation conversation join conversation.users inboxOwner join conversation.users other" +
+        " left join conversation.lastMessage lastMessage" +
+        " where inboxOwner.id = :userId and other.id <> :userId order by conversation.id desc",
+        countQuery = "select count(conversation) from Conversation conversation" +
+        " join conversation.users inboxOwner join conversation.users other" +
+        " where inboxOwner.id = :userId and other.id <> :userId"
+    )
+    Page<GetConversationDto> findInboxByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(
+        "select new com.mycompany.myapp.dto.GetConversationDto(conversation.id, other.login, other.imageUrl," +
+        " lastMessage.id, lastMessage.content, lastMessage.date)" +
+        " from Conversation conversation join conversation.users inboxOwner join conversation.users other" +
+        " left join conversation.lastMessage lastMessage" +
+        " where inboxOwner.id = :userId and other.id <> :userId order by conversation.id desc"
+    )
+    Slice<GetConversationDto> findFirstInboxSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(
+        "select new com.mycompany.myapp.dto.GetConversationDto(conversation.id, other.login, other.imageUrl," +
+        " lastMessage.id, lastMessage.content, lastMessage.date)" +
+        " from Conversation conversation join conversation.users inboxOwner join conversation.users other" +
+        " left join conversation.lastMessage lastMessage" +
+        " where inboxOwner.id = :userId and other.id <> :userId and conversation.id < :id order by conversation.id desc"
+    )
+    Slice<GetConversationDto> findInboxSliceByUserIdAfter(@Param("userId") Long userId, @Param("id") Long id, Pageable pageable);
+
+    @Query(
+        "select conversation from Conversation conversation" +
+        " where conversation.userLowId = :userLowId and conversation.userHighId = :userHighId"
+    )
+    Optional<Conversation> findByUserPair(@Param("userLowId") Long userLowId, @Param("userHighId") Long userHighId);
+
+    default Optional<Conversation> findByBothUsers(User user1, User user2) {
+        return findByUserPair(Math.min(user1.getId(), user2.getId()), Math.max(user1.getId(), user2.getId()));
+    }
 }
@@ -0,0 +1,18 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.DirectConversationDto;
+
+/**
+ * Race-free creation of the direct conversation between two users, keyed by the ordered pair of their ids.
+ */
+public interface ConversationRepositoryWithDirectConversations {
+    /**
+     * Get the direct conversation between two distinct users, creating it if there is none yet.
+     *
+     * @param user one of the users.
+     * @param otherUser the other user.
+     * @return the id of the conversation, and whether this call created it.
+     */
+    DirectConversationDto findOrCreateDirectConversation(User user, User otherUser);
+}
@@ -0,0 +1,75 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Conversation;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.DirectConversationDto;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Creates direct conversations with an insert guarded by the {@code (user_low_id, user_high_id)} unique key.
+ * <p>
+ * On PostgreSQL the insert is an {@code on conflict do nothing} upsert: a concurrent create of the same pair waits for
+ * the first one and then inserts nothing, so both callers end up with the same conversation. Other databases (H2 in
+ * development) fall back to a {@code not exists} guard, where the unique key still rejects a racing duplicate.
+ */
+public class ConversationRepositoryWithDirectConversationsImpl implements ConversationRepositoryWithDirectConversations {
+
+    private static final String SEQUENCE_NAME = "sequence_generator";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public DirectConversationDto findOrCreateDirectConversation(User user, User otherUser) {
+        long low = Math.min(user.getId(), otherUser.getId());
+        long high = Math.max(user.getId(), otherUser.getId());
+        if (low == high) {
+            throw new IllegalArgumentException("A direct conversation needs two distinct users");
+        }
+
+        int inserted = entityManager
+            .createNativeQuery(insertSql())
+            .setParameter("low", low)
+            .setParameter("high", high)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Conversation.class)
+            .executeUpdate();
+        Long id = entityManager
+            .createQuery(
+                "select conversation.id from Conversation conversation" +
+                " where conversation.userLowId = :low and conversation.userHighId = :high",
+                Long.class
+            )
+            .setParameter("low", low)
+            .setParameter("high", high)
+            .getSingleResult();
+        if (inserted > 0) {
+            entityManager
+                .createNativeQuery("insert into rel_conversation__user (conversation_id, user_id) values (:id, :low), (:id, :high)")
+                .setParameter("id", id)
+                .setParameter("low", low)
+                .setParameter("high", high)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace("rel_conversation__user")
+                .executeUpdate();
+        }
+        return new DirectConversationDto(id, inserted > 0);
+    }
+
+    private String insertSql() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        String insert =
+            "insert into conversation (id, user_low_id, user_high_id) select " +
+            dialect.getSelectSequenceNextValString(SEQUENCE_NAME) +
+            ", cast(:low as bigint), cast(:high as bigint)";
+        if (dialect instanceof PostgreSQL81Dialect) {
+            return insert + " on conflict (user_low_id, user_high_id) do nothing";
+        }
+        return insert + " where not exists (select 1 from conversation where user_low_id = :low and user_high_id = :high)";
+    }
+}
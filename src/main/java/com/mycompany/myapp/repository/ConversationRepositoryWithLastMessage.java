@@ -0,0 +1,24 @@
+package com.mycompany.myapp.repository;
+
+/**
+ * Maintenance of the message count and the denormalized last message pointer of a conversation.
+ */
+public interface ConversationRepositoryWithLastMessage {
+    /**
+     * Lock the conversation until the end of the transaction, so that appends to it are numbered one after the other.
+     *
+     * @param conversationId the id of the conversation.
+     * @return the number of messages of the conversation, which is also the position of its last message.
+     */
+    long lockMessageCount(Long conversationId);
+
+    /**
+     * Point the conversation to its newly appended last message, with the conversation locked by
+     * {@link #lockMessageCount(Long)}.
+     *
+     * @param conversationId the id of the conversation.
+     * @param messageCount the number of messages of the conversation, including the appended ones.
+     * @param messageId the id of the last appended message.
+     */
+    void advanceLastMessage(Long conversationId, long messageCount, Long messageId);
+}
@@ -0,0 +1,42 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Conversation;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Numbers appended messages under a row lock on their conversation, as the ids from the pooled
+ * {@code sequence_generator} are reserved by blocks on each node and do not follow the commit order.
+ * <p>
+ * The update is declared against the {@link Conversation} entity only, leaving the other second-level cache regions
+ * alone.
+ */
+public class ConversationRepositoryWithLastMessageImpl implements ConversationRepositoryWithLastMessage {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public long lockMessageCount(Long conversationId) {
+        Object messageCount = entityManager
+            .createNativeQuery("select message_count from conversation where id = :conversationId for update")
+            .setParameter("conversationId", conversationId)
+            .getSingleResult();
+        return ((Number) messageCount).longValue();
+    }
+
+    @Override
+    public void advanceLastMessage(Long conversationId, long messageCount, Long messageId) {
+        entityManager
+            .createNativeQuery(
+                "update conversation set message_count = :messageCount, last_message_id = :messageId where id = :conversationId"
+            )
+            .setParameter("conversationId", conversationId)
+            .setParameter("messageCount", messageCount)
+            .setParameter("messageId", messageId)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Conversation.class)
+            .executeUpdate();
+    }
+}
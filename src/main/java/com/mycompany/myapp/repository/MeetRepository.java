@@ -3,6 +3,8 @@ package com.mycompany.myapp.repository;
 import com.mycompany.myapp.domain.Activity;
 import com.mycompany.myapp.domain.Meet;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.EnabledMeetProjection;
+import com.mycompany.myapp.dto.GetMeetDto;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -10,18 +12,60 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 /**
  * Spring Data JPA repository for the Meet entity.
  */
 @Repository
-public interface MeetRepository extends JpaRepository<Meet, Long> {
+public interface MeetRepository extends MeetRepositoryWithEnabledMeet, JpaRepository<Meet, Long> {
     @Query("select meet from Meet meet where meet.user.login = ?#{principal.username}")
     List<Meet> findByUserIsCurrentUser();
 
     List<Meet> findByUserAndIsEnabledTrue(User user);
+
+    @Query(
+        "select meet.id as id, meet.description as description, meet.lastModifiedDate as lastModifiedDate" +
+        " from Meet meet where meet.user.login = :login and meet.isEnabled = true"
+    )
+    Optional<EnabledMeetProjection> findEnabledByUserLogin(@Param("login") String login);
+
+    /**
+     * Disable the enabled meet of a user. As a bulk update, this evicts the {@link Meet} second-level cache region.
+     *
+     * @param user the owner of the meet.
+     * @return the number of meets disabled.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update Meet meet set meet.isEnabled = false, meet.lastModifiedDate = current_timestamp" +
+        " where meet.user = :user and meet.isEnabled = true"
+    )
+    int disableEnabledByUser(@Param("user") User user);
+
+    /**
+     * Replace the enabled meet of a user by a new one, in one transaction and without loading any meet.
+     *
+     * @param user the owner of the meet.
+     * @param description the description of the new meet.
+     * @return the id of the new meet, or empty if a concurrent create or replace won.
+     */
+    @Transactional
+    default Optional<Long> replaceEnabledMeet(User user, String description) {
+        disableEnabledByUser(user);
+        return insertEnabledMeet(user, description);
+    }
+
     Page<Meet> findByUserNotAndIsEnabledTrue(Pageable pageable, User user);
 
+    @Query(
+        value = "select new com.mycompany.myapp.dto.GetMeetDto(meet.id, meet.description, owner.login, meet.isEnabled," +
+        " (select count(request.id) from Request request where request.meet = meet and request.user = :user), owner.imageUrl)" +
+        " from Meet meet join meet.user owner where meet.isEnabled = true and owner <> :user",
+        countQuery = "select count(meet) from Meet meet where meet.isEnabled = true and meet.user <> :user"
+    )
+    Page<GetMeetDto> findEnabledWithRequestStatusByUserNot(@Param("user") User user, Pageable pageable);
+
     Optional<Meet> findByIsEnabledTrue();
 
     List<Meet> findByUser(User user);
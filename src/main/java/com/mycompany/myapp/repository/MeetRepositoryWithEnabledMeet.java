@@ -0,0 +1,18 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.User;
+import java.util.Optional;
+
+/**
+ * Creation of the enabled meet of a user, guarded by the "one enabled meet per user" unique index.
+ */
+public interface MeetRepositoryWithEnabledMeet {
+    /**
+     * Insert an enabled meet for the user, unless they already have one.
+     *
+     * @param user the owner of the meet.
+     * @param description the description of the meet.
+     * @return the id of the new meet, or empty if the user already has an enabled meet.
+     */
+    Optional<Long> insertEnabledMeet(User user, String description);
+}
@@ -0,0 +1,59 @@
+package com.mycompany.myapp.repository;
+
+import com.mycompany.myapp.domain.Meet;
+import com.mycompany.myapp.domain.User;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.PostgreSQL81Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.query.NativeQuery;
+
+/**
+ * Inserts the enabled meet of a user in a single statement, without loading the meets the user already has.
+ * <p>
+ * On PostgreSQL the insert is an {@code on conflict do nothing} against the partial unique index on enabled meets, so a
+ * concurrent create waits for the first one and then inserts nothing. Other databases (H2 in development) fall back to a
+ * {@code not exists} guard, where the unique index still rejects a racing duplicate. The insert is declared against the
+ * {@link Meet} entity only, leaving the other second-level cache regions alone.
+ */
+public class MeetRepositoryWithEnabledMeetImpl implements MeetRepositoryWithEnabledMeet {
+
+    private static final String SEQUENCE_NAME = "sequence_generator";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Long> insertEnabledMeet(User user, String description) {
+        int inserted = entityManager
+            .createNativeQuery(insertSql())
+            .setParameter("userId", user.getId())
+            .setParameter("description", description)
+            .unwrap(NativeQuery.class)
+            .addSynchronizedEntityClass(Meet.class)
+            .executeUpdate();
+        if (inserted == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(
+            entityManager
+                .createQuery("select meet.id from Meet meet where meet.user.id = :userId and meet.isEnabled = true", Long.class)
+                .setParameter("userId", user.getId())
+                .getSingleResult()
+        );
+    }
+
+    private String insertSql() {
+        Dialect dialect = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect();
+        String insert =
+            "insert into meet (id, description, is_enabled, user_id, last_modified_date) select " +
+            dialect.getSelectSequenceNextValString(SEQUENCE_NAME) +
+            ", cast(:description as varchar(255)), true, cast(:userId as bigint), current_timestamp";
+        if (dialect instanceof PostgreSQL81Dialect) {
+            return insert + " on conflict (user_id) where is_enabled do nothing";
+        }
+        return insert + " where not exists (select 1 from meet where user_id = :userId and is_enabled = true)";
+    }
+}
@@ -3,6 +3,7 @@ package com.mycompany.myapp.repository;
 import com.mycompany.myapp.domain.Activity;
 import com.mycompany.myapp.domain.Participant;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.GetParticipantDto;
 import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
@@ -33,9 +34,19 @@ public interface ParticipantRepository extends JpaRepository<Participant, Long>
 
     Page<Participant> findByActivity(Pageable pageable, Activity activity);
 
+    @Query(
+        value = "select new com.mycompany.myapp.dto.GetParticipantDto(participant.id, participantUser.login)" +
+        " from Participant participant join participant.user participantUser where participant.activity.id = :activityId",
+        countQuery = "select count(participant) from Participant participant where participant.activity.id = :activityId"
+    )
+    Page<GetParticipantDto> findParticipantDtosByActivityId(@Param("activityId") Long activityId, Pageable pageable);
+
     @Query("select p.user from Participant p where p.activity.id = :activityId")
     List<User> findAllUsersByActivityId(@Param("activityId") Long activityId);
 
+    @Query("select participant.user.login from Participant participant where participant.activity.id = :activityId order by participant.id")
+    List<String> findUserLoginsByActivityId(@Param("activityId") Long activityId, Pageable pageable);
+
     Optional<Participant> findByActivityAndUser(Activity activity, User user);
 
     @Query(
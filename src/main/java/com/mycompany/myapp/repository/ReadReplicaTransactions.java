@@ -0,0 +1,50 @@
+package com.mycompany.myapp.repository;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Tells whether the current transaction reads from a read replica.
+ * <p>
+ * The routing data source flags the transactions it sends to a replica, until they complete. What they read may predate
+ * the last cache eviction, so it must not be kept in any cache.
+ */
+public final class ReadReplicaTransactions {
+
+    private static final String REPLICA_RESOURCE = ReadReplicaTransactions.class.getName() + ".replica";
+
+    private ReadReplicaTransactions() {}
+
+    /**
+     * Check whether the current transaction reads from a replica.
+     *
+     * @return {@code true} once the current transaction fetched its connection from a replica.
+     */
+    public static boolean isCurrentTransactionOnReplica() {
+        return TransactionSynchronizationManager.hasResource(REPLICA_RESOURCE);
+    }
+
+    /**
+     * Get the replica the current transaction reads from.
+     *
+     * @return the name of the replica, or {@code null} if the transaction isn't on a replica.
+     */
+    public static String getCurrentReplica() {
+        return (String) TransactionSynchronizationManager.getResource(REPLICA_RESOURCE);
+    }
+
+    /**
+     * Flag the current transaction as reading from a replica.
+     *
+     * @param replicaName the name of the replica.
+     */
+    public static void bindReplica(String replicaName) {
+        TransactionSynchronizationManager.bindResource(REPLICA_RESOURCE, replicaName);
+    }
+
+    /**
+     * Clear the flag of the current transaction, if set.
+     */
+    public static void unbindReplica() {
+        TransactionSynchronizationManager.unbindResourceIfPossible(REPLICA_RESOURCE);
+    }
+}
@@ -39,8 +39,8 @@ public interface RequestRepository extends JpaRepository<Request, Long> {
     )
     Page<Request> findRequestsWithMatchingUserLoginInMeet(Pageable pageable, @Param("login") String login);
 
-    @Query("select count(r) from Request r where r.meet.isEnabled = true and  r.meet.user.login = :login")
-    Long countRequestsWithMatchingUserLoginInMeet(@Param("login") String login);
+    @Query("select count(r) from Request r where r.meet.isEnabled = true and r.meet.user.id = :ownerId")
+    long countReceivedByOwnerId(@Param("ownerId") Long ownerId);
 
     @Query(
         value = "select distinct request from Request request left join fetch request.user",
@@ -7,6 +7,8 @@ import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
@@ -29,6 +31,12 @@ public class TokenProvider {
 
     private static final String INVALID_JWT_TOKEN = "Invalid JWT token.";
 
+    /**
+     * Upper bound on the number of validated tokens kept by {@link #authenticate(String)}; the least recently used one is
+     * evicted beyond it.
+     */
+    static final int TOKEN_CACHE_MAX_SIZE = 10_000;
+
     private final Key key;
 
     private final JwtParser jwtParser;
@@ -39,6 +47,15 @@ public class TokenProvider {
 
     private final SecurityMetersService securityMetersService;
 
+    private final Map<String, CachedAuthentication> tokenCache = Collections.synchronizedMap(
+        new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedAuthentication> eldest) {
+                return size() > TOKEN_CACHE_MAX_SIZE;
+            }
+        }
+    );
+
     public TokenProvider(JHipsterProperties jHipsterProperties, SecurityMetersService securityMetersService) {
         byte[] keyBytes;
         String secret = jHipsterProperties.getSecurity().getAuthentication().getJwt().getBase64Secret();
@@ -83,8 +100,47 @@ public class TokenProvider {
     }
 
     public Authentication getAuthentication(String token) {
-        Claims claims = jwtParser.parseClaimsJws(token).getBody();
+        return toAuthentication(jwtParser.parseClaimsJws(token).getBody(), token);
+    }
+
+    public boolean validateToken(String authToken) {
+        return parseClaims(authToken).isPresent();
+    }
+
+    /**
+     * Validate a token and build its {@link Authentication} with a single signature check.
+     * <p>
+     * Validated tokens are remembered, keyed by their SHA-256 digest, until they expire, so that a client presenting the
+     * same token on every request only pays for parsing it once.
+     *
+     * @param token the JWT.
+     * @return the authentication, or empty if the token is not valid.
+     */
+    public Optional<Authentication> authenticate(String token) {
+        String cacheKey = digest(token);
+        long now = System.currentTimeMillis();
+        CachedAuthentication cached = tokenCache.get(cacheKey);
+        if (cached != null) {
+            if (cached.expiresAt > now) {
+                this.securityMetersService.trackTokenCacheHit();
+                return Optional.of(cached.authentication);
+            }
+            tokenCache.remove(cacheKey, cached);
+        }
+        this.securityMetersService.trackTokenCacheMiss();
+        Optional<Claims> claims = parseClaims(token);
+        if (claims.isEmpty()) {
+            return Optional.empty();
+        }
+        Authentication authentication = toAuthentication(claims.get(), token);
+        Date expiration = claims.get().getExpiration();
+        if (expiration != null) {
+            tokenCache.put(cacheKey, new CachedAuthentication(authentication, expiration.getTime()));
+        }
+        return Optional.of(authentication);
+    }
 
+    private Authentication toAuthentication(Claims claims, String token) {
         Collection<? extends GrantedAuthority> authorities = Arrays
             .stream(claims.get(AUTHORITIES_KEY).toString().split(","))
             .filter(auth -> !auth.trim().isEmpty())
@@ -96,11 +152,9 @@ public class TokenProvider {
         return new UsernamePasswordAuthenticationToken(principal, token, authorities);
     }
 
-    public boolean validateToken(String authToken) {
+    private Optional<Claims> parseClaims(String authToken) {
         try {
-            jwtParser.parseClaimsJws(authToken);
-
-            return true;
+            return Optional.of(jwtParser.parseClaimsJws(authToken).getBody());
         } catch (ExpiredJwtException e) {
             this.securityMetersService.trackTokenExpired();
 
@@ -121,6 +175,27 @@ public class TokenProvider {
             log.error("Token validation error {}", e.getMessage());
         }
 
-        return false;
+        return Optional.empty();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class CachedAuthentication {
+
+        private final Authentication authentication;
+
+        private final long expiresAt;
+
+        private CachedAuthentication(Authentication authentication, long expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
     }
 }
@@ -0,0 +1,71 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.ActivityFeedRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service keeping the {@link com.mycompany.myapp.domain.ActivityFeedEntry activity feed} in sync with the activities,
+ * their owners and their participants.
+ * <p>
+ * Every method must be called in the transaction that changed the source rows, after the change: pending entity
+ * changes are flushed before the entry is rewritten from the database.
+ */
+@Service
+@Transactional
+public class ActivityFeedService {
+
+    private final Logger log = LoggerFactory.getLogger(ActivityFeedService.class);
+
+    private final ActivityFeedRepository activityFeedRepository;
+
+    public ActivityFeedService(ActivityFeedRepository activityFeedRepository) {
+        this.activityFeedRepository = activityFeedRepository;
+    }
+
+    /**
+     * Rewrite the feed entry of an activity, after it was created or updated or its participants changed.
+     *
+     * @param activityId the id of the activity.
+     */
+    public void refresh(Long activityId) {
+        log.debug("Refreshing activity feed entry : {}", activityId);
+        activityFeedRepository.deleteEntry(activityId);
+        activityFeedRepository.insertEntry(activityId);
+    }
+
+    /**
+     * Remove the feed entry of a deleted activity.
+     *
+     * @param activityId the id of the activity.
+     */
+    public void remove(Long activityId) {
+        log.debug("Removing activity feed entry : {}", activityId);
+        activityFeedRepository.deleteEntry(activityId);
+    }
+
+    /**
+     * Copy the login and image of a user to the feed entries of their activities.
+     *
+     * @param owner the updated user.
+     */
+    public void updateOwner(User owner) {
+        int updated = activityFeedRepository.updateOwner(owner.getId(), owner.getLogin(), owner.getImageUrl());
+        log.debug("Updated owner of {} activity feed entries for User : {}", updated, owner.getLogin());
+    }
+
+    /**
+     * Rebuild the whole feed from the activities, for backfills or after changes made outside of the application.
+     *
+     * @return the number of entries written.
+     */
+    public int rebuild() {
+        int deleted = activityFeedRepository.deleteAllEntries();
+        int inserted = activityFeedRepository.insertAllEntries();
+        log.info("Rebuilt activity feed: {} entries removed, {} written", deleted, inserted);
+        return inserted;
+    }
+}
@@ -0,0 +1,71 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Activity;
+import com.mycompany.myapp.domain.ActivityTag;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.ActivityTagRepository;
+import com.mycompany.myapp.repository.TagRepository;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service attaching {@link com.mycompany.myapp.domain.Tag tags} to an activity.
+ * <p>
+ * The tag ids are checked with a single {@code in} query, then the tags are referenced by id without being loaded, so
+ * that all the {@link ActivityTag} rows go to the database in one JDBC batch (ids come from the pooled
+ * {@code sequence_generator}, inserts are ordered by entity).
+ */
+@Service
+@Transactional
+public class ActivityTagService {
+
+    private final Logger log = LoggerFactory.getLogger(ActivityTagService.class);
+
+    private final ActivityTagRepository activityTagRepository;
+
+    private final TagRepository tagRepository;
+
+    public ActivityTagService(ActivityTagRepository activityTagRepository, TagRepository tagRepository) {
+        this.activityTagRepository = activityTagRepository;
+        this.tagRepository = tagRepository;
+    }
+
+    /**
+     * Attach tags to an activity. A tag given more than once is attached once.
+     *
+     * @param activity the activity, possibly not flushed yet.
+     * @param user the user attaching the tags.
+     * @param tagIds the ids of the tags.
+     * @return the new activity tags.
+     * @throws TagNotFoundException if one of the tags does not exist.
+     */
+    public List<ActivityTag> attachTags(Activity activity, User user, Collection<Long> tagIds) {
+        Set<Long> ids = new LinkedHashSet<>(tagIds);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        if (ids.contains(null)) {
+            throw new TagNotFoundException(ids);
+        }
+        Set<Long> missingIds = new LinkedHashSet<>(ids);
+        missingIds.removeAll(tagRepository.findIdsByIdIn(ids));
+        if (!missingIds.isEmpty()) {
+            throw new TagNotFoundException(missingIds);
+        }
+
+        List<ActivityTag> activityTags = ids
+            .stream()
+            .map(id -> ActivityTag.builder().activity(activity).user(user).tag(tagRepository.getReferenceById(id)).build())
+            .collect(Collectors.toList());
+        log.debug("Attaching {} tags to Activity : {}", activityTags.size(), activity.getId());
+        return activityTagRepository.saveAll(activityTags);
+    }
+}
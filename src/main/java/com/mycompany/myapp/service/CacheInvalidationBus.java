@@ -0,0 +1,501 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.io.Serializable;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service keeping the caches of the nodes sharing a PostgreSQL database consistent, over {@code LISTEN}/{@code NOTIFY}.
+ * <p>
+ * The second level cache entries of the entities and collections updated or deleted by this node, the Spring cache
+ * entries evicted through {@link #publishCacheEviction(String, Object)} and the regions published through
+ * {@link #publishRegionEviction(String)} are recorded once their transaction commits. Bulk HQL and native statements
+ * bypass the Hibernate listeners: their callers publish the entities they change through
+ * {@link #publishEntityEviction(Class)} or {@link #publishEntityEviction(Class, Object)}. They are coalesced per region, a
+ * region being evicted as a whole past {@code application.cache.invalidation.max-keys-per-region} keys, and sent with
+ * {@code pg_notify} every {@code application.cache.invalidation.flush-interval}.
+ * <p>
+ * A dedicated connection listens to the channel, and applies the evictions of the other nodes. Notifications sent while
+ * it is disconnected are lost, so all the caches of this node are cleared whenever it connects again.
+ */
+@Service
+public class CacheInvalidationBus {
+
+    static final char ENTITY = 'E';
+
+    static final char COLLECTION = 'C';
+
+    static final char CACHE = 'S';
+
+    static final char REGION = 'R';
+
+    private static final int MAX_PAYLOAD_BYTES = 7000;
+
+    private static final Pattern CHANNEL_PATTERN = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final Set<String> ALL_KEYS = Collections.emptySet();
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private final CacheManager cacheManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final ApplicationProperties.Cache.Invalidation properties;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+
+    private final Map<String, List<Runnable>> regionHandlers = new ConcurrentHashMap<>();
+
+    private volatile boolean running;
+
+    private Thread listener;
+
+    public CacheInvalidationBus(
+        EntityManagerFactory entityManagerFactory,
+        CacheManager cacheManager,
+        JdbcTemplate jdbcTemplate,
+        PlatformTransactionManager transactionManager,
+        DataSourceProperties dataSourceProperties,
+        ApplicationProperties applicationProperties
+    ) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dataSourceProperties = dataSourceProperties;
+        this.properties = applicationProperties.getCache().getInvalidation();
+        if (!CHANNEL_PATTERN.matcher(properties.getChannel()).matches()) {
+            throw new IllegalArgumentException("Invalid cache invalidation channel: " + properties.getChannel());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        EventListenerRegistry registry = sessionFactory().getServiceRegistry().getService(EventListenerRegistry.class);
+        HibernateListener hibernateListener = new HibernateListener();
+        registry.appendListeners(EventType.POST_UPDATE, hibernateListener);
+        registry.appendListeners(EventType.POST_DELETE, hibernateListener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, hibernateListener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, hibernateListener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, hibernateListener);
+        running = true;
+        listener = new Thread(this::listen, "cache-invalidation-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+
+    /**
+     * Run an action whenever another node evicts a region published through {@link #publishRegionEviction(String)}, and
+     * whenever all caches are cleared.
+     *
+     * @param region the name of the region.
+     * @param handler the action evicting the region on this node.
+     */
+    public void onRegionEviction(String region, Runnable handler) {
+        regionHandlers.computeIfAbsent(region, name -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Evict an entry of a Spring cache on the other nodes, once the current transaction commits.
+     *
+     * @param cacheName the name of the cache.
+     * @param key the key of the entry.
+     */
+    public void publishCacheEviction(String cacheName, Object key) {
+        publish(CACHE, cacheName, key.toString());
+    }
+
+    /**
+     * Evict all the second level cache entries of an entity on the other nodes, once the current transaction commits.
+     *
+     * @param entityClass the class of the entity changed by a bulk or native statement.
+     */
+    public void publishEntityEviction(Class<?> entityClass) {
+        publish(ENTITY, entityClass.getName(), null);
+    }
+
+    /**
+     * Evict the second level cache entry of an entity on the other nodes, once the current transaction commits.
+     *
+     * @param entityClass the class of the entity changed by a bulk or native statement.
+     * @param id the id of the entity.
+     */
+    public void publishEntityEviction(Class<?> entityClass, Object id) {
+        publish(ENTITY, entityClass.getName(), id.toString());
+    }
+
+    /**
+     * Evict a region registered with {@link #onRegionEviction(String, Runnable)} on the other nodes, once the current
+     * transaction commits.
+     *
+     * @param region the name of the region.
+     */
+    public void publishRegionEviction(String region) {
+        publish(REGION, region, null);
+    }
+
+    void publish(char type, String region, String key) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        afterCommit(() ->
+            pending.compute(
+                type + region,
+                (name, keys) -> {
+                    if (keys == ALL_KEYS || key == null) {
+                        return ALL_KEYS;
+                    }
+                    Set<String> result = keys != null ? keys : new HashSet<>();
+                    result.add(key);
+                    return result.size() > properties.getMaxKeysPerRegion() ? ALL_KEYS : result;
+                }
+            )
+        );
+    }
+
+    /**
+     * Send the pending evictions to the other nodes.
+     */
+    @Scheduled(fixedDelayString = "${application.cache.invalidation.flush-interval:PT0.05S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<String> payloads = drain();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                payloads.forEach(payload -> jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> {}, properties.getChannel(), payload))
+            );
+        } catch (RuntimeException e) {
+            log.warn("Could not publish cache evictions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Take the pending evictions, as notification payloads: the id of this node, then one region per line, followed by
+     * a tab and a key unless the whole region is evicted.
+     */
+    List<String> drain() {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(nodeId);
+        int payloadBytes = payload.length();
+        for (String region : pending.keySet()) {
+            Set<String> keys = pending.remove(region);
+            if (keys == null) {
+                continue;
+            }
+            List<String> lines = new ArrayList<>();
+            if (keys == ALL_KEYS) {
+                lines.add(region);
+            } else {
+                keys.forEach(key -> lines.add(region + '\t' + key));
+            }
+            for (String line : lines) {
+                int lineBytes = line.getBytes(StandardCharsets.UTF_8).length + 1;
+                if (payloadBytes + lineBytes > MAX_PAYLOAD_BYTES) {
+                    payloads.add(payload.toString());
+                    payload = new StringBuilder(nodeId);
+                    payloadBytes = payload.length();
+                }
+                payload.append('\n').append(line);
+                payloadBytes += lineBytes;
+            }
+        }
+        if (payload.length() > nodeId.length()) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    /**
+     * Apply the evictions of a notification payload, unless this node sent it.
+     */
+    void apply(String payload) {
+        String[] lines = payload.split("\n");
+        if (lines[0].equals(nodeId)) {
+            return;
+        }
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i];
+            int tab = line.indexOf('\t');
+            String region = tab < 0 ? line.substring(1) : line.substring(1, tab);
+            String key = tab < 0 ? null : line.substring(tab + 1);
+            try {
+                evict(line.charAt(0), region, key);
+            } catch (RuntimeException e) {
+                log.warn("Could not evict {} from cache region {}: {}", key, region, e.getMessage());
+            }
+        }
+    }
+
+    private void evict(char type, String region, String key) {
+        switch (type) {
+            case ENTITY:
+                if (key == null) {
+                    sessionFactory().getCache().evictEntityData(region);
+                } else {
+                    Class<?> idType = sessionFactory().getMetamodel().entityPersister(region).getIdentifierType().getReturnedClass();
+                    sessionFactory().getCache().evictEntityData(region, toId(idType, key));
+                }
+                break;
+            case COLLECTION:
+                if (key == null) {
+                    sessionFactory().getCache().evictCollectionData(region);
+                } else {
+                    Class<?> idType = sessionFactory().getMetamodel().collectionPersister(region).getKeyType().getReturnedClass();
+                    sessionFactory().getCache().evictCollectionData(region, toId(idType, key));
+                }
+                break;
+            case CACHE:
+                Cache cache = cacheManager.getCache(region);
+                if (cache != null) {
+                    if (key == null) {
+                        cache.clear();
+                    } else {
+                        cache.evict(key);
+                    }
+                }
+                break;
+            case REGION:
+                regionHandlers.getOrDefault(region, List.of()).forEach(Runnable::run);
+                break;
+            default:
+                log.warn("Unknown cache eviction type: {}", type);
+        }
+    }
+
+    /**
+     * Clear all the caches of this node, when evictions of the other nodes may have been missed.
+     */
+    void evictAll() {
+        sessionFactory().getCache().evictAllRegions();
+        cacheManager.getCacheNames().forEach(name -> Objects.requireNonNull(cacheManager.getCache(name)).clear());
+        regionHandlers.values().forEach(handlers -> handlers.forEach(Runnable::run));
+    }
+
+    private void listen() {
+        boolean evictOnConnect = false;
+        while (running) {
+            try (
+                Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword()
+                )
+            ) {
+                connection.setAutoCommit(true);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + properties.getChannel());
+                }
+                if (evictOnConnect) {
+                    log.info("Listening to cache evictions again, clearing all caches");
+                    evictAll();
+                }
+                evictOnConnect = true;
+                Notifications notifications = new Notifications(connection);
+                while (running) {
+                    List<String> payloads = notifications.poll((int) properties.getPollTimeout().toMillis());
+                    if (payloads.isEmpty() && !connection.isValid(5)) {
+                        throw new SQLException("Cache invalidation connection is no longer valid");
+                    }
+                    payloads.forEach(this::apply);
+                }
+            } catch (SQLException | ReflectiveOperationException e) {
+                if (!running) {
+                    return;
+                }
+                evictOnConnect = true;
+                log.warn("Lost cache invalidation connection, reconnecting in {}: {}", properties.getReconnectDelay(), e.getMessage());
+                try {
+                    Thread.sleep(properties.getReconnectDelay().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private SessionFactoryImplementor sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+    }
+
+    private static Serializable toId(Class<?> idType, String key) {
+        if (Long.class.equals(idType) || long.class.equals(idType)) {
+            return Long.valueOf(key);
+        }
+        if (Integer.class.equals(idType) || int.class.equals(idType)) {
+            return Integer.valueOf(key);
+        }
+        return key;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+
+    /**
+     * Notifications received by a PostgreSQL connection. The driver is only on the classpath of the prod profile, so its
+     * API is called reflectively.
+     */
+    private static final class Notifications {
+
+        private final Object connection;
+
+        private final Method getNotifications;
+
+        private final Method getParameter;
+
+        private Notifications(Connection connection) throws SQLException, ReflectiveOperationException {
+            Class<?> pgConnection = Class.forName("org.postgresql.PGConnection");
+            this.connection = connection.unwrap(pgConnection);
+            this.getNotifications = pgConnection.getMethod("getNotifications", int.class);
+            this.getParameter = Class.forName("org.postgresql.PGNotification").getMethod("getParameter");
+        }
+
+        private List<String> poll(int timeoutMillis) throws ReflectiveOperationException {
+            Object[] notifications = (Object[]) getNotifications.invoke(connection, timeoutMillis);
+            if (notifications == null) {
+                return List.of();
+            }
+            List<String> payloads = new ArrayList<>(notifications.length);
+            for (Object notification : notifications) {
+                payloads.add((String) getParameter.invoke(notification));
+            }
+            return payloads;
+        }
+    }
+
+    /**
+     * Hibernate listener recording the second level cache entries of the entities and collections changed by this node.
+     */
+    private final class HibernateListener
+        implements
+            PostUpdateEventListener,
+            PostDeleteEventListener,
+            PostCollectionUpdateEventListener,
+            PostCollectionRemoveEventListener,
+            PostCollectionRecreateEventListener {
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            entityChanged(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            entityChanged(event.getPersister(), event.getId());
+        }
+
+        @Override
+        public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+            collectionChanged(event);
+        }
+
+        @Override
+        public boolean requiresPostCommitHanding(EntityPersister persister) {
+            return false;
+        }
+
+        private void entityChanged(EntityPersister persister, Object id) {
+            if (persister.canWriteToCache()) {
+                publish(ENTITY, persister.getEntityName(), id.toString());
+            }
+        }
+
+        private void collectionChanged(AbstractCollectionEvent event) {
+            String role = event.getCollection().getRole();
+            Serializable ownerId = event.getAffectedOwnerIdOrNull();
+            if (role != null && event.getSession().getFactory().getMetamodel().collectionPersister(role).hasCache()) {
+                publish(COLLECTION, role, ownerId != null ? ownerId.toString() : null);
+            }
+        }
+    }
+}
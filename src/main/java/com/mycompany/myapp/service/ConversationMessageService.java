@@ -0,0 +1,135 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Conversation;
+import com.mycompany.myapp.domain.ConversationMessage;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.GetConversationMessageDto;
+import com.mycompany.myapp.repository.ConversationMessageRepository;
+import com.mycompany.myapp.repository.ConversationRepository;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service for appending and reading the {@link ConversationMessage messages} of a conversation.
+ * <p>
+ * Messages are ordered by their position within the conversation, handed out while the conversation row is locked: the
+ * ids come from the pooled {@code sequence_generator}, so they do not follow the commit order across transactions and
+ * nodes. A burst of messages is inserted in one JDBC batch, then the message count and the last message pointer of the
+ * conversation are updated once.
+ */
+@Service
+@Transactional
+public class ConversationMessageService {
+
+    private final Logger log = LoggerFactory.getLogger(ConversationMessageService.class);
+
+    private final ConversationMessageRepository conversationMessageRepository;
+
+    private final ConversationRepository conversationRepository;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public ConversationMessageService(
+        ConversationMessageRepository conversationMessageRepository,
+        ConversationRepository conversationRepository,
+        CacheInvalidationBus cacheInvalidationBus
+    ) {
+        this.conversationMessageRepository = conversationMessageRepository;
+        this.conversationRepository = conversationRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    /**
+     * Check whether a user takes part in a conversation.
+     *
+     * @param conversationId the id of the conversation.
+     * @param user the user.
+     * @return whether the conversation exists and the user is one of its users.
+     */
+    @Transactional(readOnly = true)
+    public boolean isMember(Long conversationId, User user) {
+        return conversationRepository.existsByIdAndUsersId(conversationId, user.getId());
+    }
+
+    /**
+     * Append messages to a conversation, in the given order.
+     *
+     * @param conversationId the id of the conversation.
+     * @param sender the user sending the messages.
+     * @param contents the contents of the messages.
+     * @return the appended messages.
+     */
+    public List<GetConversationMessageDto> append(Long conversationId, User sender, List<String> contents) {
+        long messageCount = conversationRepository.lockMessageCount(conversationId);
+        Conversation conversation = conversationRepository.getReferenceById(conversationId);
+        Instant now = Instant.now();
+        List<ConversationMessage> messages = new ArrayList<>(contents.size());
+        for (String content : contents) {
+            messages.add(
+                ConversationMessage
+                    .builder()
+                    .conversation(conversation)
+                    .seq(++messageCount)
+                    .sender(sender)
+                    .content(content)
+                    .date(now)
+                    .build()
+            );
+        }
+        conversationMessageRepository.saveAllAndFlush(messages);
+        conversationRepository.advanceLastMessage(conversationId, messageCount, messages.get(messages.size() - 1).getId());
+        cacheInvalidationBus.publishEntityEviction(Conversation.class, conversationId);
+        log.debug("Appended {} messages to Conversation : {}", messages.size(), conversationId);
+        return messages
+            .stream()
+            .map(message ->
+                new GetConversationMessageDto(message.getId(), message.getSeq(), sender.getLogin(), message.getContent(), message.getDate())
+            )
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Get messages of a conversation, oldest first.
+     * <p>
+     * Without bounds, the latest messages are returned; {@code beforeSeq} pages back through the history and
+     * {@code afterSeq} fetches the messages appended since the last read.
+     *
+     * @param conversationId the id of the conversation.
+     * @param beforeSeq only return messages older than this position, if not null.
+     * @param afterSeq only return messages newer than this position, if not null.
+     * @param size the maximum number of messages.
+     * @return the messages.
+     */
+    @Transactional(readOnly = true)
+    public List<GetConversationMessageDto> getMessages(Long conversationId, Long beforeSeq, Long afterSeq, int size) {
+        Pageable limit = PageRequest.of(0, size);
+        if (afterSeq != null) {
+            return conversationMessageRepository.findAfter(conversationId, afterSeq, limit);
+        }
+        List<GetConversationMessageDto> newestFirst = beforeSeq == null
+            ? conversationMessageRepository.findLatest(conversationId, limit)
+            : conversationMessageRepository.findBefore(conversationId, beforeSeq, limit);
+        List<GetConversationMessageDto> messages = new ArrayList<>(newestFirst);
+        Collections.reverse(messages);
+        return messages;
+    }
+
+    /**
+     * Delete all the messages of a conversation, before deleting the conversation itself.
+     *
+     * @param conversationId the id of the conversation.
+     */
+    public void deleteAll(Long conversationId) {
+        int deleted = conversationMessageRepository.deleteByConversationId(conversationId);
+        log.debug("Deleted {} messages of Conversation : {}", deleted, conversationId);
+    }
+}
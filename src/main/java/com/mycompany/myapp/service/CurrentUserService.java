@@ -0,0 +1,95 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.SecurityUtils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Objects;
+import java.util.Optional;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Resolves the {@link User} behind the current security principal at most once per HTTP request.
+ * <p>
+ * The resolved user is kept as a request attribute, keyed by login so that a principal change within the request (for
+ * example on {@code /api/authenticate}) is never served a stale user. Outside of a request (scheduled or async work),
+ * every call goes to the repository.
+ */
+@Service
+public class CurrentUserService {
+
+    public static final String RESOLUTIONS_METER_NAME = "security.current-user.resolutions";
+    public static final String RESOLUTIONS_METER_DESCRIPTION = "Current user resolutions, by request-scoped cache outcome.";
+    public static final String RESOLUTIONS_METER_RESULT_DIMENSION = "result";
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUserService.class.getName() + ".resolved";
+
+    private final UserRepository userRepository;
+
+    private final Counter hitCounter;
+
+    private final Counter missCounter;
+
+    public CurrentUserService(UserRepository userRepository, MeterRegistry registry) {
+        this.userRepository = userRepository;
+        this.hitCounter = resolutionsCounterBuilder("hit").register(registry);
+        this.missCounter = resolutionsCounterBuilder("miss").register(registry);
+    }
+
+    private Counter.Builder resolutionsCounterBuilder(String result) {
+        return Counter
+            .builder(RESOLUTIONS_METER_NAME)
+            .description(RESOLUTIONS_METER_DESCRIPTION)
+            .tag(RESOLUTIONS_METER_RESULT_DIMENSION, result);
+    }
+
+    /**
+     * Get the user of the current principal, with its authorities.
+     *
+     * @return the current user, or empty if nobody is logged in.
+     */
+    public Optional<User> getCurrentUser() {
+        Optional<String> login = SecurityUtils.getCurrentUserLogin();
+        if (login.isEmpty()) {
+            return Optional.empty();
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return userRepository.findOneWithAuthoritiesByLogin(login.get());
+        }
+        Object cached = attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof ResolvedUser && ((ResolvedUser) cached).login.equals(login.get())) {
+            hitCounter.increment();
+            return ((ResolvedUser) cached).user;
+        }
+        missCounter.increment();
+        Optional<User> user = userRepository.findOneWithAuthoritiesByLogin(login.get());
+        attributes.setAttribute(REQUEST_ATTRIBUTE, new ResolvedUser(login.get(), user), RequestAttributes.SCOPE_REQUEST);
+        return user;
+    }
+
+    /**
+     * Forget the user resolved for the current request, so that the next lookup sees fresh data.
+     */
+    public void evict() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.removeAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static final class ResolvedUser {
+
+        private final String login;
+
+        private final Optional<User> user;
+
+        private ResolvedUser(String login, Optional<User> user) {
+            this.login = Objects.requireNonNull(login);
+            this.user = user;
+        }
+    }
+}
@@ -0,0 +1,599 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.config.Constants;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service loading a synthetic dataset, sized by {@code application.dataset}, so that the repository queries and indexes
+ * can be measured at a realistic scale.
+ * <p>
+ * Users, activities with their tags and participants, meets with their requests, and conversations with their messages
+ * are all drawn from a single seed: the same properties always generate the same rows. Tag popularity follows a Zipf
+ * distribution, and a few celebrity hosts own a large share of the activities. Rows are committed batch by batch, with
+ * ids reserved from {@code sequence_generator}: on Postgres, each batch is streamed with {@code COPY}, elsewhere it is
+ * sent as batched JDBC inserts.
+ * <p>
+ * No other instance should write to the database while the generator runs. As Liquibase runs asynchronously with the
+ * {@code dev} profile, run the generator with {@code prod,dataset}.
+ */
+@Service
+@Profile(Constants.SPRING_PROFILE_DATASET)
+public class DatasetGenerator {
+
+    /**
+     * BCrypt hash of "user", as for the default user: generated users log in with their login and "user".
+     */
+    private static final String PASSWORD_HASH = "$2a$10$VEjxo0jq2YG9Rbk2HmX9S.k1uZBGYUHdUcid3g/vfiEl7lwWgOH/K";
+
+    private static final String SEQUENCE_NAME = "sequence_generator";
+
+    /**
+     * Ids left unused around the generated ones, wider than the id blocks Hibernate takes from the sequence.
+     */
+    private static final long ID_GAP = 1_000;
+
+    private static final long SECONDS_PER_YEAR = TimeUnit.DAYS.toSeconds(365);
+
+    private static final int HOST_STREAM = 1;
+
+    private static final int ACTIVITY_STREAM = 2;
+
+    private static final int ACTIVITY_TAG_STREAM = 3;
+
+    private static final int PARTICIPANT_STREAM = 4;
+
+    private static final int REQUEST_STREAM = 5;
+
+    private static final int MESSAGE_STREAM = 6;
+
+    private final Logger log = LoggerFactory.getLogger(DatasetGenerator.class);
+
+    private final DataSource dataSource;
+
+    private final ActivityFeedService activityFeedService;
+
+    private final TagCatalogService tagCatalogService;
+
+    private final ApplicationProperties.Dataset properties;
+
+    public DatasetGenerator(
+        DataSource dataSource,
+        ActivityFeedService activityFeedService,
+        TagCatalogService tagCatalogService,
+        ApplicationProperties applicationProperties
+    ) {
+        this.dataSource = dataSource;
+        this.activityFeedService = activityFeedService;
+        this.tagCatalogService = tagCatalogService;
+        this.properties = applicationProperties.getDataset();
+    }
+
+    /**
+     * Generate the dataset.
+     *
+     * @return the number of rows inserted, by table.
+     * @throws SQLException if an insert fails; the batches committed before are kept.
+     */
+    public Map<String, Long> generate() throws SQLException {
+        validate();
+        long start = System.nanoTime();
+        Map<String, Long> rows = new LinkedHashMap<>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            boolean postgres = isPostgres(connection);
+            IdBlocks ids = new IdBlocks(nextSequenceValue(connection, postgres) + ID_GAP);
+
+            long firstUserId = ids.reserve(properties.getUsers());
+            insertUsers(connection, firstUserId, rows);
+            long firstTagId = ids.reserve(properties.getTags());
+            insertTags(connection, firstTagId, rows);
+
+            int[] activityOwners = activityOwners();
+            long firstActivityId = ids.reserve(activityOwners.length);
+            insertActivities(connection, firstActivityId, firstUserId, activityOwners, rows);
+            insertActivityTags(connection, ids, firstActivityId, firstTagId, firstUserId, activityOwners, rows);
+            insertParticipants(connection, ids, firstActivityId, firstUserId, activityOwners, rows);
+
+            long firstMeetId = ids.reserve((long) properties.getUsers() * properties.getMeetsPerUser());
+            insertMeets(connection, firstMeetId, firstUserId, rows);
+            insertRequests(connection, ids, firstMeetId, firstUserId, rows);
+
+            long firstConversationId = ids.reserve(properties.getConversations());
+            long firstMessageId = ids.reserve((long) properties.getConversations() * properties.getMessagesPerConversation());
+            insertConversations(connection, firstConversationId, firstUserId, rows);
+            insertMessages(connection, firstConversationId, firstMessageId, firstUserId, rows);
+            linkLastMessages(connection, firstConversationId, firstMessageId);
+
+            restartSequence(connection, postgres, ids.next + ID_GAP);
+            connection.commit();
+        }
+        rows.put("activity_feed", (long) activityFeedService.rebuild());
+        tagCatalogService.invalidate();
+        long total = rows.values().stream().mapToLong(Long::longValue).sum();
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+        log.info("Generated {} rows with seed {} in {} s", total, properties.getSeed(), seconds);
+        return Collections.unmodifiableMap(rows);
+    }
+
+    private void validate() {
+        if (properties.getUsers() < 2) {
+            throw new IllegalArgumentException("A dataset needs at least two users");
+        }
+        if (properties.getConversations() > (long) properties.getUsers() * ((properties.getUsers() - 1) / 2)) {
+            throw new IllegalArgumentException("Too many conversations for " + properties.getUsers() + " users");
+        }
+        if (properties.getBatchSize() < 1) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+    }
+
+    private void insertUsers(Connection connection, long firstUserId, Map<String, Long> rows) throws SQLException {
+        try (
+            Batch users = new Batch(
+                connection,
+                rows,
+                "jhi_user",
+                "id",
+                "login",
+                "password_hash",
+                "first_name",
+                "last_name",
+                "activated",
+                "lang_key",
+                "created_by"
+            )
+        ) {
+            for (int user = 0; user < properties.getUsers(); user++) {
+                users.row(
+                    firstUserId + user,
+                    login(user),
+                    PASSWORD_HASH,
+                    "Dataset",
+                    "User " + user,
+                    true,
+                    Constants.DEFAULT_LANGUAGE,
+                    Constants.SYSTEM
+                );
+            }
+        }
+        try (Batch authorities = new Batch(connection, rows, "jhi_user_authority", "user_id", "authority_name")) {
+            for (int user = 0; user < properties.getUsers(); user++) {
+                authorities.row(firstUserId + user, AuthoritiesConstants.USER);
+            }
+        }
+    }
+
+    private void insertTags(Connection connection, long firstTagId, Map<String, Long> rows) throws SQLException {
+        try (Batch tags = new Batch(connection, rows, "tag", "id", "title")) {
+            for (int tag = 0; tag < properties.getTags(); tag++) {
+                tags.row(firstTagId + tag, "tag-" + tag);
+            }
+        }
+    }
+
+    /**
+     * Draw the host of each activity: one of the celebrity hosts for {@code celebrity-share} of them, any user otherwise.
+     */
+    private int[] activityOwners() {
+        SplittableRandom random = random(HOST_STREAM);
+        int celebrities = Math.min(properties.getCelebrityHosts(), properties.getUsers());
+        int[] owners = new int[properties.getActivities()];
+        for (int activity = 0; activity < owners.length; activity++) {
+            boolean celebrity = celebrities > 0 && random.nextDouble() < properties.getCelebrityShare();
+            owners[activity] = random.nextInt(celebrity ? celebrities : properties.getUsers());
+        }
+        return owners;
+    }
+
+    private void insertActivities(Connection connection, long firstActivityId, long firstUserId, int[] owners, Map<String, Long> rows)
+        throws SQLException {
+        SplittableRandom random = random(ACTIVITY_STREAM);
+        try (Batch activities = new Batch(connection, rows, "activity", "id", "title", "description", "date", "user_id")) {
+            for (int activity = 0; activity < owners.length; activity++) {
+                activities.row(
+                    firstActivityId + activity,
+                    "Activity " + activity,
+                    "Synthetic activity " + activity + " hosted by " + login(owners[activity]),
+                    properties.getEpoch().plusSeconds(random.nextLong(SECONDS_PER_YEAR)),
+                    firstUserId + owners[activity]
+                );
+            }
+        }
+    }
+
+    private void insertActivityTags(
+        Connection connection,
+        IdBlocks ids,
+        long firstActivityId,
+        long firstTagId,
+        long firstUserId,
+        int[] owners,
+        Map<String, Long> rows
+    ) throws SQLException {
+        int tagsPerActivity = Math.min(properties.getTagsPerActivity(), properties.getTags());
+        if (tagsPerActivity < 1) {
+            return;
+        }
+        SplittableRandom random = random(ACTIVITY_TAG_STREAM);
+        ZipfDistribution popularity = new ZipfDistribution(properties.getTags(), properties.getTagSkew());
+        int[] tags = new int[tagsPerActivity];
+        try (Batch activityTags = new Batch(connection, rows, "activity_tag", "id", "tag_id", "activity_id", "user_id")) {
+            for (int activity = 0; activity < owners.length; activity++) {
+                int count = 0;
+                while (count < tagsPerActivity) {
+                    int tag = popularity.sample(random);
+                    if (!contains(tags, count, tag)) {
+                        tags[count++] = tag;
+                    }
+                }
+                for (int tag : tags) {
+                    activityTags.row(ids.reserve(1), firstTagId + tag, firstActivityId + activity, firstUserId + owners[activity]);
+                }
+            }
+        }
+    }
+
+    private void insertParticipants(
+        Connection connection,
+        IdBlocks ids,
+        long firstActivityId,
+        long firstUserId,
+        int[] owners,
+        Map<String, Long> rows
+    ) throws SQLException {
+        SplittableRandom random = random(PARTICIPANT_STREAM);
+        int maxParticipants = Math.min(2 * properties.getParticipantsPerActivity(), properties.getUsers() - 1);
+        int[] participants = new int[maxParticipants];
+        try (Batch batch = new Batch(connection, rows, "participant", "id", "activity_id", "user_id")) {
+            for (int activity = 0; activity < owners.length; activity++) {
+                int count = random.nextInt(maxParticipants + 1);
+                drawUsers(random, participants, count, owners[activity]);
+                for (int participant = 0; participant < count; participant++) {
+                    batch.row(ids.reserve(1), firstActivityId + activity, firstUserId + participants[participant]);
+                }
+            }
+        }
+    }
+
+    private void insertMeets(Connection connection, long firstMeetId, long firstUserId, Map<String, Long> rows) throws SQLException {
+        int meetsPerUser = properties.getMeetsPerUser();
+        try (Batch meets = new Batch(connection, rows, "meet", "id", "description", "is_enabled", "user_id")) {
+            for (int user = 0; user < properties.getUsers(); user++) {
+                for (int meet = 0; meet < meetsPerUser; meet++) {
+                    meets.row(
+                        firstMeetId + (long) user * meetsPerUser + meet,
+                        "Meet " + meet + " of " + login(user),
+                        meet == meetsPerUser - 1,
+                        firstUserId + user
+                    );
+                }
+            }
+        }
+    }
+
+    private void insertRequests(Connection connection, IdBlocks ids, long firstMeetId, long firstUserId, Map<String, Long> rows)
+        throws SQLException {
+        SplittableRandom random = random(REQUEST_STREAM);
+        int requestsPerMeet = Math.min(properties.getRequestsPerMeet(), properties.getUsers() - 1);
+        int[] requesters = new int[requestsPerMeet];
+        try (Batch requests = new Batch(connection, rows, "request", "id", "meet_id", "user_id")) {
+            for (int user = 0; user < properties.getUsers(); user++) {
+                for (int meet = 0; meet < properties.getMeetsPerUser(); meet++) {
+                    long meetId = firstMeetId + (long) user * properties.getMeetsPerUser() + meet;
+                    drawUsers(random, requesters, requestsPerMeet, user);
+                    for (int requester : requesters) {
+                        requests.row(ids.reserve(1), meetId, firstUserId + requester);
+                    }
+                }
+            }
+        }
+    }
+
+    private void insertConversations(Connection connection, long firstConversationId, long firstUserId, Map<String, Long> rows)
+        throws SQLException {
+        try (Batch conversations = new Batch(connection, rows, "conversation", "id", "user_low_id", "user_high_id")) {
+            for (int conversation = 0; conversation < properties.getConversations(); conversation++) {
+                int[] pair = pair(conversation);
+                conversations.row(firstConversationId + conversation, firstUserId + pair[0], firstUserId + pair[1]);
+            }
+        }
+        try (Batch members = new Batch(connection, rows, "rel_conversation__user", "conversation_id", "user_id")) {
+            for (int conversation = 0; conversation < properties.getConversations(); conversation++) {
+                for (int user : pair(conversation)) {
+                    members.row(firstConversationId + conversation, firstUserId + user);
+                }
+            }
+        }
+    }
+
+    private void insertMessages(
+        Connection connection,
+        long firstConversationId,
+        long firstMessageId,
+        long firstUserId,
+        Map<String, Long> rows
+    ) throws SQLException {
+        SplittableRandom random = random(MESSAGE_STREAM);
+        int messagesPerConversation = properties.getMessagesPerConversation();
+        String[] columns = { "id", "conversation_id", "seq", "sender_id", "content", "date" };
+        try (Batch messages = new Batch(connection, rows, "conversation_message", columns)) {
+            for (int conversation = 0; conversation < properties.getConversations(); conversation++) {
+                int[] pair = pair(conversation);
+                Instant date = properties.getEpoch().plusSeconds(random.nextLong(SECONDS_PER_YEAR));
+                for (int message = 0; message < messagesPerConversation; message++) {
+                    messages.row(
+                        firstMessageId + (long) conversation * messagesPerConversation + message,
+                        firstConversationId + conversation,
+                        message + 1L,
+                        firstUserId + pair[message % 2],
+                        "Message " + message,
+                        date.plusSeconds(60L * message)
+                    );
+                }
+            }
+        }
+    }
+
+    private void linkLastMessages(Connection connection, long firstConversationId, long firstMessageId) throws SQLException {
+        int messagesPerConversation = properties.getMessagesPerConversation();
+        if (messagesPerConversation == 0 || properties.getConversations() == 0) {
+            return;
+        }
+        try (
+            PreparedStatement statement = connection.prepareStatement(
+                "update conversation set message_count = ?, last_message_id = ? + (id - ?) * ? where id between ? and ?"
+            )
+        ) {
+            statement.setLong(1, messagesPerConversation);
+            statement.setLong(2, firstMessageId + messagesPerConversation - 1);
+            statement.setLong(3, firstConversationId);
+            statement.setLong(4, messagesPerConversation);
+            statement.setLong(5, firstConversationId);
+            statement.setLong(6, firstConversationId + properties.getConversations() - 1);
+            statement.executeUpdate();
+        }
+        connection.commit();
+    }
+
+    /**
+     * The two users of a conversation, lowest first. The {@code n}-th conversation pairs each user with the user
+     * {@code 1 + n / users} further, which never pairs the same two users twice.
+     */
+    private int[] pair(int conversation) {
+        int users = properties.getUsers();
+        int first = conversation % users;
+        int second = (first + 1 + conversation / users) % users;
+        return new int[] { Math.min(first, second), Math.max(first, second) };
+    }
+
+    /**
+     * Draw {@code count} distinct users, other than {@code excluded}, into the first elements of {@code into}.
+     */
+    private void drawUsers(SplittableRandom random, int[] into, int count, int excluded) {
+        int drawn = 0;
+        while (drawn < count) {
+            int user = random.nextInt(properties.getUsers());
+            if (user != excluded && !contains(into, drawn, user)) {
+                into[drawn++] = user;
+            }
+        }
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String login(int user) {
+        return "dataset-" + properties.getSeed() + "-" + user;
+    }
+
+    /**
+     * Each table draws from its own stream, so that changing the size of one table does not change the others.
+     */
+    private SplittableRandom random(int stream) {
+        return new SplittableRandom(properties.getSeed() * 31 + stream);
+    }
+
+    private static boolean isPostgres(Connection connection) throws SQLException {
+        String database = connection.getMetaData().getDatabaseProductName();
+        if ("PostgreSQL".equals(database)) {
+            return true;
+        }
+        if ("H2".equals(database)) {
+            return false;
+        }
+        throw new IllegalStateException("Dataset generation is not supported on " + database);
+    }
+
+    private static long nextSequenceValue(Connection connection, boolean postgres) throws SQLException {
+        String sql = postgres ? "select nextval('" + SEQUENCE_NAME + "')" : "select next value for " + SEQUENCE_NAME;
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static void restartSequence(Connection connection, boolean postgres, long value) throws SQLException {
+        String sql = postgres
+            ? "select setval('" + SEQUENCE_NAME + "', " + value + ")"
+            : "alter sequence " + SEQUENCE_NAME + " restart with " + value;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static final class IdBlocks {
+
+        private long next;
+
+        private IdBlocks(long first) {
+            this.next = first;
+        }
+
+        private long reserve(long count) {
+            long first = next;
+            next += count;
+            return first;
+        }
+    }
+
+    /**
+     * {@code COPY} of rows into a PostgreSQL table. The driver is only on the classpath of the prod profile, so its API is
+     * called reflectively.
+     */
+    private static final class CopyIn {
+
+        private final Object copyManager;
+
+        private final Method copyIn;
+
+        private CopyIn(Connection connection) throws SQLException {
+            try {
+                Class<?> pgConnection = Class.forName("org.postgresql.PGConnection");
+                this.copyManager = pgConnection.getMethod("getCopyAPI").invoke(connection.unwrap(pgConnection));
+                this.copyIn = copyManager.getClass().getMethod("copyIn", String.class, Reader.class);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("COPY is not available from the PostgreSQL driver", e);
+            }
+        }
+
+        private void copy(String sql, CharSequence rows) throws SQLException {
+            try {
+                copyIn.invoke(copyManager, sql, new StringReader(rows.toString()));
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof SQLException) {
+                    throw (SQLException) e.getCause();
+                }
+                throw new IllegalStateException("COPY failed", e.getCause());
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("COPY is not available from the PostgreSQL driver", e);
+            }
+        }
+    }
+
+    /**
+     * Batch of rows for one table, committed every {@code batch-size} rows: copied as CSV on Postgres, inserted otherwise.
+     */
+    private final class Batch implements AutoCloseable {
+
+        private final Connection connection;
+
+        private final Map<String, Long> rows;
+
+        private final String table;
+
+        private final String sql;
+
+        private final CopyIn copyIn;
+
+        private final StringBuilder csv;
+
+        private final PreparedStatement statement;
+
+        private final long start = System.nanoTime();
+
+        private long inserted;
+
+        private int pending;
+
+        private Batch(Connection connection, Map<String, Long> rows, String table, String... columns) throws SQLException {
+            this.connection = connection;
+            this.rows = rows;
+            this.table = table;
+            String columnList = table + " (" + String.join(", ", columns) + ")";
+            if (isPostgres(connection)) {
+                this.sql = "copy " + columnList + " from stdin with (format csv)";
+                this.copyIn = new CopyIn(connection);
+                this.csv = new StringBuilder();
+                this.statement = null;
+            } else {
+                this.sql = "insert into " + columnList + " values (" + "?, ".repeat(columns.length - 1) + "?)";
+                this.copyIn = null;
+                this.csv = null;
+                this.statement = connection.prepareStatement(sql);
+            }
+        }
+
+        private void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                Object value = values[i] instanceof Instant ? LocalDateTime.ofInstant((Instant) values[i], ZoneOffset.UTC) : values[i];
+                if (copyIn == null) {
+                    statement.setObject(i + 1, value);
+                } else {
+                    if (i > 0) {
+                        csv.append(',');
+                    }
+                    // Strings are always quoted, as an empty unquoted field is a null
+                    if (value instanceof String) {
+                        csv.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+                    } else if (value != null) {
+                        csv.append(value);
+                    }
+                }
+            }
+            if (copyIn == null) {
+                statement.addBatch();
+            } else {
+                csv.append('\n');
+            }
+            inserted++;
+            if (++pending == properties.getBatchSize()) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (copyIn == null) {
+                statement.executeBatch();
+            } else {
+                copyIn.copy(sql, csv);
+                csv.setLength(0);
+            }
+            connection.commit();
+            pending = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try {
+                if (pending > 0) {
+                    flush();
+                }
+            } finally {
+                if (statement != null) {
+                    statement.close();
+                }
+            }
+            rows.merge(table, inserted, Long::sum);
+            log.info("Inserted {} rows into {} in {} ms", inserted, table, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+}
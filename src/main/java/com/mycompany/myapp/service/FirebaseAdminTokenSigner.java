@@ -0,0 +1,15 @@
+package com.mycompany.myapp.service;
+
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.auth.FirebaseAuthException;
+
+/**
+ * Signs custom tokens with the service account of the default Firebase app.
+ */
+public class FirebaseAdminTokenSigner implements FirebaseTokenSigner {
+
+    @Override
+    public String createCustomToken(String uid) throws FirebaseAuthException {
+        return FirebaseAuth.getInstance().createCustomToken(uid);
+    }
+}
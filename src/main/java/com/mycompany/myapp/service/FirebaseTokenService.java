@@ -0,0 +1,142 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service handing out Firebase custom tokens.
+ * <p>
+ * Signing is done on a dedicated, bounded executor rather than on the request threads, and a token is handed out again
+ * to the same login for as long as it has at least {@link #MIN_REMAINING_LIFETIME} left. Concurrent requests for the
+ * same login share a single signing.
+ */
+@Service
+public class FirebaseTokenService {
+
+    public static final String EXECUTOR_BEAN_NAME = "firebaseTokenExecutor";
+
+    /**
+     * Lifetime of a Firebase custom token, fixed by Firebase.
+     */
+    public static final Duration TOKEN_LIFETIME = Duration.ofHours(1);
+
+    static final Duration MIN_REMAINING_LIFETIME = Duration.ofMinutes(10);
+
+    static final int MAX_CACHED_TOKENS = 10_000;
+
+    private final Logger log = LoggerFactory.getLogger(FirebaseTokenService.class);
+
+    private final FirebaseTokenSigner signer;
+
+    private final Executor executor;
+
+    private final ApplicationProperties.Firebase properties;
+
+    private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+
+    public FirebaseTokenService(
+        FirebaseTokenSigner signer,
+        @Qualifier(EXECUTOR_BEAN_NAME) Executor executor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.signer = signer;
+        this.executor = executor;
+        this.properties = applicationProperties.getFirebase();
+    }
+
+    /**
+     * Get a custom token for the given login, signing a new one only if no reusable token is cached.
+     *
+     * @param login the login of the user.
+     * @return the token, once signed.
+     */
+    public CompletableFuture<String> getToken(String login) {
+        long now = System.currentTimeMillis();
+        if (tokens.size() >= MAX_CACHED_TOKENS && !tokens.containsKey(login)) {
+            evict(now);
+        }
+        return tokens.compute(login, (key, cached) -> cached != null && cached.isReusableAt(now) ? cached : sign(key, now)).token;
+    }
+
+    /**
+     * Get the token to return along with a login or a registration, waiting at most for the configured inline timeout.
+     *
+     * @param login the login of the user.
+     * @return the token, or empty if inline tokens are disabled or the token could not be signed in time.
+     */
+    public Optional<String> getInlineToken(String login) {
+        if (!properties.isInlineToken()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(getToken(login).get(properties.getInlineTimeout().toMillis(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Firebase token for '{}' not available in time: {}", login, e.toString());
+        }
+        return Optional.empty();
+    }
+
+    private CachedToken sign(String login, long now) {
+        log.debug("Signing Firebase token for '{}'", login);
+        CompletableFuture<String> token;
+        try {
+            token =
+                CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            return signer.createCustomToken(login);
+                        } catch (Exception e) {
+                            throw new CompletionException(e);
+                        }
+                    },
+                    executor
+                );
+        } catch (RejectedExecutionException e) {
+            // The executor is saturated: fail this token only, it is not reused and the next call tries again
+            token = CompletableFuture.failedFuture(e);
+        }
+        return new CachedToken(token, now + TOKEN_LIFETIME.minus(MIN_REMAINING_LIFETIME).toMillis());
+    }
+
+    private void evict(long now) {
+        tokens.values().removeIf(cached -> !cached.isReusableAt(now));
+        Iterator<String> logins = tokens.keySet().iterator();
+        while (tokens.size() >= MAX_CACHED_TOKENS && logins.hasNext()) {
+            logins.next();
+            logins.remove();
+        }
+    }
+
+    private static final class CachedToken {
+
+        private final CompletableFuture<String> token;
+
+        private final long reusableUntil;
+
+        private CachedToken(CompletableFuture<String> token, long reusableUntil) {
+            this.token = token;
+            this.reusableUntil = reusableUntil;
+        }
+
+        private boolean isReusableAt(long now) {
+            return now < reusableUntil && !token.isCompletedExceptionally();
+        }
+    }
+}
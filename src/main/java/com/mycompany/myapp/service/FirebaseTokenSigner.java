@@ -0,0 +1,18 @@
+package com.mycompany.myapp.service;
+
+import com.google.firebase.auth.FirebaseAuthException;
+
+/**
+ * Signs Firebase custom tokens.
+ */
+@FunctionalInterface
+public interface FirebaseTokenSigner {
+    /**
+     * Create a custom token for the given user.
+     *
+     * @param uid the Firebase user id, which is the login.
+     * @return the signed token, valid for {@link FirebaseTokenService#TOKEN_LIFETIME}.
+     * @throws FirebaseAuthException if the token could not be created.
+     */
+    String createCustomToken(String uid) throws FirebaseAuthException;
+}
@@ -0,0 +1,42 @@
+package com.mycompany.myapp.service;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import java.security.KeyPair;
+import java.time.Instant;
+import java.util.Date;
+
+/**
+ * Signs custom tokens shaped like the Firebase ones with a key pair generated at startup.
+ * <p>
+ * Firebase rejects these tokens: this signer only exists so that the token path can run offline, in tests and in
+ * development without service account credentials.
+ */
+public class LocalFirebaseTokenSigner implements FirebaseTokenSigner {
+
+    static final String AUDIENCE = "https://identitytoolkit.googleapis.com/google.identity.identitytoolkit.v1.IdentityToolkit";
+
+    static final String SERVICE_ACCOUNT = "local-signer@localhost";
+
+    private final KeyPair keyPair = Keys.keyPairFor(SignatureAlgorithm.RS256);
+
+    @Override
+    public String createCustomToken(String uid) {
+        Instant now = Instant.now();
+        return Jwts
+            .builder()
+            .setIssuer(SERVICE_ACCOUNT)
+            .setSubject(SERVICE_ACCOUNT)
+            .setAudience(AUDIENCE)
+            .setIssuedAt(Date.from(now))
+            .setExpiration(Date.from(now.plus(FirebaseTokenService.TOKEN_LIFETIME)))
+            .claim("uid", uid)
+            .signWith(keyPair.getPrivate(), SignatureAlgorithm.RS256)
+            .compact();
+    }
+
+    public KeyPair getKeyPair() {
+        return keyPair;
+    }
+}
@@ -0,0 +1,256 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Request;
+import com.mycompany.myapp.dto.GetRequestDto;
+import com.mycompany.myapp.repository.RequestRepository;
+import com.mycompany.myapp.service.mapper.RequestMapper;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Service pushing the requests received on the enabled meets of a user over server-sent events.
+ * <p>
+ * The number of received requests of each owner is read once from the database, then kept up to date in memory
+ * from the request and meet changes of this instance. Changes are applied after their transaction commits, and pushed
+ * from the task executor so that a slow client never holds a request thread. As other instances don't report their
+ * changes here, a count is read again from the database once it is older than
+ * {@code application.received-requests.count-time-to-live}.
+ * <p>
+ * Streams receive a {@value #COUNT_EVENT} event with the current count when they open and whenever it changes, a
+ * {@value #REQUEST_EVENT} event for each new request, and a comment every
+ * {@code application.received-requests.heartbeat}.
+ */
+@Service
+public class ReceivedRequestService {
+
+    public static final String COUNT_EVENT = "count";
+
+    public static final String REQUEST_EVENT = "request";
+
+    private final Logger log = LoggerFactory.getLogger(ReceivedRequestService.class);
+
+    private final RequestRepository requestRepository;
+
+    private final Executor executor;
+
+    private final ApplicationProperties.ReceivedRequests properties;
+
+    private final ConcurrentMap<Long, Count> counts = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Long, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public ReceivedRequestService(
+        RequestRepository requestRepository,
+        @Qualifier("taskExecutor") Executor executor,
+        ApplicationProperties applicationProperties
+    ) {
+        this.requestRepository = requestRepository;
+        this.executor = executor;
+        this.properties = applicationProperties.getReceivedRequests();
+    }
+
+    /**
+     * Get the number of requests received on the enabled meets of a user.
+     *
+     * @param ownerId the id of the meet owner.
+     * @return the number of requests.
+     */
+    public long getCount(Long ownerId) {
+        Count count = counts.get(ownerId);
+        if (count != null && !count.isExpired()) {
+            return count.value;
+        }
+        long value = requestRepository.countReceivedByOwnerId(ownerId);
+        // Only trust what the current transaction read once it committed: it may have seen its own uncommitted changes
+        afterCommit(() -> counts.compute(ownerId, (id, current) -> current == null || current.isExpired() ? newCount(value) : current));
+        return value;
+    }
+
+    /**
+     * Open a stream of the requests received by a user.
+     *
+     * @param ownerId the id of the meet owner.
+     * @return the stream.
+     */
+    public SseEmitter subscribe(Long ownerId) {
+        SseEmitter emitter = new SseEmitter(properties.getTimeout().toMillis());
+        register(ownerId, emitter);
+        send(ownerId, emitter, SseEmitter.event().name(COUNT_EVENT).data(getCount(ownerId)));
+        return emitter;
+    }
+
+    void register(Long ownerId, SseEmitter emitter) {
+        emitter.onCompletion(() -> unregister(ownerId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unregister(ownerId, emitter));
+        List<SseEmitter> ownerEmitters = emitters.computeIfAbsent(ownerId, id -> new CopyOnWriteArrayList<>());
+        ownerEmitters.add(emitter);
+        while (ownerEmitters.size() > properties.getMaxStreamsPerUser()) {
+            SseEmitter oldest = ownerEmitters.remove(0);
+            log.debug("Closing the oldest received requests stream of User : {}", ownerId);
+            oldest.complete();
+        }
+    }
+
+    private void unregister(Long ownerId, SseEmitter emitter) {
+        emitters.computeIfPresent(ownerId, (id, ownerEmitters) -> {
+            ownerEmitters.remove(emitter);
+            return ownerEmitters.isEmpty() ? null : ownerEmitters;
+        });
+    }
+
+    /**
+     * Record a new request, in the transaction creating it.
+     *
+     * @param request the new request.
+     */
+    public void requestCreated(Request request) {
+        Long ownerId = request.getMeet().getUser().getId();
+        GetRequestDto dto = RequestMapper.fromEntity(request);
+        afterCommit(() ->
+            executor.execute(() -> {
+                Count count = counts.computeIfPresent(ownerId, (id, current) -> current.add(1));
+                publish(ownerId, SseEmitter.event().name(REQUEST_EVENT).data(dto, MediaType.APPLICATION_JSON));
+                if (count != null) {
+                    publish(ownerId, SseEmitter.event().name(COUNT_EVENT).data(count.value));
+                }
+            })
+        );
+    }
+
+    /**
+     * Record the deletion of a request, in the transaction deleting it.
+     *
+     * @param request the deleted request.
+     */
+    public void requestDeleted(Request request) {
+        if (!Boolean.TRUE.equals(request.getMeet().getIsEnabled())) {
+            return;
+        }
+        Long ownerId = request.getMeet().getUser().getId();
+        afterCommit(() ->
+            executor.execute(() -> {
+                Count count = counts.computeIfPresent(ownerId, (id, current) -> current.add(-1));
+                if (count != null) {
+                    publish(ownerId, SseEmitter.event().name(COUNT_EVENT).data(count.value));
+                }
+            })
+        );
+    }
+
+    /**
+     * Record that meets of a user were enabled, disabled or deleted, in the transaction changing them.
+     *
+     * @param ownerId the id of the meet owner.
+     */
+    public void meetsChanged(Long ownerId) {
+        afterCommit(() ->
+            executor.execute(() -> {
+                counts.remove(ownerId);
+                if (emitters.containsKey(ownerId)) {
+                    publishCount(ownerId);
+                }
+            })
+        );
+    }
+
+    /**
+     * Keep the open streams alive, and refresh the counts of their owners once expired.
+     * <p>
+     * Only hands the work to the task executor, so that neither the count queries nor a slow client hold the scheduler
+     * threads shared with the other scheduled tasks.
+     */
+    @Scheduled(fixedDelayString = "${application.received-requests.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Long ownerId : emitters.keySet()) {
+            try {
+                executor.execute(() -> {
+                    Count count = counts.get(ownerId);
+                    if (count == null || count.isExpired()) {
+                        publishCount(ownerId);
+                    } else {
+                        publish(ownerId, SseEmitter.event().comment("heartbeat"));
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                log.debug("Skipping the received requests heartbeat of User {} : {}", ownerId, e.getMessage());
+            }
+        }
+    }
+
+    private void publishCount(Long ownerId) {
+        long value = requestRepository.countReceivedByOwnerId(ownerId);
+        counts.put(ownerId, newCount(value));
+        publish(ownerId, SseEmitter.event().name(COUNT_EVENT).data(value));
+    }
+
+    private void publish(Long ownerId, SseEmitter.SseEventBuilder event) {
+        List<SseEmitter> ownerEmitters = emitters.get(ownerId);
+        if (ownerEmitters != null) {
+            ownerEmitters.forEach(emitter -> send(ownerId, emitter, event));
+        }
+    }
+
+    private void send(Long ownerId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping received requests stream of User {} : {}", ownerId, e.getMessage());
+            unregister(ownerId, emitter);
+        }
+    }
+
+    private Count newCount(long value) {
+        return new Count(value, System.nanoTime() + properties.getCountTimeToLive().toNanos());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            }
+        );
+    }
+
+    private static final class Count {
+
+        private final long value;
+
+        private final long expiresAt;
+
+        private Count(long value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private Count add(long delta) {
+            return new Count(Math.max(0, value + delta), expiresAt);
+        }
+
+        private boolean isExpired() {
+            return System.nanoTime() - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.dto.GetTagDto;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.util.DigestUtils;
+
+/**
+ * Immutable snapshot of all the tags, ordered by id.
+ * <p>
+ * The version is a digest of the content, so two snapshots of the same tags have the same version, whichever instance
+ * built them.
+ */
+public final class TagCatalog {
+
+    private final List<GetTagDto> tags;
+
+    private final Map<Long, String> titles;
+
+    private final String version;
+
+    TagCatalog(Map<Long, String> titles) {
+        this.titles = Map.copyOf(titles);
+        this.tags = titles
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByKey())
+            .map(entry -> new GetTagDto(entry.getKey(), entry.getValue()))
+            .collect(Collectors.toUnmodifiableList());
+        StringBuilder content = new StringBuilder();
+        tags.forEach(tag -> content.append(tag.getId()).append('\t').append(tag.getTitle()).append('\n'));
+        this.version = DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get all the tags.
+     *
+     * @return the tags, ordered by id.
+     */
+    public List<GetTagDto> getTags() {
+        return tags;
+    }
+
+    /**
+     * Get the title of a tag.
+     *
+     * @param id the id of the tag.
+     * @return the title, or null if there is no such tag.
+     */
+    public String getTitle(Long id) {
+        return titles.get(id);
+    }
+
+    /**
+     * Get the titles of tags, skipping unknown ids.
+     *
+     * @param ids the ids of the tags.
+     * @return the titles, in alphabetical order.
+     */
+    public List<String> getTitles(Collection<Long> ids) {
+        return ids.stream().map(titles::get).filter(Objects::nonNull).sorted(Comparator.naturalOrder()).collect(Collectors.toList());
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    /**
+     * Get the strong entity tag of this snapshot.
+     *
+     * @return the quoted version.
+     */
+    public String getETag() {
+        return '"' + version + '"';
+    }
+}
@@ -0,0 +1,131 @@
+package com.mycompany.myapp.service;
+
+import com.mycompany.myapp.domain.Tag;
+import com.mycompany.myapp.repository.TagRepository;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service holding the {@link TagCatalog} in memory.
+ * <p>
+ * The catalog is read from the database on first use, then replaced as a whole whenever a tag is created, updated or
+ * deleted: readers always see a complete snapshot, never a catalog being changed. The current snapshot is dropped
+ * once the transaction changing a tag completes, and the next reader builds the new one. Meanwhile, the changing
+ * transaction reads its own uncommitted tags from the database without sharing them. Other nodes drop their catalog
+ * through the {@link CacheInvalidationBus}. The catalog is loaded in a read-write transaction, which goes to the
+ * primary: a read replica may not have replayed the last tag change yet, and its catalog would be kept until the next
+ * one.
+ */
+@Service
+public class TagCatalogService {
+
+    private static final String CHANGED_RESOURCE = TagCatalogService.class.getName() + ".changed";
+
+    static final String CATALOG_REGION = TagCatalog.class.getName();
+
+    private final Logger log = LoggerFactory.getLogger(TagCatalogService.class);
+
+    private final TagRepository tagRepository;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    private final TransactionTemplate primaryTransaction;
+
+    private final Object lock = new Object();
+
+    private volatile TagCatalog catalog;
+
+    private long generation;
+
+    public TagCatalogService(
+        TagRepository tagRepository,
+        CacheInvalidationBus cacheInvalidationBus,
+        PlatformTransactionManager transactionManager
+    ) {
+        this.tagRepository = tagRepository;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.primaryTransaction = new TransactionTemplate(transactionManager);
+        this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        cacheInvalidationBus.onRegionEviction(CATALOG_REGION, this::invalidate);
+    }
+
+    /**
+     * Get the current tag catalog.
+     *
+     * @return the catalog.
+     */
+    public TagCatalog getCatalog() {
+        if (TransactionSynchronizationManager.hasResource(CHANGED_RESOURCE)) {
+            return load();
+        }
+        TagCatalog current = catalog;
+        if (current != null) {
+            return current;
+        }
+        long loadedGeneration;
+        synchronized (lock) {
+            loadedGeneration = generation;
+        }
+        TagCatalog loaded = TransactionSynchronizationManager.isActualTransactionActive() &&
+            !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            ? load()
+            : primaryTransaction.execute(status -> load());
+        synchronized (lock) {
+            // A tag changed while loading: hand out what was read, but don't keep it
+            if (generation == loadedGeneration && catalog == null) {
+                catalog = loaded;
+                log.debug("Loaded tag catalog version {}", loaded.getVersion());
+            }
+            return catalog != null ? catalog : loaded;
+        }
+    }
+
+    /**
+     * Record that tags were created, updated or deleted in the current transaction.
+     */
+    public void tagsChanged() {
+        cacheInvalidationBus.publishRegionEviction(CATALOG_REGION);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(CHANGED_RESOURCE)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(CHANGED_RESOURCE, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(
+            new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CHANGED_RESOURCE);
+                    if (status == STATUS_COMMITTED) {
+                        invalidate();
+                    }
+                }
+            }
+        );
+    }
+
+    /**
+     * Drop the current catalog, for the next reader to load it again.
+     */
+    public void invalidate() {
+        synchronized (lock) {
+            generation++;
+            catalog = null;
+        }
+    }
+
+    private TagCatalog load() {
+        Map<Long, String> titles = tagRepository.findAll().stream().collect(Collectors.toMap(Tag::getId, Tag::getTitle));
+        return new TagCatalog(titles);
+    }
+}
@@ -0,0 +1,12 @@
+package com.mycompany.myapp.service;
+
+import java.util.Collection;
+
+public class TagNotFoundException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TagNotFoundException(Collection<Long> tagIds) {
+        super("Tags not found: " + tagIds);
+    }
+}
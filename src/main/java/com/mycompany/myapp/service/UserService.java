@@ -41,16 +41,28 @@ public class UserService {
 
     private final CacheManager cacheManager;
 
+    private final CurrentUserService currentUserService;
+
+    private final ActivityFeedService activityFeedService;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
         AuthorityRepository authorityRepository,
-        CacheManager cacheManager
+        CacheManager cacheManager,
+        CurrentUserService currentUserService,
+        ActivityFeedService activityFeedService,
+        CacheInvalidationBus cacheInvalidationBus
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.currentUserService = currentUserService;
+        this.activityFeedService = activityFeedService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -211,6 +223,7 @@ public class UserService {
                     .filter(Optional::isPresent)
                     .map(Optional::get)
                     .forEach(managedAuthorities::add);
+                activityFeedService.updateOwner(user);
                 this.clearUserCaches(user);
                 log.debug("Changed Information for User: {}", user);
                 return user;
@@ -249,6 +262,7 @@ public class UserService {
                 }
                 user.setLangKey(langKey);
                 user.setImageUrl(imageUrl);
+                activityFeedService.updateOwner(user);
                 this.clearUserCaches(user);
                 log.debug("Changed Information for User: {}", user);
             });
@@ -293,7 +307,7 @@ public class UserService {
 
     @Transactional(readOnly = true)
     public Optional<User> getUserWithAuthorities() {
-        return SecurityUtils.getCurrentUserLogin().flatMap(userRepository::findOneWithAuthoritiesByLogin);
+        return currentUserService.getCurrentUser();
     }
 
     /**
@@ -322,9 +336,12 @@ public class UserService {
     }
 
     private void clearUserCaches(User user) {
+        currentUserService.evict();
         Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE)).evict(user.getLogin());
+        cacheInvalidationBus.publishCacheEviction(UserRepository.USERS_BY_LOGIN_CACHE, user.getLogin());
         if (user.getEmail() != null) {
             Objects.requireNonNull(cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE)).evict(user.getEmail());
+            cacheInvalidationBus.publishCacheEviction(UserRepository.USERS_BY_EMAIL_CACHE, user.getEmail());
         }
     }
 }
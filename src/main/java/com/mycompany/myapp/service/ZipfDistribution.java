@@ -0,0 +1,40 @@
+package com.mycompany.myapp.service;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Zipf distribution over ranks {@code 0} to {@code size - 1}: rank {@code k} is drawn with a probability proportional to
+ * {@code 1 / (k + 1)^exponent}, so that a few ranks are drawn most of the time.
+ */
+final class ZipfDistribution {
+
+    private final double[] cumulativeProbabilities;
+
+    ZipfDistribution(int size, double exponent) {
+        if (size < 1) {
+            throw new IllegalArgumentException("A Zipf distribution needs at least one rank");
+        }
+        cumulativeProbabilities = new double[size];
+        double total = 0;
+        for (int rank = 0; rank < size; rank++) {
+            total += 1 / Math.pow(rank + 1, exponent);
+            cumulativeProbabilities[rank] = total;
+        }
+        for (int rank = 0; rank < size; rank++) {
+            cumulativeProbabilities[rank] /= total;
+        }
+    }
+
+    /**
+     * Draw a rank.
+     *
+     * @param random the source of randomness.
+     * @return the rank, {@code 0} being the most frequent one.
+     */
+    int sample(SplittableRandom random) {
+        int index = Arrays.binarySearch(cumulativeProbabilities, random.nextDouble());
+        int rank = index >= 0 ? index + 1 : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
@@ -1,6 +1,7 @@
 package com.mycompany.myapp.service.mapper;
 
 import com.mycompany.myapp.domain.Activity;
+import com.mycompany.myapp.domain.ActivityFeedEntry;
 import com.mycompany.myapp.dto.GetActivityDto;
 import org.springframework.stereotype.Service;
 
@@ -18,4 +19,16 @@ public class ActivityMapper {
             .imageUrl(activity.getUser().getImageUrl())
             .build();
     }
+
+    public static GetActivityDto fromFeedEntry(ActivityFeedEntry entry) {
+        return GetActivityDto
+            .builder()
+            .id(entry.getId())
+            .userName(entry.getOwnerLogin())
+            .title(entry.getTitle())
+            .description(entry.getDescription())
+            .date(entry.getDate())
+            .imageUrl(entry.getOwnerImageUrl())
+            .build();
+    }
 }
@@ -1,12 +1,12 @@
 package com.mycompany.myapp.web.rest;
 
-import com.google.firebase.auth.FirebaseAuth;
-import com.google.firebase.auth.FirebaseAuthException;
 import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.FirebaseTokenDto;
 import com.mycompany.myapp.dto.GetProfileInfoDto;
 import com.mycompany.myapp.repository.UserRepository;
 import com.mycompany.myapp.security.SecurityUtils;
 import com.mycompany.myapp.security.jwt.JWTFilter;
+import com.mycompany.myapp.service.FirebaseTokenService;
 import com.mycompany.myapp.service.MailService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.dto.AdminUserDTO;
@@ -15,6 +15,7 @@ import com.mycompany.myapp.web.rest.errors.*;
 import com.mycompany.myapp.web.rest.vm.KeyAndPasswordVM;
 import com.mycompany.myapp.web.rest.vm.ManagedUserVM;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import org.apache.commons.lang3.StringUtils;
@@ -47,10 +48,18 @@ public class AccountResource {
 
     private final MailService mailService;
 
-    public AccountResource(UserRepository userRepository, UserService userService, MailService mailService) {
+    private final FirebaseTokenService firebaseTokenService;
+
+    public AccountResource(
+        UserRepository userRepository,
+        UserService userService,
+        MailService mailService,
+        FirebaseTokenService firebaseTokenService
+    ) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.mailService = mailService;
+        this.firebaseTokenService = firebaseTokenService;
     }
 
     /**
@@ -63,14 +72,15 @@ public class AccountResource {
      */
     @PostMapping("/register")
     @ResponseStatus(HttpStatus.CREATED)
-    public ResponseEntity registerAccount(@Valid @RequestBody ManagedUserVM managedUserVM) throws FirebaseAuthException {
+    public ResponseEntity registerAccount(@Valid @RequestBody ManagedUserVM managedUserVM) {
         if (isPasswordLengthInvalid(managedUserVM.getPassword())) {
             throw new InvalidPasswordException();
         }
         User user = userService.registerUser(managedUserVM, managedUserVM.getPassword());
         HttpHeaders httpHeaders = new HttpHeaders();
-        String firebaseToken = FirebaseAuth.getInstance().createCustomToken(managedUserVM.getLogin());
-        httpHeaders.add("FirebaseToken", firebaseToken);
+        firebaseTokenService
+            .getInlineToken(user.getLogin())
+            .ifPresent(firebaseToken -> httpHeaders.add(UserJWTController.FIREBASE_TOKEN_HEADER, firebaseToken));
         return new ResponseEntity<>(httpHeaders, HttpStatus.CREATED);
     }
 
@@ -114,19 +124,43 @@ public class AccountResource {
             .orElseThrow(() -> new AccountResourceException("User could not be found"));
     }
 
+    /**
+     * {@code GET  /account/firebase-token} : get a Firebase custom token for the current user.
+     * <p>
+     * Lets clients fetch the token only when they need it; a token still valid for a while is reused.
+     *
+     * @return the token.
+     * @throws RuntimeException {@code 500 (Internal Server Error)} if the token couldn't be created.
+     */
+    @GetMapping("/account/firebase-token")
+    public CompletableFuture<FirebaseTokenDto> getFirebaseToken() {
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new AccountResourceException("Current user login not found"));
+        return firebaseTokenService.getToken(login).thenApply(token -> FirebaseTokenDto.builder().token(token).build());
+    }
+
+    /**
+     * {@code GET  /account/profile} : get the profile of the current user.
+     * <p>
+     * Supports conditional requests: the profile is versioned by the last modification date of the user.
+     *
+     * @param webRequest the current request.
+     * @return the profile, or status {@code 304 (Not Modified)}.
+     * @throws RuntimeException {@code 500 (Internal Server Error)} if the user couldn't be returned.
+     */
     @GetMapping("/account/profile")
-    public GetProfileInfoDto getProfile() {
-        return userService
-            .getUserWithAuthorities()
-            .map(e ->
-                GetProfileInfoDto
-                    .builder()
-                    .imageUrl(e.getImageUrl())
-                    .fullName(e.getFirstName() + " " + e.getLastName())
-                    .userName(e.getLogin())
-                    .build()
-            )
-            .orElseThrow(() -> new AccountResourceException("User could not be found"));
+    public ResponseEntity<GetProfileInfoDto> getProfile(WebRequest webRequest) {
+        User user = userService.getUserWithAuthorities().orElseThrow(() -> new AccountResourceException("User could not be found"));
+        if (ResourceVersion.of(user.getLastModifiedDate(), user.getId()).isNotModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok(
+            GetProfileInfoDto
+                .builder()
+                .imageUrl(user.getImageUrl())
+                .fullName(user.getFirstName() + " " + user.getLastName())
+                .userName(user.getLogin())
+                .build()
+        );
     }
 
     @PostMapping("/account/profile")
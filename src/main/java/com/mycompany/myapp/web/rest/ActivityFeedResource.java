@@ -0,0 +1,46 @@
+package com.mycompany.myapp.web.rest;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.service.ActivityFeedService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import tech.jhipster.web.util.HeaderUtil;
+
+/**
+ * REST controller for administering the {@link com.mycompany.myapp.domain.ActivityFeedEntry activity feed} read model.
+ */
+@RestController
+@RequestMapping("/api/admin")
+public class ActivityFeedResource {
+
+    private final Logger log = LoggerFactory.getLogger(ActivityFeedResource.class);
+
+    @Value("${jhipster.clientApp.name}")
+    private String applicationName;
+
+    private final ActivityFeedService activityFeedService;
+
+    public ActivityFeedResource(ActivityFeedService activityFeedService) {
+        this.activityFeedService = activityFeedService;
+    }
+
+    /**
+     * {@code POST  /admin/activity-feed/rebuild} : rebuild the activity feed from the activities.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of feed entries written.
+     */
+    @PostMapping("/activity-feed/rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public ResponseEntity<Integer> rebuildActivityFeed() {
+        log.debug("REST request to rebuild the activity feed");
+        int entries = activityFeedService.rebuild();
+        return ResponseEntity
+            .ok()
+            .headers(HeaderUtil.createAlert(applicationName, "activityFeed.rebuilt", String.valueOf(entries)))
+            .body(entries);
+    }
+}
@@ -1,21 +1,35 @@
 package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.*;
+import com.mycompany.myapp.dto.ActivityDetailsProjection;
+import com.mycompany.myapp.dto.ActivityVersionProjection;
 import com.mycompany.myapp.dto.CreateActivityDto;
 import com.mycompany.myapp.dto.GetActivityDetailsDto;
 import com.mycompany.myapp.dto.GetActivityDto;
+import com.mycompany.myapp.dto.GetTagDto;
+import com.mycompany.myapp.repository.ActivityFeedRepository;
 import com.mycompany.myapp.repository.ActivityRepository;
 import com.mycompany.myapp.repository.ActivityTagRepository;
 import com.mycompany.myapp.repository.ParticipantRepository;
 import com.mycompany.myapp.repository.TagRepository;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.ActivityFeedService;
+import com.mycompany.myapp.service.ActivityTagService;
+import com.mycompany.myapp.service.TagCatalogService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.mapper.ActivityMapper;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.CurrentUser;
+import com.mycompany.myapp.web.rest.util.KeysetCursor;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
+import com.mycompany.myapp.web.rest.util.ResourceVersion;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
@@ -25,11 +39,14 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -56,18 +73,34 @@ public class ActivityResource {
 
     private final ActivityTagRepository activityTagRepository;
 
+    private final ActivityFeedRepository activityFeedRepository;
+
     private final UserService userService;
 
+    private final ActivityFeedService activityFeedService;
+
+    private final ActivityTagService activityTagService;
+
+    private final TagCatalogService tagCatalogService;
+
     public ActivityResource(
         ActivityRepository activityRepository,
         UserService userService,
         ParticipantRepository participantRepository,
-        ActivityTagRepository activityTagRepository
+        ActivityTagRepository activityTagRepository,
+        ActivityFeedRepository activityFeedRepository,
+        ActivityFeedService activityFeedService,
+        ActivityTagService activityTagService,
+        TagCatalogService tagCatalogService
     ) {
         this.activityRepository = activityRepository;
         this.userService = userService;
         this.participantRepository = participantRepository;
         this.activityTagRepository = activityTagRepository;
+        this.activityFeedRepository = activityFeedRepository;
+        this.activityFeedService = activityFeedService;
+        this.activityTagService = activityTagService;
+        this.tagCatalogService = tagCatalogService;
     }
 
     /**
@@ -96,20 +129,9 @@ public class ActivityResource {
                 .build()
         );
 
-        activityDto
-            .getTags()
-            .forEach(tag -> {
-                log.debug("Processing tag: {}", tag);
-                activityTagRepository.save(
-                    ActivityTag
-                        .builder()
-                        .activity(result)
-                        .user(user.get())
-                        .tag(Tag.builder().id(tag.getId()).title(tag.getTitle()).build())
-                        .build()
-                );
-                log.debug("Tag saved: {}", tag);
-            });
+        List<Long> tagIds = activityDto.getTags().stream().map(GetTagDto::getId).collect(Collectors.toList());
+        activityTagService.attachTags(result, user.get(), tagIds);
+        activityFeedService.refresh(result.getId());
 
         return ResponseEntity
             .created(new URI("/api/activities/" + result.getId()))
@@ -145,6 +167,7 @@ public class ActivityResource {
         }
 
         Activity result = activityRepository.save(activity);
+        activityFeedService.refresh(result.getId());
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, activity.getId().toString()))
@@ -195,6 +218,7 @@ public class ActivityResource {
                 return existingActivity;
             })
             .map(activityRepository::save);
+        result.ifPresent(updated -> activityFeedService.refresh(updated.getId()));
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -204,63 +228,94 @@ public class ActivityResource {
 
     /**
      * {@code GET  /activities} : get all the activities.
+     * <p>
+     * With {@code cursor=true} (or an {@code after} token), the activities are returned newest first using keyset
+     * pagination: no total count is computed and the next slice is advertised through a {@code Link: rel="next"} header.
      *
      * @param pageable the pagination information.
+     * @param cursor whether to use keyset pagination.
+     * @param after the opaque cursor returned by the previous slice, if any.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of activities in body.
      */
     @GetMapping("/activities")
-    public ResponseEntity<List<GetActivityDto>> getAllActivities(@org.springdoc.api.annotations.ParameterObject Pageable pageable)
-        throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetActivityDto>> getAllActivities(
+        @CurrentUser User user,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAM, required = false, defaultValue = "false") boolean cursor,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) String after
+    ) throws Exception {
         log.debug("REST request to get a page of Activities");
-        Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isEmpty()) {
-            throw new IllegalCallerException("No user is logged in");
+        if (cursor || after != null) {
+            Pageable slice = PageRequest.of(0, pageable.getPageSize());
+            if (after == null) {
+                return keysetResponse(activityFeedRepository.findFirstSliceByOwnerIdNot(user.getId(), slice));
+            }
+            KeysetCursor position = decodeCursor(after);
+            return keysetResponse(
+                activityFeedRepository.findSliceByOwnerIdNotAfter(user.getId(), position.getDate(), position.getId(), slice)
+            );
         }
         Page<GetActivityDto> page;
-        page = activityRepository.findByUserNot(pageable, user.get()).map(ActivityMapper::fromEntity);
+        page = activityFeedRepository.findByOwnerIdNot(user.getId(), pageable).map(ActivityMapper::fromFeedEntry);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code POST  /activities/filter} : get the activities having the given tags.
+     *
+     * @param pageable the pagination information.
+     * @param matchAll whether an activity must have all the given tags, or any of them.
+     * @param tags the tags to filter on; when empty, all the activities are returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of activities in body.
+     */
     @PostMapping("/activities/filter")
     public ResponseEntity<List<GetActivityDto>> getAllActivitiesWithFilter(
+        @CurrentUser User user,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(required = false, defaultValue = "false") boolean matchAll,
         @RequestBody(required = false) List<Tag> tags
     ) throws Exception {
         log.debug("REST request to get a page of Activities");
-        Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isEmpty()) {
-            throw new IllegalCallerException("No user is logged in");
-        }
+        Set<Long> tagIds = tags == null
+            ? Set.of()
+            : tags.stream().map(Tag::getId).filter(Objects::nonNull).collect(Collectors.toCollection(LinkedHashSet::new));
         Page<GetActivityDto> page;
-        if (tags != null && !tags.isEmpty()) {
-            page =
-                new PageImpl<>(
-                    activityTagRepository
-                        .findDistinctByTagInAndUserNot(pageable, tags, user.get())
-                        .map(ActivityTag::getActivity)
-                        .stream()
-                        .distinct()
-                        .map(ActivityMapper::fromEntity)
-                        .collect(Collectors.toList())
-                );
+        if (tagIds.isEmpty()) {
+            page = activityFeedRepository.findByOwnerIdNot(user.getId(), pageable).map(ActivityMapper::fromFeedEntry);
+        } else if (matchAll) {
+            page = activityFeedRepository
+                .findByOwnerIdNotWithAllTags(user.getId(), tagIds, tagIds.size(), pageable)
+                .map(ActivityMapper::fromFeedEntry);
         } else {
-            page = activityRepository.findByUserNot(pageable, user.get()).map(ActivityMapper::fromEntity);
+            page = activityFeedRepository.findByOwnerIdNotWithAnyTag(user.getId(), tagIds, pageable).map(ActivityMapper::fromFeedEntry);
         }
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
     @GetMapping("/activities/own")
-    public ResponseEntity<List<GetActivityDto>> getAllActivitiesByMe(@org.springdoc.api.annotations.ParameterObject Pageable pageable)
-        throws Exception {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetActivityDto>> getAllActivitiesByMe(
+        @CurrentUser User user,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAM, required = false, defaultValue = "false") boolean cursor,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) String after
+    ) throws Exception {
         log.debug("REST request to get a page of Activities");
-        Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isEmpty()) {
-            throw new IllegalCallerException("No user is logged in");
+        if (cursor || after != null) {
+            Pageable slice = PageRequest.of(0, pageable.getPageSize());
+            if (after == null) {
+                return keysetResponse(activityFeedRepository.findFirstSliceByOwnerId(user.getId(), slice));
+            }
+            KeysetCursor position = decodeCursor(after);
+            return keysetResponse(
+                activityFeedRepository.findSliceByOwnerIdAfter(user.getId(), position.getDate(), position.getId(), slice)
+            );
         }
         Page<GetActivityDto> page;
-        page = new PageImpl<>(activityRepository.findByUser(pageable, user.get()).map(ActivityMapper::fromEntity).toList());
+        page = new PageImpl<>(activityFeedRepository.findByOwnerId(user.getId(), pageable).map(ActivityMapper::fromFeedEntry).toList());
 
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -268,25 +323,59 @@ public class ActivityResource {
 
     /**
      * {@code GET  /activities/:id} : get the "id" activity.
+     * <p>
+     * The activity, its owner and the participation figures are read in one projection query; tag ids and participant
+     * logins are read as plain values, without loading any entity, and tag titles come from the tag catalog.
+     * <p>
+     * Before that, a request with an {@code If-None-Match} header is validated against the modification figures of the
+     * activity, its owner and its participants, and answered with {@code 304 (Not Modified)} if nothing changed.
      *
      * @param id the id of the activity to retrieve.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the activity, or with status {@code 404 (Not Found)}.
+     * @param participantLimit the maximum number of participant logins to return, all of them if absent.
+     * @param webRequest the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the activity, or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/activities/{id}")
-    public ResponseEntity<GetActivityDetailsDto> getActivity(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<GetActivityDetailsDto> getActivity(
+        @PathVariable Long id,
+        @RequestParam(required = false) Integer participantLimit,
+        WebRequest webRequest
+    ) {
         log.debug("REST request to get Activity : {}", id);
-        Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isEmpty()) {
-            throw new IllegalCallerException("No user is logged in");
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new IllegalCallerException("No user is logged in"));
+        if (participantLimit != null && participantLimit < 0) {
+            throw new BadRequestAlertException("Invalid participant limit", ENTITY_NAME, "participantlimitinvalid");
         }
-        Optional<Activity> activity = activityRepository.findOneWithEagerRelationships(id);
-        if (activity.isEmpty()) {
+        ActivityVersionProjection version = activityRepository
+            .findVersionById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "id not found"));
+        ResourceVersion resourceVersion = ResourceVersion.ofETag(
+            id,
+            version.getLastModifiedDate(),
+            version.getOwnerLastModifiedDate(),
+            version.getParticipantCount(),
+            version.getParticipantLastModifiedDate(),
+            tagCatalogService.getCatalog().getVersion(),
+            login,
+            participantLimit
+        );
+        if (resourceVersion.isNotModified(webRequest)) {
+            return null;
+        }
+        Optional<ActivityDetailsProjection> details = activityRepository.findDetailsById(id, login);
+        if (details.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "id not found");
         }
-        Activity acti = activity.get();
-        List<User> participants = participantRepository.findAllUsersByActivityId(acti.getId());
-        List<Tag> tags = activityTagRepository.findAllByActivity(acti).stream().map(ActivityTag::getTag).collect(Collectors.toList());
-        Optional<Participant> isParticipant = participantRepository.findByActivityAndUser(acti, user.get());
+        ActivityDetailsProjection acti = details.get();
+        List<String> participants;
+        if (participantLimit == null) {
+            participants = participantRepository.findUserLoginsByActivityId(id, Pageable.unpaged());
+        } else if (participantLimit == 0 || acti.getParticipantCount() == 0) {
+            participants = List.of();
+        } else {
+            participants = participantRepository.findUserLoginsByActivityId(id, PageRequest.of(0, participantLimit));
+        }
         return ResponseEntity
             .ok()
             .body(
@@ -295,12 +384,13 @@ public class ActivityResource {
                     .id(acti.getId())
                     .title(acti.getTitle())
                     .date(acti.getDate())
-                    .isParticipating(isParticipant.isPresent())
+                    .isParticipating(acti.getOwnParticipationCount() > 0)
                     .description(acti.getDescription())
-                    .userName(acti.getUser().getLogin())
-                    .participants(participants.stream().map(User::getLogin).collect(Collectors.toList()))
-                    .tags(tags.stream().map(Tag::getTitle).collect(Collectors.toList()))
-                    .imageUrl(acti.getUser().getImageUrl())
+                    .userName(acti.getUserName())
+                    .participants(participants)
+                    .participantCount(acti.getParticipantCount())
+                    .tags(tagCatalogService.getCatalog().getTitles(activityTagRepository.findTagIdsByActivityId(id)))
+                    .imageUrl(acti.getImageUrl())
                     .build()
             );
     }
@@ -315,9 +405,27 @@ public class ActivityResource {
     public ResponseEntity<Void> deleteActivity(@PathVariable Long id) {
         log.debug("REST request to delete Activity : {}", id);
         activityRepository.deleteById(id);
+        activityFeedService.remove(id);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    private KeysetCursor decodeCursor(String after) {
+        try {
+            return KeysetCursor.decode(after);
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestAlertException("Invalid cursor", ENTITY_NAME, "cursorinvalid");
+        }
+    }
+
+    private ResponseEntity<List<GetActivityDto>> keysetResponse(Slice<ActivityFeedEntry> slice) {
+        HttpHeaders headers = KeysetPaginationUtil.generateKeysetHttpHeaders(
+            ServletUriComponentsBuilder.fromCurrentRequest(),
+            slice,
+            entry -> new KeysetCursor(entry.getDate(), entry.getId())
+        );
+        return ResponseEntity.ok().headers(headers).body(slice.map(ActivityMapper::fromFeedEntry).getContent());
+    }
 }
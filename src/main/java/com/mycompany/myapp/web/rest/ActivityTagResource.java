@@ -141,6 +141,7 @@ public class ActivityTagResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of activityTags in body.
      */
     @GetMapping("/activity-tags")
+    @Transactional(readOnly = true)
     public List<ActivityTag> getAllActivityTags() {
         log.debug("REST request to get all ActivityTags");
         return activityTagRepository.findAll();
@@ -153,6 +154,7 @@ public class ActivityTagResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the activityTag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/activity-tags/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<ActivityTag> getActivityTag(@PathVariable Long id) {
         log.debug("REST request to get ActivityTag : {}", id);
         Optional<ActivityTag> activityTag = activityTagRepository.findById(id);
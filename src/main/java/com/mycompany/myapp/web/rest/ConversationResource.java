@@ -3,24 +3,31 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Conversation;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.dto.CreateConversationDto;
+import com.mycompany.myapp.dto.CreateConversationMessagesDto;
+import com.mycompany.myapp.dto.DirectConversationDto;
 import com.mycompany.myapp.dto.GetConversationDto;
+import com.mycompany.myapp.dto.GetConversationMessageDto;
 import com.mycompany.myapp.dto.GetParticipantDto;
 import com.mycompany.myapp.repository.ConversationRepository;
+import com.mycompany.myapp.service.ConversationMessageService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.CurrentUser;
+import com.mycompany.myapp.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -43,22 +50,31 @@ public class ConversationResource {
 
     private static final String ENTITY_NAME = "conversation";
 
+    private static final int MAX_MESSAGES_PAGE_SIZE = 100;
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
     private final ConversationRepository conversationRepository;
     private final UserService userService;
+    private final ConversationMessageService conversationMessageService;
 
-    public ConversationResource(ConversationRepository conversationRepository, UserService userService) {
+    public ConversationResource(
+        ConversationRepository conversationRepository,
+        UserService userService,
+        ConversationMessageService conversationMessageService
+    ) {
         this.conversationRepository = conversationRepository;
         this.userService = userService;
+        this.conversationMessageService = conversationMessageService;
     }
 
     /**
      * {@code POST  /conversations} : Create a new conversation.
      *
      * @param dto the conversation to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new conversation, or with status {@code 400 (Bad Request)} if the conversation has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} if the conversation was created, with status {@code 200 (OK)} if it already existed,
+     * or with status {@code 400 (Bad Request)} if the other user doesn't exist or is the current user.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/conversations")
@@ -72,10 +88,13 @@ public class ConversationResource {
         if (otherUser.isEmpty()) {
             throw new BadRequestAlertException("invalid userName", ENTITY_NAME, "userName doesnt exist");
         }
-        if (conversationRepository.findByBothUsers(otherUser.get(), user.get()).isPresent()) {
+        if (otherUser.get().getId().equals(user.get().getId())) {
+            throw new BadRequestAlertException("Cannot start a conversation with yourself", ENTITY_NAME, "sameuser");
+        }
+        DirectConversationDto result = conversationRepository.findOrCreateDirectConversation(user.get(), otherUser.get());
+        if (!result.isCreated()) {
             return ResponseEntity.ok().build();
         }
-        Conversation result = conversationRepository.save(Conversation.builder().users(Set.of(user.get(), otherUser.get())).build());
         return ResponseEntity.created(new URI("/api/conversations/" + result.getId())).build();
     }
 
@@ -162,6 +181,7 @@ public class ConversationResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of conversations in body.
      */
     @GetMapping("/conversations")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<Conversation>> getAllConversations(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -177,29 +197,100 @@ public class ConversationResource {
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /conversations/users} : get the inbox of the current user, newest conversations first.
+     * <p>
+     * With {@code cursor=true} (or an {@code after} id), keyset pagination is used: no total count is computed and the
+     * next slice is advertised through a {@code Link: rel="next"} header.
+     *
+     * @param user the current user.
+     * @param pageable the pagination information.
+     * @param cursor whether to use keyset pagination.
+     * @param after the id of the last conversation of the previous slice, if any.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the conversations with their other user in body.
+     */
     @GetMapping("/conversations/users")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<GetConversationDto>> getAllUsersWithConversations(
+        @CurrentUser User user,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        @RequestParam(required = false, defaultValue = "false") boolean eagerload
+        @RequestParam(name = KeysetPaginationUtil.CURSOR_PARAM, required = false, defaultValue = "false") boolean cursor,
+        @RequestParam(name = KeysetPaginationUtil.AFTER_PARAM, required = false) Long after
     ) {
         log.debug("REST request to get a page of Conversations");
-        Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isEmpty()) {
-            throw new IllegalCallerException("No user is logged in");
+        if (cursor || after != null) {
+            Pageable slice = PageRequest.of(0, pageable.getPageSize());
+            Slice<GetConversationDto> result = after == null
+                ? conversationRepository.findFirstInboxSliceByUserId(user.getId(), slice)
+                : conversationRepository.findInboxSliceByUserIdAfter(user.getId(), after, slice);
+            HttpHeaders headers = KeysetPaginationUtil.generateIdKeysetHttpHeaders(
+                ServletUriComponentsBuilder.fromCurrentRequest(),
+                result,
+                GetConversationDto::getId
+            );
+            return ResponseEntity.ok().headers(headers).body(result.getContent());
         }
-        Page<GetConversationDto> page;
-        page =
-            conversationRepository
-                .findAllByUsersContains(pageable, user.get())
-                .map(e -> {
-                    User other = findOtherUser(e.getUsers(), user.get());
-                    return GetConversationDto.builder().id(e.getId()).userName(other.getLogin()).imageUrl(other.getImageUrl()).build();
-                });
-
+        Page<GetConversationDto> page = conversationRepository.findInboxByUserId(user.getId(), pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code POST  /conversations/:id/messages} : Append messages to a conversation of the current user.
+     * <p>
+     * All the messages of the request are inserted in one JDBC batch.
+     *
+     * @param user the current user.
+     * @param id the id of the conversation.
+     * @param dto the contents of the messages, in order.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new messages,
+     * or with status {@code 400 (Bad Request)} if the conversation doesn't exist or the current user isn't part of it.
+     */
+    @PostMapping("/conversations/{id}/messages")
+    public ResponseEntity<List<GetConversationMessageDto>> createMessages(
+        @CurrentUser User user,
+        @PathVariable Long id,
+        @Valid @RequestBody CreateConversationMessagesDto dto
+    ) {
+        log.debug("REST request to append {} messages to Conversation : {}", dto.getMessages().size(), id);
+        checkMember(id, user);
+        return ResponseEntity.status(HttpStatus.CREATED).body(conversationMessageService.append(id, user, dto.getMessages()));
+    }
+
+    /**
+     * {@code GET  /conversations/:id/messages} : get messages of a conversation of the current user, oldest first.
+     * <p>
+     * Without {@code before} nor {@code after}, the latest messages are returned. {@code before} pages back through the
+     * history from the oldest message already read, {@code after} fetches the messages appended since the newest one.
+     *
+     * @param user the current user.
+     * @param id the id of the conversation.
+     * @param before only return messages older than this message {@code seq}.
+     * @param after only return messages newer than this message {@code seq}.
+     * @param size the maximum number of messages.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the messages in body,
+     * or with status {@code 400 (Bad Request)} if the conversation doesn't exist or the current user isn't part of it.
+     */
+    @GetMapping("/conversations/{id}/messages")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetConversationMessageDto>> getMessages(
+        @CurrentUser User user,
+        @PathVariable Long id,
+        @RequestParam(required = false) Long before,
+        @RequestParam(required = false) Long after,
+        @RequestParam(required = false, defaultValue = "20") int size
+    ) {
+        log.debug("REST request to get messages of Conversation : {}", id);
+        if (before != null && after != null) {
+            throw new BadRequestAlertException("Only one of before and after can be given", ENTITY_NAME, "cursorinvalid");
+        }
+        if (size < 1 || size > MAX_MESSAGES_PAGE_SIZE) {
+            throw new BadRequestAlertException("Invalid size", ENTITY_NAME, "sizeinvalid");
+        }
+        checkMember(id, user);
+        return ResponseEntity.ok().body(conversationMessageService.getMessages(id, before, after, size));
+    }
+
     /**
      * {@code GET  /conversations/:id} : get the "id" conversation.
      *
@@ -207,6 +298,7 @@ public class ConversationResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the conversation, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/conversations/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Conversation> getConversation(@PathVariable Long id) {
         log.debug("REST request to get Conversation : {}", id);
         Optional<Conversation> conversation = conversationRepository.findOneWithEagerRelationships(id);
@@ -222,6 +314,7 @@ public class ConversationResource {
     @DeleteMapping("/conversations/{id}")
     public ResponseEntity<Void> deleteConversation(@PathVariable Long id) {
         log.debug("REST request to delete Conversation : {}", id);
+        conversationMessageService.deleteAll(id);
         conversationRepository.deleteById(id);
         return ResponseEntity
             .noContent()
@@ -229,17 +322,9 @@ public class ConversationResource {
             .build();
     }
 
-    private User findOtherUser(Set<User> users, User user) {
-        if (users == null || user == null) {
-            return null;
+    private void checkMember(Long conversationId, User user) {
+        if (!conversationMessageService.isMember(conversationId, user)) {
+            throw new BadRequestAlertException("Conversation doesnt exist", ENTITY_NAME, "idnotfound");
         }
-
-        for (User otherUser : users) {
-            if (!otherUser.equals(user)) {
-                return otherUser;
-            }
-        }
-
-        return null; // Return null if no other user is found
     }
 }
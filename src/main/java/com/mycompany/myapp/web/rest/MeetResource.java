@@ -3,30 +3,35 @@ package com.mycompany.myapp.web.rest;
 import com.mycompany.myapp.domain.Meet;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.dto.CreateMeetDto;
+import com.mycompany.myapp.dto.EnabledMeetProjection;
 import com.mycompany.myapp.dto.GetMeetDto;
 import com.mycompany.myapp.dto.MeetBaseDto;
 import com.mycompany.myapp.repository.MeetRepository;
-import com.mycompany.myapp.repository.RequestRepository;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.CacheInvalidationBus;
+import com.mycompany.myapp.service.ReceivedRequestService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.mapper.MeetMapper;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
+import com.mycompany.myapp.web.rest.util.ResourceVersion;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -48,14 +53,23 @@ public class MeetResource {
     private String applicationName;
 
     private final MeetRepository meetRepository;
-    private final RequestRepository requestRepository;
 
     private final UserService userService;
 
-    public MeetResource(MeetRepository meetRepository, UserService userService, RequestRepository requestRepository) {
+    private final ReceivedRequestService receivedRequestService;
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public MeetResource(
+        MeetRepository meetRepository,
+        UserService userService,
+        ReceivedRequestService receivedRequestService,
+        CacheInvalidationBus cacheInvalidationBus
+    ) {
         this.meetRepository = meetRepository;
         this.userService = userService;
-        this.requestRepository = requestRepository;
+        this.receivedRequestService = receivedRequestService;
+        this.cacheInvalidationBus = cacheInvalidationBus;
     }
 
     /**
@@ -73,11 +87,40 @@ public class MeetResource {
             throw new IllegalCallerException("No user is logged in");
         }
 
-        if (meetRepository.findByUserAndIsEnabledTrue(user.get()).size() > 0) {
-            throw new BadRequestAlertException("Only one meet can be active at all times", ENTITY_NAME, "entityExists");
+        Long id = meetRepository
+            .insertEnabledMeet(user.get(), meet.getDescription())
+            .orElseThrow(() -> new BadRequestAlertException("Only one meet can be active at all times", ENTITY_NAME, "entityExists"));
+        cacheInvalidationBus.publishEntityEviction(Meet.class);
+
+        Meet result = Meet.builder().id(id).description(meet.getDescription()).user(user.get()).isEnabled(true).build();
+        return ResponseEntity
+            .created(new URI("/api/meets/" + result.getId()))
+            .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
+            .body(result);
+    }
+
+    /**
+     * {@code POST  /meets/replace} : Disable the enabled meet of the current user, if any, and create a new enabled meet.
+     *
+     * @param meet the meet to create.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new meet, or with status {@code 400 (Bad Request)} if a concurrent create won.
+     * @throws URISyntaxException if the Location URI syntax is incorrect.
+     */
+    @PostMapping("/meets/replace")
+    public ResponseEntity<Meet> replaceEnabledMeet(@Valid @RequestBody CreateMeetDto meet) throws URISyntaxException {
+        log.debug("REST request to replace the enabled Meet : {}", meet);
+        Optional<User> user = userService.getUserWithAuthorities();
+        if (user.isEmpty()) {
+            throw new IllegalCallerException("No user is logged in");
         }
 
-        Meet result = meetRepository.save(Meet.builder().description(meet.getDescription()).user(user.get()).isEnabled(true).build());
+        Long id = meetRepository
+            .replaceEnabledMeet(user.get(), meet.getDescription())
+            .orElseThrow(() -> new BadRequestAlertException("Only one meet can be active at all times", ENTITY_NAME, "entityExists"));
+        cacheInvalidationBus.publishEntityEviction(Meet.class);
+        receivedRequestService.meetsChanged(user.get().getId());
+
+        Meet result = Meet.builder().id(id).description(meet.getDescription()).user(user.get()).isEnabled(true).build();
         return ResponseEntity
             .created(new URI("/api/meets/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -90,7 +133,7 @@ public class MeetResource {
      * @param id the id of the meet to save.
      * @param meet the meet to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated meet,
-     * or with status {@code 400 (Bad Request)} if the meet is not valid,
+     * or with status {@code 400 (Bad Request)} if the meet is not valid or would be a second enabled meet of its user,
      * or with status {@code 500 (Internal Server Error)} if the meet couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
@@ -109,7 +152,10 @@ public class MeetResource {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
-        Meet result = meetRepository.save(meet);
+        // The owner may change along with the meet: both owners' received requests are affected
+        findOwnerId(id).ifPresent(receivedRequestService::meetsChanged);
+        Meet result = saveMeet(meet);
+        findOwnerId(id).ifPresent(receivedRequestService::meetsChanged);
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, meet.getId().toString()))
@@ -122,7 +168,7 @@ public class MeetResource {
      * @param id the id of the meet to save.
      * @param meet the meet to update.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the updated meet,
-     * or with status {@code 400 (Bad Request)} if the meet is not valid,
+     * or with status {@code 400 (Bad Request)} if the meet is not valid or would be a second enabled meet of its user,
      * or with status {@code 404 (Not Found)} if the meet is not found,
      * or with status {@code 500 (Internal Server Error)} if the meet couldn't be updated.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
@@ -150,13 +196,14 @@ public class MeetResource {
                 if (meet.getDescription() != null) {
                     existingMeet.setDescription(meet.getDescription());
                 }
-                if (meet.getIsEnabled() != null) {
+                if (meet.getIsEnabled() != null && !meet.getIsEnabled().equals(existingMeet.getIsEnabled())) {
                     existingMeet.setIsEnabled(meet.getIsEnabled());
+                    receivedRequestService.meetsChanged(existingMeet.getUser().getId());
                 }
 
                 return existingMeet;
             })
-            .map(meetRepository::save);
+            .map(this::saveMeet);
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -171,6 +218,7 @@ public class MeetResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of meets in body.
      */
     @GetMapping("/meets")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<GetMeetDto>> getAllMeets(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
         log.debug("REST request to get a page of Meets");
         Page<GetMeetDto> page = meetRepository.findAll(pageable).map(MeetMapper::fromEntity);
@@ -185,6 +233,7 @@ public class MeetResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of meets in body.
      */
     @GetMapping("/meets/exclude-user-meets")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<GetMeetDto>> getAllMeetsUserExcluded(@org.springdoc.api.annotations.ParameterObject Pageable pageable) {
         log.debug("REST request to get a page of Meets excluding user's meets.");
         Optional<User> user = userService.getUserWithAuthorities();
@@ -192,7 +241,7 @@ public class MeetResource {
             throw new IllegalCallerException("No user is logged in");
         }
         Page<GetMeetDto> page;
-        page = findAllMeetsWithRequestStatus(pageable, user.get());
+        page = meetRepository.findEnabledWithRequestStatusByUserNot(user.get(), pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
@@ -204,6 +253,7 @@ public class MeetResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the meet, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/meets/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Meet> getMeet(@PathVariable Long id) {
         log.debug("REST request to get Meet : {}", id);
         Optional<Meet> meet = meetRepository.findOneWithEagerRelationships(id);
@@ -212,21 +262,25 @@ public class MeetResource {
 
     /**
      * {@code GET  /meets/isEnabled} : get if a meet is enabled.
+     * <p>
+     * Supports conditional requests: the enabled meet is versioned by its id and last modification date.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with true/false, or with status {@code 404 (Not Found)}.
+     * @param webRequest the current request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with the enabled meet, or with status {@code 304 (Not Modified)}, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/meets/isEnabled")
-    public ResponseEntity<MeetBaseDto> getEnabledMeet() {
+    @Transactional(readOnly = true)
+    public ResponseEntity<MeetBaseDto> getEnabledMeet(WebRequest webRequest) {
         log.debug("REST request to get if Meet is enabled : {}");
-        Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isEmpty()) {
-            throw new IllegalCallerException("No user is logged in");
-        }
-        List<Meet> meet = meetRepository.findByUserAndIsEnabledTrue(user.get());
+        String login = SecurityUtils.getCurrentUserLogin().orElseThrow(() -> new IllegalCallerException("No user is logged in"));
+        Optional<EnabledMeetProjection> meet = meetRepository.findEnabledByUserLogin(login);
         if (meet.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok().body(MeetBaseDto.builder().description(meet.get(0).getDescription()).build());
+        if (ResourceVersion.of(meet.get().getLastModifiedDate(), meet.get().getId()).isNotModified(webRequest)) {
+            return null;
+        }
+        return ResponseEntity.ok().body(MeetBaseDto.builder().description(meet.get().getDescription()).build());
     }
 
     /**
@@ -241,19 +295,11 @@ public class MeetResource {
         if (user.isEmpty()) {
             throw new IllegalCallerException("No user is logged in");
         }
-        List<Meet> meet = meetRepository.findByUserAndIsEnabledTrue(user.get());
-        if (meet.isEmpty()) {
+        if (meetRepository.disableEnabledByUser(user.get()) == 0) {
             return ResponseEntity.notFound().build();
         }
-        meetRepository.saveAllAndFlush(
-            meet
-                .stream()
-                .map(meet1 -> {
-                    meet1.setIsEnabled(false);
-                    return meet1;
-                })
-                .collect(Collectors.toList())
-        );
+        cacheInvalidationBus.publishEntityEviction(Meet.class);
+        receivedRequestService.meetsChanged(user.get().getId());
         return ResponseEntity.ok().body(true);
     }
 
@@ -266,6 +312,7 @@ public class MeetResource {
     @DeleteMapping("/meets/{id}")
     public ResponseEntity<Void> deleteMeet(@PathVariable Long id) {
         log.debug("REST request to delete Meet : {}", id);
+        findOwnerId(id).ifPresent(receivedRequestService::meetsChanged);
         meetRepository.deleteById(id);
         return ResponseEntity
             .noContent()
@@ -273,19 +320,22 @@ public class MeetResource {
             .build();
     }
 
-    private Page<GetMeetDto> findAllMeetsWithRequestStatus(Pageable pageable, User user) {
-        return meetRepository
-            .findByUserNotAndIsEnabledTrue(pageable, user)
-            .map(meet ->
-                GetMeetDto
-                    .builder()
-                    .id(meet.getId())
-                    .userName(meet.getUser().getLogin())
-                    .description(meet.getDescription())
-                    .isEnabled(meet.getIsEnabled())
-                    .isRequestSent(requestRepository.existsByUserAndMeet(user, meet))
-                    .imageUrl(meet.getUser().getImageUrl())
-                    .build()
-            );
+    /**
+     * Save and flush a meet, so that enabling a second meet of a user is rejected by the unique index on enabled meets
+     * here rather than at commit.
+     */
+    private Meet saveMeet(Meet meet) {
+        try {
+            return meetRepository.saveAndFlush(meet);
+        } catch (DataIntegrityViolationException e) {
+            if (!Boolean.TRUE.equals(meet.getIsEnabled())) {
+                throw e;
+            }
+            throw new BadRequestAlertException("Only one meet can be active at all times", ENTITY_NAME, "entityExists");
+        }
+    }
+
+    private Optional<Long> findOwnerId(Long meetId) {
+        return meetRepository.findById(meetId).map(Meet::getUser).map(User::getId);
     }
 }
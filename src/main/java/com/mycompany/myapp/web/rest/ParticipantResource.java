@@ -7,7 +7,8 @@ import com.mycompany.myapp.dto.CreateParticipantDto;
 import com.mycompany.myapp.dto.GetParticipantDto;
 import com.mycompany.myapp.repository.ActivityRepository;
 import com.mycompany.myapp.repository.ParticipantRepository;
-import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.security.SecurityUtils;
+import com.mycompany.myapp.service.ActivityFeedService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
@@ -50,18 +51,18 @@ public class ParticipantResource {
     private final ParticipantRepository participantRepository;
     private final UserService userService;
     private final ActivityRepository activityRepository;
-    private final UserRepository userRepository;
+    private final ActivityFeedService activityFeedService;
 
     public ParticipantResource(
         ParticipantRepository participantRepository,
         UserService userService,
         ActivityRepository activityRepository,
-        UserRepository userRepository
+        ActivityFeedService activityFeedService
     ) {
         this.participantRepository = participantRepository;
         this.userService = userService;
         this.activityRepository = activityRepository;
-        this.userRepository = userRepository;
+        this.activityFeedService = activityFeedService;
     }
 
     /**
@@ -93,6 +94,7 @@ public class ParticipantResource {
         }
 
         Participant result = participantRepository.save(Participant.builder().activity(activity.get()).user(user.get()).build());
+        activityFeedService.refresh(activity.get().getId());
         return ResponseEntity
             .created(new URI("/api/participants/" + result.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, true, ENTITY_NAME, result.getId().toString()))
@@ -102,35 +104,26 @@ public class ParticipantResource {
     /**
      * {@code GET  /participants/activity/:id} : get all the participants of activity.
      *
+     * @param id the id of the activity.
      * @param pageable the pagination information.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of participants in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of participants in body,
+     * or with status {@code 400 (Bad Request)} if the activity doesn't exist.
      */
     @GetMapping("/participants/activity/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<GetParticipantDto>> getAllParticipantsOfActivity(
         @PathVariable Long id,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable
     ) {
         log.debug("REST request to get a page of Participants for an activity");
-        Optional<User> user = userService.getUserWithAuthorities();
-        if (user.isEmpty()) {
+        if (SecurityUtils.getCurrentUserLogin().isEmpty()) {
             throw new IllegalCallerException("No user is logged in");
         }
-        Optional<Activity> activity = activityRepository.findById(id);
-        if (activity.isEmpty()) {
+        Page<GetParticipantDto> page = participantRepository.findParticipantDtosByActivityId(id, pageable);
+        // Only an empty result can come from a missing activity, so the existence check is skipped otherwise
+        if (page.getTotalElements() == 0 && !activityRepository.existsById(id)) {
             throw new BadRequestAlertException("Activity doesnt exist", "Activity", "id doesnt exist");
         }
-        Page<GetParticipantDto> page;
-
-        page =
-            participantRepository
-                .findByActivity(pageable, activity.get())
-                .map(e -> {
-                    return GetParticipantDto
-                        .builder()
-                        .userName(userRepository.findById((e.getUser().getId())).get().getLogin())
-                        .id(e.getId())
-                        .build();
-                });
 
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -159,11 +152,16 @@ public class ParticipantResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!participantRepository.existsById(id)) {
+        Optional<Long> previousActivityId = participantRepository.findById(id).map(existing -> existing.getActivity().getId());
+        if (previousActivityId.isEmpty()) {
             throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
         }
 
         Participant result = participantRepository.save(participant);
+        activityFeedService.refresh(previousActivityId.get());
+        if (result.getActivity() != null && !previousActivityId.get().equals(result.getActivity().getId())) {
+            activityFeedService.refresh(result.getActivity().getId());
+        }
         return ResponseEntity
             .ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, true, ENTITY_NAME, participant.getId().toString()))
@@ -219,6 +217,7 @@ public class ParticipantResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of participants in body.
      */
     @GetMapping("/participants")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<Participant>> getAllParticipants(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -241,6 +240,7 @@ public class ParticipantResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the participant, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/participants/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Participant> getParticipant(@PathVariable Long id) {
         log.debug("REST request to get Participant : {}", id);
         Optional<Participant> participant = participantRepository.findOneWithEagerRelationships(id);
@@ -256,7 +256,9 @@ public class ParticipantResource {
     @DeleteMapping("/participants/{id}")
     public ResponseEntity<Void> deleteParticipant(@PathVariable Long id) {
         log.debug("REST request to delete Participant : {}", id);
+        Optional<Long> activityId = participantRepository.findById(id).map(participant -> participant.getActivity().getId());
         participantRepository.deleteById(id);
+        activityId.ifPresent(activityFeedService::refresh);
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
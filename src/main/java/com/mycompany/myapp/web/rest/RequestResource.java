@@ -7,6 +7,7 @@ import com.mycompany.myapp.dto.CreateRequestDto;
 import com.mycompany.myapp.dto.GetRequestDto;
 import com.mycompany.myapp.repository.MeetRepository;
 import com.mycompany.myapp.repository.RequestRepository;
+import com.mycompany.myapp.service.ReceivedRequestService;
 import com.mycompany.myapp.service.UserService;
 import com.mycompany.myapp.service.mapper.RequestMapper;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
@@ -24,9 +25,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
 import tech.jhipster.web.util.PaginationUtil;
@@ -52,17 +55,25 @@ public class RequestResource {
 
     private final UserService userService;
 
-    public RequestResource(RequestRepository requestRepository, UserService userService, MeetRepository meetRepository) {
+    private final ReceivedRequestService receivedRequestService;
+
+    public RequestResource(
+        RequestRepository requestRepository,
+        UserService userService,
+        MeetRepository meetRepository,
+        ReceivedRequestService receivedRequestService
+    ) {
         this.requestRepository = requestRepository;
         this.userService = userService;
         this.meetRepository = meetRepository;
+        this.receivedRequestService = receivedRequestService;
     }
 
     /**
      * {@code POST  /requests} : Create a new request.
      *
      * @param request the request to create.
-     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new request, or with status {@code 400 (Bad Request)} if the request has already an ID.
+     * @return the {@link ResponseEntity} with status {@code 201 (Created)} and with body the new request, or with status {@code 400 (Bad Request)} if the meet was already requested.
      * @throws URISyntaxException if the Location URI syntax is incorrect.
      */
     @PostMapping("/requests")
@@ -78,8 +89,12 @@ public class RequestResource {
         if (meet.isEmpty() || !meet.get().getIsEnabled() || meet.get().getUser().equals(user.get())) {
             throw new IllegalCallerException("Invalid meet");
         }
+        if (requestRepository.existsByUserAndMeet(user.get(), meet.get())) {
+            throw new BadRequestAlertException("Meet already requested", ENTITY_NAME, "requestexists");
+        }
 
         Request result = requestRepository.save(Request.builder().user(user.get()).meet(meet.get()).build());
+        receivedRequestService.requestCreated(result);
 
         return ResponseEntity
             .created(new URI("/api/requests/" + result.getId()))
@@ -170,6 +185,7 @@ public class RequestResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of requests in body.
      */
     @GetMapping("/requests")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<GetRequestDto>> getAllRequests(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -188,6 +204,7 @@ public class RequestResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of requests in body.
      */
     @GetMapping("/requests/received")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<GetRequestDto>> getAllReceivedRequests(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -210,16 +227,36 @@ public class RequestResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of requests in body.
      */
     @GetMapping("/requests/received/count")
+    @Transactional(readOnly = true)
     public ResponseEntity<Long> getAllReceivedRequestsCount() {
         log.debug("REST request to get a page of Requests");
         Optional<User> user = userService.getUserWithAuthorities();
         if (user.isEmpty()) {
             throw new IllegalCallerException("No user is logged in");
         }
-        long count = requestRepository.countRequestsWithMatchingUserLoginInMeet(user.get().getLogin());
+        long count = receivedRequestService.getCount(user.get().getId());
         return ResponseEntity.ok().body(count);
     }
 
+    /**
+     * {@code GET  /requests/received/stream} : stream the requests received, as server-sent events.
+     * <p>
+     * The stream starts with a {@code count} event holding the number of requests received, then gets a {@code request} event
+     * for each new request and a {@code count} event whenever that number changes.
+     *
+     * @return the stream.
+     */
+    @GetMapping(value = "/requests/received/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Transactional(readOnly = true)
+    public SseEmitter streamReceivedRequests() {
+        log.debug("REST request to stream received Requests");
+        Optional<User> user = userService.getUserWithAuthorities();
+        if (user.isEmpty()) {
+            throw new IllegalCallerException("No user is logged in");
+        }
+        return receivedRequestService.subscribe(user.get().getId());
+    }
+
     /**
      * {@code GET  /requests/:id} : get the "id" request.
      *
@@ -227,6 +264,7 @@ public class RequestResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the request, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/requests/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Request> getRequest(@PathVariable Long id) {
         log.debug("REST request to get Request : {}", id);
         Optional<Request> request = requestRepository.findOneWithEagerRelationships(id);
@@ -242,7 +280,12 @@ public class RequestResource {
     @DeleteMapping("/requests/{id}")
     public ResponseEntity<Void> deleteRequest(@PathVariable Long id) {
         log.debug("REST request to delete Request : {}", id);
-        requestRepository.deleteById(id);
+        requestRepository
+            .findById(id)
+            .ifPresent(request -> {
+                requestRepository.delete(request);
+                receivedRequestService.requestDeleted(request);
+            });
         return ResponseEntity
             .noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, true, ENTITY_NAME, id.toString()))
@@ -1,7 +1,10 @@
 package com.mycompany.myapp.web.rest;
 
 import com.mycompany.myapp.domain.Tag;
+import com.mycompany.myapp.dto.GetTagDto;
 import com.mycompany.myapp.repository.TagRepository;
+import com.mycompany.myapp.service.TagCatalog;
+import com.mycompany.myapp.service.TagCatalogService;
 import com.mycompany.myapp.web.rest.errors.BadRequestAlertException;
 import java.net.URI;
 import java.net.URISyntaxException;
@@ -13,6 +16,7 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -36,8 +40,11 @@ public class TagResource {
 
     private final TagRepository tagRepository;
 
-    public TagResource(TagRepository tagRepository) {
+    private final TagCatalogService tagCatalogService;
+
+    public TagResource(TagRepository tagRepository, TagCatalogService tagCatalogService) {
         this.tagRepository = tagRepository;
+        this.tagCatalogService = tagCatalogService;
     }
 
     /**
@@ -136,14 +143,19 @@ public class TagResource {
     }
 
     /**
-     * {@code GET  /tags} : get all the tags.
+     * {@code GET  /tags} : get all the tags, from the in-memory tag catalog.
+     * <p>
+     * The response carries the version of the catalog as a strong {@code ETag}: a request whose {@code If-None-Match}
+     * still matches it gets a {@code 304 (Not Modified)} without a body.
      *
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tags in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of tags in body, or with status {@code 304 (Not Modified)}.
      */
     @GetMapping("/tags")
-    public List<Tag> getAllTags() {
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<GetTagDto>> getAllTags() {
         log.debug("REST request to get all Tags");
-        return tagRepository.findAll();
+        TagCatalog catalog = tagCatalogService.getCatalog();
+        return ResponseEntity.ok().cacheControl(CacheControl.noCache()).eTag(catalog.getETag()).body(catalog.getTags());
     }
 
     /**
@@ -153,6 +165,7 @@ public class TagResource {
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the tag, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/tags/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Tag> getTag(@PathVariable Long id) {
         log.debug("REST request to get Tag : {}", id);
         Optional<Tag> tag = tagRepository.findById(id);
@@ -0,0 +1,19 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a REST handler parameter to the {@link com.mycompany.myapp.domain.User} of the current principal.
+ * <p>
+ * The parameter may be declared as {@code User}, in which case the call fails when nobody is logged in, as a
+ * {@code @Nullable User}, or as {@code Optional<User>}. The user is resolved at most once per request, see {@link CurrentUserArgumentResolver}.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface CurrentUser {
+}
@@ -0,0 +1,47 @@
+package com.mycompany.myapp.web.rest.util;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.service.CurrentUserService;
+import java.util.Optional;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * Resolves parameters annotated with {@link CurrentUser} through the request-scoped {@link CurrentUserService}.
+ */
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private final CurrentUserService currentUserService;
+
+    public CurrentUserArgumentResolver(CurrentUserService currentUserService) {
+        this.currentUserService = currentUserService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return (
+            parameter.hasParameterAnnotation(CurrentUser.class) &&
+            (User.class.equals(parameter.getParameterType()) || User.class.equals(parameter.nestedIfOptional().getNestedParameterType()))
+        );
+    }
+
+    @Override
+    public Object resolveArgument(
+        MethodParameter parameter,
+        ModelAndViewContainer mavContainer,
+        NativeWebRequest webRequest,
+        WebDataBinderFactory binderFactory
+    ) {
+        Optional<User> user = currentUserService.getCurrentUser();
+        if (parameter.getParameterType() == Optional.class) {
+            return user;
+        }
+        if (parameter.isOptional()) {
+            return user.orElse(null);
+        }
+        return user.orElseThrow(() -> new IllegalCallerException("No user is logged in"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.function.Function;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling keyset (cursor) pagination.
+ * <p>
+ * Unlike {@link tech.jhipster.web.util.PaginationUtil}, no total count is exposed: only a {@code rel="next"} link is
+ * emitted when there is a following slice, so that fetching page N costs the same as fetching the first one.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String CURSOR_PARAM = "cursor";
+
+    public static final String AFTER_PARAM = "after";
+
+    private static final String HEADER_LINK_FORMAT = "<{0}>; rel=\"{1}\"";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the {@code Link} header for a keyset-paginated slice.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice of results.
+     * @param cursorOf extracts the cursor of a result row.
+     * @param <T> the type of the results.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateKeysetHttpHeaders(
+        UriComponentsBuilder uriBuilder,
+        Slice<T> slice,
+        Function<T, KeysetCursor> cursorOf
+    ) {
+        return generateHttpHeaders(uriBuilder, slice, row -> cursorOf.apply(row).encode());
+    }
+
+    /**
+     * Generate the {@code Link} header for a slice ordered by id only, where the id of the last row is the cursor.
+     *
+     * @param uriBuilder the builder of the current request URI.
+     * @param slice the slice of results.
+     * @param idOf extracts the id of a result row.
+     * @param <T> the type of the results.
+     * @return the http headers.
+     */
+    public static <T> HttpHeaders generateIdKeysetHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, Function<T, Long> idOf) {
+        return generateHttpHeaders(uriBuilder, slice, row -> idOf.apply(row).toString());
+    }
+
+    private static <T> HttpHeaders generateHttpHeaders(UriComponentsBuilder uriBuilder, Slice<T> slice, Function<T, String> tokenOf) {
+        HttpHeaders headers = new HttpHeaders();
+        List<T> content = slice.getContent();
+        if (slice.hasNext() && !content.isEmpty()) {
+            String next = uriBuilder
+                .replaceQueryParam("page")
+                .replaceQueryParam(CURSOR_PARAM, true)
+                .replaceQueryParam(AFTER_PARAM, tokenOf.apply(content.get(content.size() - 1)))
+                .replaceQueryParam("size", slice.getSize())
+                .toUriString();
+            headers.add(HttpHeaders.LINK, MessageFormat.format(HEADER_LINK_FORMAT, next, "next"));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,78 @@
+package com.mycompany.myapp.web.rest.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Version of a representation, computed from a cheap lookup before the representation itself is assembled.
+ * <p>
+ * The strong {@code ETag} is a digest of everything the representation depends on. The {@code Last-Modified} date is
+ * only given when it alone tells whether the representation changed; otherwise {@code If-Modified-Since} is ignored
+ * and only {@code If-None-Match} is validated.
+ */
+public final class ResourceVersion {
+
+    private final String eTag;
+
+    private final Instant lastModified;
+
+    private ResourceVersion(String eTag, Instant lastModified) {
+        this.eTag = eTag;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * Version a representation by its last modification date.
+     *
+     * @param lastModified the last modification date of the representation, may be null if unknown.
+     * @param parts the other values the representation depends on.
+     * @return the version.
+     */
+    public static ResourceVersion of(Instant lastModified, Object... parts) {
+        return new ResourceVersion(eTagOf(lastModified, parts), lastModified);
+    }
+
+    /**
+     * Version a representation by an entity tag only.
+     *
+     * @param parts the values the representation depends on.
+     * @return the version.
+     */
+    public static ResourceVersion ofETag(Object... parts) {
+        return new ResourceVersion(eTagOf(null, parts), null);
+    }
+
+    private static String eTagOf(Instant lastModified, Object... parts) {
+        String content =
+            Objects.toString(lastModified) + '|' + Arrays.stream(parts).map(String::valueOf).collect(Collectors.joining("|"));
+        return '"' + DigestUtils.md5DigestAsHex(content.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    public Instant getLastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Validate the conditional headers of a request against this version. Sets the {@code ETag} and
+     * {@code Last-Modified} headers of the response, and its {@code 304 (Not Modified)} status when the client copy is
+     * still current: the handler must then return {@code null}.
+     *
+     * @param request the current request.
+     * @return whether the client copy is still current.
+     */
+    public boolean isNotModified(WebRequest request) {
+        if (lastModified == null) {
+            return request.checkNotModified(eTag);
+        }
+        return request.checkNotModified(eTag, lastModified.toEpochMilli());
+    }
+}
@@ -0,0 +1,49 @@
+package com.mycompany.myapp.aop.timing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link MethodTimers}.
+ */
+class MethodTimersUnitTest {
+
+    private static final String METER_NAME = "test.invocations";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private static Method method(String name) throws NoSuchMethodException {
+        return Object.class.getMethod(name);
+    }
+
+    @Test
+    void recordsByClassAndMethod() throws Exception {
+        MethodTimers timers = new MethodTimers(meterRegistry, METER_NAME, "test", 1.0);
+
+        timers.record(String.class, method("hashCode"), 1_000);
+        timers.record(String.class, method("hashCode"), 3_000);
+        timers.record(String.class, method("toString"), 1_000);
+        timers.record(Integer.class, method("hashCode"), 1_000);
+
+        Timer timer = meterRegistry.get(METER_NAME).tag(MethodTimers.CLASS_TAG, "String").tag(MethodTimers.METHOD_TAG, "hashCode").timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.NANOSECONDS)).isEqualTo(4_000);
+        assertThat(meterRegistry.get(METER_NAME).timers()).hasSize(3);
+    }
+
+    @Test
+    void sampleRateBoundsTheRecordedShare() {
+        assertThat(IntStream.range(0, 1_000).filter(i -> new MethodTimers(meterRegistry, METER_NAME, "test", 1.0).sample()).count())
+            .isEqualTo(1_000);
+        assertThat(IntStream.range(0, 1_000).filter(i -> new MethodTimers(meterRegistry, METER_NAME, "test", 0.0).sample()).count())
+            .isZero();
+        MethodTimers sampled = new MethodTimers(meterRegistry, METER_NAME, "test", 0.1);
+        assertThat(IntStream.range(0, 100_000).filter(i -> sampled.sample()).count()).isBetween(8_000L, 12_000L);
+    }
+}
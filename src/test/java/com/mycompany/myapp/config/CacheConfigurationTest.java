@@ -0,0 +1,73 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.domain.Tag;
+import com.mycompany.myapp.domain.User;
+import java.time.Duration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import tech.jhipster.config.JHipsterProperties;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+class CacheConfigurationTest {
+
+    private CacheConfiguration cacheConfiguration;
+
+    @BeforeEach
+    public void setup() {
+        JHipsterProperties jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        jHipsterProperties.getCache().getEhcache().setTimeToLiveSeconds(3600);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Cache.Region user = new ApplicationProperties.Cache.Region();
+        user.setHeapEntries(20_000L);
+        user.setOffHeapMb(64L);
+        user.setTimeToIdle(Duration.ofMinutes(10));
+        applicationProperties.getCache().getRegions().put("User", user);
+        ApplicationProperties.Cache.Region tag = new ApplicationProperties.Cache.Region();
+        tag.setHeapEntries(50L);
+        tag.setTimeToLive(Duration.ofDays(1));
+        applicationProperties.getCache().getRegions().put("Tag", tag);
+
+        cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+    }
+
+    private org.ehcache.config.CacheConfiguration<?, ?> regionConfiguration(String cacheName) {
+        return ((Eh107Configuration<Object, Object>) cacheConfiguration.regionConfiguration(cacheName)).unwrap(
+                org.ehcache.config.CacheConfiguration.class
+            );
+    }
+
+    @Test
+    void shouldSizeConfiguredRegions() {
+        org.ehcache.config.CacheConfiguration<?, ?> user = regionConfiguration(User.class.getName());
+        assertThat(user.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(20_000L);
+        assertThat(user.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(64L);
+        assertThat(user.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP).getUnit()).isEqualTo(MemoryUnit.MB);
+
+        org.ehcache.config.CacheConfiguration<?, ?> tag = regionConfiguration(Tag.class.getName());
+        assertThat(tag.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(50L);
+        assertThat(tag.getResourcePools().getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+    }
+
+    @Test
+    void shouldExpireConfiguredRegions() {
+        assertThat(regionConfiguration(User.class.getName()).getExpiryPolicy().getExpiryForAccess(null, null))
+            .isEqualTo(Duration.ofMinutes(10));
+        assertThat(regionConfiguration(Tag.class.getName()).getExpiryPolicy().getExpiryForCreation(null, null))
+            .isEqualTo(Duration.ofDays(1));
+    }
+
+    @Test
+    void shouldUseDefaultsForOtherRegions() {
+        org.ehcache.config.CacheConfiguration<?, ?> authorities = regionConfiguration(User.class.getName() + ".authorities");
+        assertThat(authorities.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100L);
+        assertThat(authorities.getExpiryPolicy().getExpiryForCreation(null, null)).isEqualTo(Duration.ofHours(1));
+    }
+}
@@ -0,0 +1,261 @@
+package com.mycompany.myapp.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.Tag;
+import com.mycompany.myapp.repository.ReadReplicaTransactions;
+import com.mycompany.myapp.repository.TagRepository;
+import com.mycompany.myapp.service.CacheInvalidationBus;
+import com.mycompany.myapp.service.TagCatalogService;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import javax.persistence.EntityManager;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.Network;
+import org.testcontainers.containers.wait.strategy.Wait;
+
+/**
+ * Integration tests for the {@link ReplicaRoutingDataSource}, against a PostgreSQL primary and its streaming replica.
+ */
+class ReplicaRoutingDataSourceIT {
+
+    private static final String IMAGE = "bitnami/postgresql:14.5.0";
+
+    private static final String DATABASE = "meetupbackend";
+
+    private static final String PASSWORD = "meetupbackend";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    private static Network network;
+
+    private static GenericContainer<?> primary;
+
+    private static GenericContainer<?> replica;
+
+    @BeforeAll
+    static void startContainers() {
+        assumeThat(DockerClientFactory.instance().isDockerAvailable()).as("Docker is available").isTrue();
+        network = Network.newNetwork();
+        primary =
+            new GenericContainer<>(IMAGE)
+                .withNetwork(network)
+                .withNetworkAliases("primary")
+                .withEnv("POSTGRESQL_REPLICATION_MODE", "master")
+                .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+                .withEnv("POSTGRESQL_REPLICATION_PASSWORD", PASSWORD)
+                .withEnv("POSTGRESQL_USERNAME", DATABASE)
+                .withEnv("POSTGRESQL_PASSWORD", PASSWORD)
+                .withEnv("POSTGRESQL_DATABASE", DATABASE)
+                .withExposedPorts(5432)
+                .waitingFor(Wait.forLogMessage(".*database system is ready to accept connections.*\\n", 1));
+        primary.start();
+        replica =
+            new GenericContainer<>(IMAGE)
+                .withNetwork(network)
+                .withEnv("POSTGRESQL_REPLICATION_MODE", "slave")
+                .withEnv("POSTGRESQL_MASTER_HOST", "primary")
+                .withEnv("POSTGRESQL_MASTER_PORT_NUMBER", "5432")
+                .withEnv("POSTGRESQL_REPLICATION_USER", "replicator")
+                .withEnv("POSTGRESQL_REPLICATION_PASSWORD", PASSWORD)
+                .withEnv("POSTGRESQL_PASSWORD", PASSWORD)
+                .withExposedPorts(5432)
+                .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*\\n", 1));
+        replica.start();
+    }
+
+    @AfterAll
+    static void stopContainers() {
+        if (replica != null) {
+            replica.stop();
+        }
+        if (primary != null) {
+            primary.stop();
+        }
+        if (network != null) {
+            network.close();
+        }
+    }
+
+    private static HikariDataSource pool(String url, String poolName) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(DATABASE);
+        pool.setPassword(PASSWORD);
+        pool.setPoolName(poolName);
+        pool.setAutoCommit(false);
+        pool.setConnectionTimeout(1000);
+        return pool;
+    }
+
+    private static HikariDataSource pool(GenericContainer<?> container, String poolName) {
+        return pool("jdbc:postgresql://" + container.getHost() + ":" + container.getMappedPort(5432) + "/" + DATABASE, poolName);
+    }
+
+    private static boolean inRecovery(ReplicaRoutingDataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status ->
+            new JdbcTemplate(dataSource).queryForObject("select pg_is_in_recovery()", Boolean.class)
+        );
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition met within %s", TIMEOUT).isLessThan(deadline);
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() throws Exception {
+        try (
+            ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+                pool(primary, "primary"),
+                List.of(pool(replica, "replica")),
+                Duration.ofSeconds(5),
+                Duration.ofMillis(200)
+            )
+        ) {
+            await(() -> dataSource.getHealthyReplicaCount() == 1);
+
+            assertThat(inRecovery(dataSource, false)).isFalse();
+            assertThat(inRecovery(dataSource, true)).isTrue();
+
+            TransactionTemplate writes = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            writes.executeWithoutResult(status -> {
+                JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+                jdbcTemplate.execute("create table if not exists replicated (id bigint primary key)");
+                jdbcTemplate.update("insert into replicated (id) values (1) on conflict do nothing");
+            });
+            TransactionTemplate reads = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            reads.setReadOnly(true);
+            await(() ->
+                Integer.valueOf(1).equals(
+                    reads.execute(status ->
+                        new JdbcTemplate(dataSource)
+                            .queryForObject("select count(*) from pg_tables where tablename = 'replicated'", Integer.class)
+                    )
+                )
+            );
+        }
+    }
+
+    @Test
+    void readOnlyTransactionsFallBackToThePrimaryWithoutHealthyReplica() throws Exception {
+        try (
+            ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+                pool(primary, "primary"),
+                List.of(pool(replica, "lagging"), pool("jdbc:postgresql://localhost:1/" + DATABASE, "unreachable")),
+                Duration.ofSeconds(-1),
+                Duration.ofMillis(200)
+            )
+        ) {
+            Thread.sleep(2000);
+
+            assertThat(dataSource.getHealthyReplicaCount()).isZero();
+            assertThat(inRecovery(dataSource, true)).isFalse();
+        }
+    }
+
+    @Test
+    void replicaReadsAreKeptOutOfTheCaches() throws Exception {
+        try (
+            ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+                pool(primary, "primary"),
+                List.of(pool(replica, "replica")),
+                Duration.ofSeconds(5),
+                Duration.ofMillis(200)
+            )
+        ) {
+            await(() -> dataSource.getHealthyReplicaCount() == 1);
+            Cache cache = new ReplicaAwareCacheDecorator(new ConcurrentMapCache("usersByLogin"));
+            cache.put("user", "evicted");
+            cache.evict("user");
+            Session session = mock(Session.class);
+            when(session.getCacheMode()).thenReturn(CacheMode.NORMAL);
+            when(session.isOpen()).thenReturn(true);
+            EntityManager entityManager = mock(EntityManager.class);
+            when(entityManager.unwrap(Session.class)).thenReturn(session);
+            Object entityManagerFactory = new Object();
+
+            TransactionTemplate reads = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            reads.setReadOnly(true);
+            reads.executeWithoutResult(status -> {
+                TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+                try {
+                    cache.put("user", new JdbcTemplate(dataSource).queryForObject("select pg_is_in_recovery()", Boolean.class));
+                    assertThat(ReadReplicaTransactions.isCurrentTransactionOnReplica()).isTrue();
+                    verify(session).setCacheMode(CacheMode.GET);
+                } finally {
+                    TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+                }
+            });
+
+            assertThat(cache.get("user")).isNull();
+            assertThat(ReadReplicaTransactions.isCurrentTransactionOnReplica()).isFalse();
+            verify(session).setCacheMode(CacheMode.NORMAL);
+
+            TransactionTemplate writes = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            writes.executeWithoutResult(status ->
+                cache.put("user", new JdbcTemplate(dataSource).queryForObject("select pg_is_in_recovery()", Boolean.class))
+            );
+
+            assertThat(cache.get("user")).isNotNull().extracting(Cache.ValueWrapper::get).isEqualTo(false);
+        }
+    }
+
+    @Test
+    void tagCatalogIsLoadedFromThePrimary() throws Exception {
+        try (
+            ReplicaRoutingDataSource dataSource = new ReplicaRoutingDataSource(
+                pool(primary, "primary"),
+                List.of(pool(replica, "replica")),
+                Duration.ofSeconds(5),
+                Duration.ofMillis(200)
+            )
+        ) {
+            await(() -> dataSource.getHealthyReplicaCount() == 1);
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            TagRepository tagRepository = mock(TagRepository.class);
+            when(tagRepository.findAll())
+                .thenAnswer(invocation -> {
+                    boolean inRecovery = new JdbcTemplate(dataSource).queryForObject("select pg_is_in_recovery()", Boolean.class);
+                    return List.of(new Tag().id(1L).title(inRecovery ? "replica" : "primary"));
+                });
+            TagCatalogService tagCatalogService = new TagCatalogService(
+                tagRepository,
+                mock(CacheInvalidationBus.class),
+                transactionManager
+            );
+
+            TransactionTemplate reads = new TransactionTemplate(transactionManager);
+            reads.setReadOnly(true);
+            assertThat(reads.execute(status -> tagCatalogService.getCatalog().getTitle(1L))).isEqualTo("primary");
+            assertThat(reads.execute(status -> tagCatalogService.getCatalog().getTitle(1L))).isEqualTo("primary");
+
+            verify(tagRepository, times(1)).findAll();
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.mycompany.myapp.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class ConversationMessageTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(ConversationMessage.class);
+        ConversationMessage conversationMessage1 = new ConversationMessage();
+        conversationMessage1.setId(1L);
+        ConversationMessage conversationMessage2 = new ConversationMessage();
+        conversationMessage2.setId(conversationMessage1.getId());
+        assertThat(conversationMessage1).isEqualTo(conversationMessage2);
+        conversationMessage2.setId(2L);
+        assertThat(conversationMessage1).isNotEqualTo(conversationMessage2);
+        conversationMessage1.setId(null);
+        assertThat(conversationMessage1).isNotEqualTo(conversationMessage2);
+    }
+}
@@ -0,0 +1,370 @@
+package com.mycompany.myapp.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assumptions.assumeThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Activity;
+import com.mycompany.myapp.domain.Meet;
+import com.mycompany.myapp.domain.User;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import org.assertj.core.api.SoftAssertions;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests checking that the repository finders are backed by an index.
+ * <p>
+ * Each finder is called against seeded, analyzed tables; the statements it sends through the proxied data source are
+ * captured with their parameters and EXPLAINed. Any sequential scan over one of the seeded tables fails the test.
+ * Finders reading (almost) a whole table, such as {@code findAll} or {@code MeetRepository#findByUserNot}, are left
+ * out: a sequential scan is the right plan for them.
+ * <p>
+ * Only meaningful on PostgreSQL, so this is skipped unless run with the {@code testprod} profile.
+ */
+@IntegrationTest
+@Transactional
+@WithMockUser(QueryPlanIT.USER_LOGIN)
+class QueryPlanIT {
+
+    private static final long OFFSET = 1_000_000L;
+
+    private static final int USERS = 1_000;
+
+    private static final int ACTIVITIES = 20_000;
+
+    private static final int TAGS = 100;
+
+    private static final int MEETS = 20_000;
+
+    private static final int CONVERSATIONS = 5_000;
+
+    private static final int MESSAGES = 50_000;
+
+    private static final List<String> SEEDED_TABLES = List.of(
+        "jhi_user",
+        "activity",
+        "tag",
+        "activity_tag",
+        "participant",
+        "meet",
+        "request",
+        "conversation",
+        "rel_conversation__user",
+        "conversation_message"
+    );
+
+    private static final long USER_ID = OFFSET + 42;
+
+    static final String USER_LOGIN = "seed-user-42";
+
+    private static final long OTHER_USER_ID = OFFSET + 43;
+
+    private static final long ACTIVITY_ID = OFFSET + 42;
+
+    private static final long MEET_ID = OFFSET + 42;
+
+    private static final long CONVERSATION_ID = OFFSET + 42;
+
+    private static final Pageable PAGE = PageRequest.of(0, 20);
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ActivityTagRepository activityTagRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private MeetRepository meetRepository;
+
+    @Autowired
+    private ConversationRepository conversationRepository;
+
+    @Autowired
+    private ConversationMessageRepository conversationMessageRepository;
+
+    private final List<QueryInfo> captured = new ArrayList<>();
+
+    private final CapturingListener capturingListener = new CapturingListener();
+
+    private volatile Thread recordingThread;
+
+    @BeforeEach
+    void seed() {
+        String database = em.unwrap(Session.class).doReturningWork(connection -> connection.getMetaData().getDatabaseProductName());
+        assumeThat(database).isEqualTo("PostgreSQL");
+        List<String> statements = new ArrayList<>();
+        statements.add(
+            "insert into jhi_user (id, login, password_hash, activated, lang_key, created_by)" +
+            " select " + OFFSET + " + g, 'seed-user-' || g, repeat('x', 60), true, 'en', 'system'" +
+            " from generate_series(1, " + USERS + ") g"
+        );
+        statements.add(
+            "insert into activity (id, title, description, date, user_id)" +
+            " select " + OFFSET + " + g, 'title ' || g, 'description ' || g, now() - g * interval '1 minute', " + userOf("g") +
+            " from generate_series(1, " + ACTIVITIES + ") g"
+        );
+        statements.add(
+            "insert into tag (id, title) select " + OFFSET + " + g, 'seed-tag-' || g from generate_series(1, " + TAGS + ") g"
+        );
+        statements.add(
+            "insert into activity_tag (id, tag_id, activity_id, user_id)" +
+            " select " + OFFSET + " + g, " + OFFSET + " + 1 + (g * 7) % " + TAGS + ", " + activityOf("g") + ", " + userOf("g") +
+            " from generate_series(1, " + 2 * ACTIVITIES + ") g"
+        );
+        // Three participants per activity, none of them its owner, each (activity, user) pair once
+        statements.add(
+            "insert into participant (id, activity_id, user_id)" +
+            " select " + OFFSET + " + g, " + activityOf("g") + ", " + userOf("g + 2 + (g / " + ACTIVITIES + ") * 17") +
+            " from generate_series(0, " + (3 * ACTIVITIES - 1) + ") g"
+        );
+        // At most one enabled meet per user
+        statements.add(
+            "insert into meet (id, description, is_enabled, user_id)" +
+            " select " + OFFSET + " + g, 'description ' || g, g <= " + USERS / 5 + ", " + userOf("g") +
+            " from generate_series(1, " + MEETS + ") g"
+        );
+        // One request per meet, never from its owner
+        statements.add(
+            "insert into request (id, meet_id, user_id)" +
+            " select " + OFFSET + " + g, " + OFFSET + " + 1 + g % " + MEETS + ", " + userOf("g + 2") +
+            " from generate_series(0, " + (MEETS - 1) + ") g"
+        );
+        statements.add(
+            "insert into conversation (id, user_low_id, user_high_id)" +
+            " select " + OFFSET + " + g, least(" + userOf("g") + ", " + userOf("g + 1 + g / " + USERS) + ")," +
+            " greatest(" + userOf("g") + ", " + userOf("g + 1 + g / " + USERS) + ")" +
+            " from generate_series(1, " + CONVERSATIONS + ") g"
+        );
+        statements.add(
+            "insert into rel_conversation__user (conversation_id, user_id)" +
+            " select " + OFFSET + " + g, " + userOf("g") + " from generate_series(1, " + CONVERSATIONS + ") g" +
+            " union all select " + OFFSET + " + g, " + userOf("g + 1 + g / " + USERS) + " from generate_series(1, " + CONVERSATIONS + ") g"
+        );
+        statements.add(
+            "insert into conversation_message (id, conversation_id, seq, sender_id, content, date)" +
+            " select " + OFFSET + " + g, " + OFFSET + " + 1 + g % " + CONVERSATIONS + ", 1 + g / " + CONVERSATIONS + ", " + userOf("g") +
+            ", 'message ' || g," +
+            " now() - (" + MESSAGES + " - g) * interval '1 second'" +
+            " from generate_series(1, " + MESSAGES + ") g"
+        );
+        statements.add(
+            "update conversation set last_message_id = (select max(message.id) from conversation_message message" +
+            " where message.conversation_id = conversation.id), message_count = (select count(*) from conversation_message message" +
+            " where message.conversation_id = conversation.id) where id > " + OFFSET
+        );
+        SEEDED_TABLES.forEach(table -> statements.add("analyze " + table));
+        em.unwrap(Session.class)
+            .doWork(connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    for (String sql : statements) {
+                        statement.execute(sql);
+                    }
+                }
+            });
+        assertThat(dataSource).as("SQL metrics proxy the data source").isInstanceOf(ProxyDataSource.class);
+        ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().addListener(capturingListener);
+    }
+
+    @AfterEach
+    void stopCapturing() {
+        if (dataSource instanceof ProxyDataSource) {
+            ((ProxyDataSource) dataSource).getProxyConfig().getQueryListener().getListeners().remove(capturingListener);
+        }
+    }
+
+    private static String userOf(String expression) {
+        return OFFSET + " + 1 + (" + expression + ") % " + USERS;
+    }
+
+    private static String activityOf(String expression) {
+        return OFFSET + " + 1 + (" + expression + ") % " + ACTIVITIES;
+    }
+
+    @Test
+    void finderQueriesDoNotScanSeededTables() {
+        SoftAssertions softly = new SoftAssertions();
+        finders()
+            .forEach((finder, call) -> {
+                List<QueryInfo> statements = capture(call);
+                softly.assertThat(statements).as("statements of %s", finder).isNotEmpty();
+                for (QueryInfo statement : statements) {
+                    String plan = explain(statement);
+                    for (String table : SEEDED_TABLES) {
+                        softly
+                            .assertThat(plan)
+                            .as("plan of %s%n%s%n%s", finder, statement.getQuery(), plan)
+                            .doesNotContain("Seq Scan on " + table + " ");
+                    }
+                }
+            });
+        softly.assertAll();
+    }
+
+    /**
+     * Run a finder, returning the statements it sent to the database.
+     */
+    private List<QueryInfo> capture(Runnable finder) {
+        captured.clear();
+        recordingThread = Thread.currentThread();
+        try {
+            finder.run();
+        } catch (IncorrectResultSizeDataAccessException e) {
+            // Single-result finders over the seeded rows: the statement ran, only its plan matters here
+        } finally {
+            recordingThread = null;
+        }
+        return new ArrayList<>(captured);
+    }
+
+    /**
+     * EXPLAIN a captured statement, bound to the parameters it was executed with.
+     */
+    private String explain(QueryInfo statement) {
+        List<ParameterSetOperation> parameters = statement.getParametersList().isEmpty()
+            ? List.of()
+            : statement.getParametersList().get(0);
+        StringBuilder plan = new StringBuilder();
+        em.unwrap(Session.class)
+            .doWork(connection -> {
+                try (PreparedStatement explain = connection.prepareStatement("explain " + statement.getQuery())) {
+                    for (ParameterSetOperation parameter : parameters) {
+                        parameter.getMethod().invoke(explain, parameter.getArgs());
+                    }
+                    try (ResultSet rows = explain.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                } catch (ReflectiveOperationException e) {
+                    throw new IllegalStateException("Could not bind the parameters of " + statement.getQuery(), e);
+                }
+            });
+        return plan.toString();
+    }
+
+    private Map<String, Runnable> finders() {
+        User user = em.getReference(User.class, USER_ID);
+        User otherUser = em.getReference(User.class, OTHER_USER_ID);
+        Activity activity = em.getReference(Activity.class, ACTIVITY_ID);
+        Meet meet = em.getReference(Meet.class, MEET_ID);
+        Map<String, Runnable> finders = new LinkedHashMap<>();
+
+        finders.put("ActivityRepository#findByUserIsCurrentUser", activityRepository::findByUserIsCurrentUser);
+        finders.put("ActivityRepository#findDetailsById", () -> activityRepository.findDetailsById(ACTIVITY_ID, USER_LOGIN));
+        finders.put("ActivityRepository#findVersionById", () -> activityRepository.findVersionById(ACTIVITY_ID));
+
+        finders.put("ActivityTagRepository#findAllByActivity", () -> activityTagRepository.findAllByActivity(activity));
+        finders.put("ActivityTagRepository#findTagIdsByActivityId", () -> activityTagRepository.findTagIdsByActivityId(ACTIVITY_ID));
+        finders.put("ActivityTagRepository#findByUserIsCurrentUser", activityTagRepository::findByUserIsCurrentUser);
+
+        finders.put("ParticipantRepository#findByUserIsCurrentUser", participantRepository::findByUserIsCurrentUser);
+        finders.put("ParticipantRepository#findByActivity", () -> participantRepository.findByActivity(PAGE, activity));
+        finders.put(
+            "ParticipantRepository#findParticipantDtosByActivityId",
+            () -> participantRepository.findParticipantDtosByActivityId(ACTIVITY_ID, PAGE)
+        );
+        finders.put("ParticipantRepository#findAllUsersByActivityId", () -> participantRepository.findAllUsersByActivityId(ACTIVITY_ID));
+        finders.put(
+            "ParticipantRepository#findUserLoginsByActivityId",
+            () -> participantRepository.findUserLoginsByActivityId(ACTIVITY_ID, PageRequest.of(0, 10))
+        );
+        finders.put("ParticipantRepository#findByActivityAndUser", () -> participantRepository.findByActivityAndUser(activity, user));
+
+        finders.put("RequestRepository#findByUserIsCurrentUser", requestRepository::findByUserIsCurrentUser);
+        finders.put("RequestRepository#existsByUserAndMeet", () -> requestRepository.existsByUserAndMeet(user, meet));
+        finders.put(
+            "RequestRepository#findRequestsWithMatchingUserLoginInMeet",
+            () -> requestRepository.findRequestsWithMatchingUserLoginInMeet(PAGE, USER_LOGIN)
+        );
+        finders.put("RequestRepository#countReceivedByOwnerId", () -> requestRepository.countReceivedByOwnerId(USER_ID));
+
+        finders.put("MeetRepository#findByUserIsCurrentUser", meetRepository::findByUserIsCurrentUser);
+        finders.put("MeetRepository#findByUserAndIsEnabledTrue", () -> meetRepository.findByUserAndIsEnabledTrue(user));
+        finders.put("MeetRepository#findEnabledByUserLogin", () -> meetRepository.findEnabledByUserLogin(USER_LOGIN));
+        finders.put("MeetRepository#findByUserNotAndIsEnabledTrue", () -> meetRepository.findByUserNotAndIsEnabledTrue(PAGE, user));
+        finders.put(
+            "MeetRepository#findEnabledWithRequestStatusByUserNot",
+            () -> meetRepository.findEnabledWithRequestStatusByUserNot(user, PAGE)
+        );
+        finders.put("MeetRepository#findByIsEnabledTrue", meetRepository::findByIsEnabledTrue);
+        finders.put("MeetRepository#findByUser", () -> meetRepository.findByUser(user));
+
+        finders.put("ConversationRepository#findInboxByUserId", () -> conversationRepository.findInboxByUserId(USER_ID, PAGE));
+        finders.put(
+            "ConversationRepository#findFirstInboxSliceByUserId",
+            () -> conversationRepository.findFirstInboxSliceByUserId(USER_ID, PAGE)
+        );
+        finders.put(
+            "ConversationRepository#findInboxSliceByUserIdAfter",
+            () -> conversationRepository.findInboxSliceByUserIdAfter(USER_ID, OFFSET + CONVERSATIONS, PAGE)
+        );
+        finders.put("ConversationRepository#findByBothUsers", () -> conversationRepository.findByBothUsers(user, otherUser));
+        finders.put(
+            "ConversationRepository#existsByIdAndUsersId",
+            () -> conversationRepository.existsByIdAndUsersId(CONVERSATION_ID, USER_ID)
+        );
+
+        finders.put(
+            "ConversationMessageRepository#findBefore",
+            () -> conversationMessageRepository.findBefore(CONVERSATION_ID, (long) MESSAGES, PAGE)
+        );
+        finders.put(
+            "ConversationMessageRepository#findAfter",
+            () -> conversationMessageRepository.findAfter(CONVERSATION_ID, 0L, PAGE)
+        );
+
+        // Last, as it clears the persistence context
+        finders.put("MeetRepository#disableEnabledByUser", () -> meetRepository.disableEnabledByUser(user));
+        return finders;
+    }
+
+    /**
+     * Records the statements of the finder being captured.
+     */
+    private final class CapturingListener implements QueryExecutionListener {
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {}
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (Thread.currentThread() == recordingThread) {
+                captured.addAll(queryInfoList);
+            }
+        }
+    }
+}
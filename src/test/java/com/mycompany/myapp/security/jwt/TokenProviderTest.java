@@ -8,6 +8,7 @@ import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
@@ -26,6 +27,7 @@ class TokenProviderTest {
     private static final long ONE_MINUTE = 60000;
 
     private Key key;
+    private MeterRegistry meterRegistry;
     private TokenProvider tokenProvider;
 
     @BeforeEach
@@ -34,7 +36,8 @@ class TokenProviderTest {
         String base64Secret = "fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8";
         jHipsterProperties.getSecurity().getAuthentication().getJwt().setBase64Secret(base64Secret);
 
-        SecurityMetersService securityMetersService = new SecurityMetersService(new SimpleMeterRegistry());
+        meterRegistry = new SimpleMeterRegistry();
+        SecurityMetersService securityMetersService = new SecurityMetersService(meterRegistry);
 
         tokenProvider = new TokenProvider(jHipsterProperties, securityMetersService);
         key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret));
@@ -88,6 +91,60 @@ class TokenProviderTest {
         assertThat(isTokenValid).isFalse();
     }
 
+    @Test
+    void testAuthenticateParsesTokenOnce() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        Optional<Authentication> first = tokenProvider.authenticate(token);
+        Optional<Authentication> second = tokenProvider.authenticate(token);
+
+        assertThat(first).isPresent();
+        assertThat(first.get().getName()).isEqualTo("anonymous");
+        assertThat(second).containsSame(first.get());
+        assertThat(tokenCacheCount("miss")).isEqualTo(1);
+        assertThat(tokenCacheCount("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void testAuthenticateRejectsInvalidToken() {
+        assertThat(tokenProvider.authenticate(createTokenWithDifferentSignature())).isEmpty();
+        assertThat(tokenProvider.authenticate(createTokenWithDifferentSignature())).isEmpty();
+
+        assertThat(tokenCacheCount("hit")).isZero();
+        assertThat(meterRegistry.get("security.authentication.invalid-tokens").tag("cause", "invalid-signature").counter().count())
+            .isEqualTo(2);
+    }
+
+    @Test
+    void testAuthenticateDoesNotServeExpiredToken() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.authenticate(token)).isEmpty();
+        assertThat(tokenProvider.authenticate(token)).isEmpty();
+        assertThat(tokenCacheCount("hit")).isZero();
+    }
+
+    @Test
+    void testAuthenticateEvictsLeastRecentlyUsedToken() {
+        String recent = tokenProvider.createToken(createAuthentication("recent"), false);
+        String eldest = tokenProvider.createToken(createAuthentication("eldest"), false);
+        tokenProvider.authenticate(eldest);
+        tokenProvider.authenticate(recent);
+        for (int i = 2; i < TokenProvider.TOKEN_CACHE_MAX_SIZE; i++) {
+            tokenProvider.authenticate(tokenProvider.createToken(createAuthentication("user" + i), false));
+        }
+        assertThat(tokenProvider.authenticate(recent)).isPresent();
+        assertThat(tokenCacheCount("hit")).isEqualTo(1);
+
+        tokenProvider.authenticate(tokenProvider.createToken(createAuthentication("overflow"), false));
+
+        assertThat(tokenProvider.authenticate(recent)).isPresent();
+        assertThat(tokenCacheCount("hit")).isEqualTo(2);
+        assertThat(tokenProvider.authenticate(eldest)).isPresent();
+        assertThat(tokenCacheCount("hit")).isEqualTo(2);
+    }
+
     @Test
     void testKeyIsSetFromSecretWhenSecretIsNotEmpty() {
         final String secret = "NwskoUmKHZtzGRKJKVjsJF7BtQMMxNWi";
@@ -116,10 +173,18 @@ class TokenProviderTest {
         assertThat(key).isNotNull().isEqualTo(Keys.hmacShaKeyFor(Decoders.BASE64.decode(base64Secret)));
     }
 
+    private double tokenCacheCount(String result) {
+        return meterRegistry.get("security.authentication.token-cache").tag("result", result).counter().count();
+    }
+
     private Authentication createAuthentication() {
+        return createAuthentication("anonymous");
+    }
+
+    private Authentication createAuthentication(String name) {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
-        return new UsernamePasswordAuthenticationToken("anonymous", "anonymous", authorities);
+        return new UsernamePasswordAuthenticationToken(name, name, authorities);
     }
 
     private String createUnsupportedToken() {
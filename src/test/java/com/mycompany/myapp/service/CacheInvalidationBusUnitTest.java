@@ -0,0 +1,164 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Conversation;
+import com.mycompany.myapp.domain.Meet;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.CacheImplementor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Test class for the {@link CacheInvalidationBus}.
+ */
+class CacheInvalidationBusUnitTest {
+
+    private static final String CACHE_NAME = "usersByLogin";
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    void setup() {
+        applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getInvalidation().setEnabled(true);
+        applicationProperties.getCache().getInvalidation().setMaxKeysPerRegion(2);
+        cacheManager = mock(CacheManager.class);
+        cacheInvalidationBus = newBus();
+    }
+
+    private CacheInvalidationBus newBus() {
+        return newBus(mock(EntityManagerFactory.class));
+    }
+
+    private CacheInvalidationBus newBus(EntityManagerFactory entityManagerFactory) {
+        return new CacheInvalidationBus(
+            entityManagerFactory,
+            cacheManager,
+            mock(JdbcTemplate.class),
+            mock(PlatformTransactionManager.class),
+            new DataSourceProperties(),
+            applicationProperties
+        );
+    }
+
+    private static List<String> lines(String payload) {
+        List<String> lines = Arrays.asList(payload.split("\n"));
+        return lines.subList(1, lines.size());
+    }
+
+    @Test
+    void evictionsAreCoalescedPerRegion() {
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "admin");
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "admin");
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "user");
+        cacheInvalidationBus.publishRegionEviction("catalog");
+
+        List<String> payloads = cacheInvalidationBus.drain();
+
+        assertThat(payloads).hasSize(1);
+        assertThat(lines(payloads.get(0))).containsExactlyInAnyOrder("S" + CACHE_NAME + "\tadmin", "S" + CACHE_NAME + "\tuser", "Rcatalog");
+        assertThat(cacheInvalidationBus.drain()).isEmpty();
+    }
+
+    @Test
+    void regionIsEvictedAsAWholePastMaxKeys() {
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "admin");
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "user");
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "other");
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "another");
+
+        assertThat(lines(cacheInvalidationBus.drain().get(0))).containsExactly("S" + CACHE_NAME);
+    }
+
+    @Test
+    void largeBatchesAreSplitIntoSeveralNotifications() {
+        applicationProperties.getCache().getInvalidation().setMaxKeysPerRegion(10_000);
+        for (int i = 0; i < 2_000; i++) {
+            cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "user-" + i);
+        }
+
+        List<String> payloads = cacheInvalidationBus.drain();
+
+        assertThat(payloads).hasSizeGreaterThan(1);
+        assertThat(payloads).allSatisfy(payload -> assertThat(payload.getBytes(StandardCharsets.UTF_8).length).isLessThan(8000));
+        assertThat(payloads.stream().mapToInt(payload -> lines(payload).size()).sum()).isEqualTo(2_000);
+    }
+
+    @Test
+    void evictionsOfOtherNodesAreApplied() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        AtomicInteger evictions = new AtomicInteger();
+        cacheInvalidationBus.onRegionEviction("catalog", evictions::incrementAndGet);
+        CacheInvalidationBus otherNode = newBus();
+        otherNode.publishCacheEviction(CACHE_NAME, "admin");
+        otherNode.publishRegionEviction("catalog");
+
+        otherNode.drain().forEach(cacheInvalidationBus::apply);
+
+        verify(cache).evict("admin");
+        assertThat(evictions).hasValue(1);
+    }
+
+    @Test
+    void bulkChangesEvictEntitiesOnOtherNodes() {
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        doReturn(Long.class)
+            .when(sessionFactory.getMetamodel().entityPersister(Conversation.class.getName()).getIdentifierType())
+            .getReturnedClass();
+        CacheImplementor secondLevelCache = mock(CacheImplementor.class);
+        when(sessionFactory.getCache()).thenReturn(secondLevelCache);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        CacheInvalidationBus otherNode = newBus(entityManagerFactory);
+        // Meets disabled by a bulk update, and a conversation whose last message was moved by a native update
+        cacheInvalidationBus.publishEntityEviction(Meet.class);
+        cacheInvalidationBus.publishEntityEviction(Conversation.class, 42L);
+
+        cacheInvalidationBus.drain().forEach(otherNode::apply);
+
+        verify(secondLevelCache).evictEntityData(Meet.class.getName());
+        verify(secondLevelCache).evictEntityData(Conversation.class.getName(), 42L);
+    }
+
+    @Test
+    void ownEvictionsAreIgnored() {
+        Cache cache = mock(Cache.class);
+        when(cacheManager.getCache(CACHE_NAME)).thenReturn(cache);
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "admin");
+
+        cacheInvalidationBus.drain().forEach(cacheInvalidationBus::apply);
+
+        verify(cache, never()).evict("admin");
+    }
+
+    @Test
+    void nothingIsPublishedWhenDisabled() {
+        applicationProperties.getCache().getInvalidation().setEnabled(false);
+        cacheInvalidationBus.publishCacheEviction(CACHE_NAME, "admin");
+
+        assertThat(cacheInvalidationBus.drain()).isEmpty();
+    }
+}
@@ -0,0 +1,107 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Optional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * Test class for the {@link CurrentUserService}.
+ */
+class CurrentUserServiceUnitTest {
+
+    private UserRepository userRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private CurrentUserService currentUserService;
+
+    @BeforeEach
+    void setup() {
+        userRepository = mock(UserRepository.class);
+        meterRegistry = new SimpleMeterRegistry();
+        currentUserService = new CurrentUserService(userRepository, meterRegistry);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void cleanup() {
+        RequestContextHolder.resetRequestAttributes();
+        SecurityContextHolder.clearContext();
+    }
+
+    private void login(String login) {
+        SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
+        securityContext.setAuthentication(new UsernamePasswordAuthenticationToken(login, login));
+        SecurityContextHolder.setContext(securityContext);
+    }
+
+    private double count(String result) {
+        return meterRegistry
+            .get(CurrentUserService.RESOLUTIONS_METER_NAME)
+            .tag(CurrentUserService.RESOLUTIONS_METER_RESULT_DIMENSION, result)
+            .counter()
+            .count();
+    }
+
+    @Test
+    void testResolvesOncePerRequest() {
+        User user = new User();
+        user.setLogin("user");
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenReturn(Optional.of(user));
+        login("user");
+
+        assertThat(currentUserService.getCurrentUser()).containsSame(user);
+        assertThat(currentUserService.getCurrentUser()).containsSame(user);
+
+        verify(userRepository, times(1)).findOneWithAuthoritiesByLogin("user");
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void testEvictForcesNewLookup() {
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenReturn(Optional.of(new User()));
+        login("user");
+
+        currentUserService.getCurrentUser();
+        currentUserService.evict();
+        currentUserService.getCurrentUser();
+
+        verify(userRepository, times(2)).findOneWithAuthoritiesByLogin("user");
+        assertThat(count("miss")).isEqualTo(2);
+    }
+
+    @Test
+    void testPrincipalChangeIsNotServedStaleUser() {
+        when(userRepository.findOneWithAuthoritiesByLogin("user")).thenReturn(Optional.of(new User()));
+        when(userRepository.findOneWithAuthoritiesByLogin("admin")).thenReturn(Optional.empty());
+
+        login("user");
+        assertThat(currentUserService.getCurrentUser()).isPresent();
+        login("admin");
+        assertThat(currentUserService.getCurrentUser()).isEmpty();
+    }
+
+    @Test
+    void testAnonymousHasNoUser() {
+        assertThat(currentUserService.getCurrentUser()).isEmpty();
+        assertThat(count("miss")).isZero();
+    }
+}
@@ -0,0 +1,195 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Tag;
+import com.mycompany.myapp.repository.TagRepository;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Integration tests for {@link DatasetGenerator}, with a dataset small enough to span a few batches per table.
+ */
+@IntegrationTest
+class DatasetGeneratorIT {
+
+    private static final long SEED = 7;
+
+    /**
+     * Columns compared between two generations, the first one being the one the rows of the dataset are selected on.
+     */
+    private static final Map<String, String> COLUMNS = new LinkedHashMap<>();
+
+    static {
+        COLUMNS.put("jhi_user", "id, login, password_hash, first_name, last_name, activated, lang_key, created_by");
+        COLUMNS.put("jhi_user_authority", "user_id, authority_name");
+        COLUMNS.put("tag", "id, title");
+        COLUMNS.put("activity", "id, title, description, date, user_id");
+        COLUMNS.put("activity_tag", "id, tag_id, activity_id, user_id");
+        COLUMNS.put("participant", "id, activity_id, user_id");
+        COLUMNS.put("meet", "id, description, is_enabled, user_id");
+        COLUMNS.put("request", "id, meet_id, user_id");
+        COLUMNS.put("conversation", "id, user_low_id, user_high_id, message_count, last_message_id");
+        COLUMNS.put("rel_conversation__user", "conversation_id, user_id");
+        COLUMNS.put("conversation_message", "id, conversation_id, seq, sender_id, content, date");
+        COLUMNS.put("activity_feed", "id, title, description, date, owner_id, owner_login, participant_count");
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private TagCatalogService tagCatalogService;
+
+    @Autowired
+    private TagRepository tagRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void deleteDataset() {
+        jdbcTemplate.update("delete from tag where title like 'after-dataset-%'");
+        Long firstUserId = firstUserId();
+        if (firstUserId == null) {
+            return;
+        }
+        List<String> tables = new ArrayList<>(COLUMNS.keySet());
+        for (int i = tables.size() - 1; i >= 0; i--) {
+            String table = tables.get(i);
+            jdbcTemplate.update("delete from " + table + " where " + selectedColumn(table) + " >= ?", firstUserId);
+        }
+        tagCatalogService.invalidate();
+    }
+
+    @Test
+    void generateInsertsTheConfiguredRows() throws SQLException {
+        Map<String, Long> rows = generator().generate();
+
+        assertThat(rows)
+            .containsEntry("jhi_user", 10L)
+            .containsEntry("jhi_user_authority", 10L)
+            .containsEntry("tag", 5L)
+            .containsEntry("activity", 20L)
+            .containsEntry("activity_tag", 40L)
+            .containsEntry("meet", 20L)
+            .containsEntry("request", 40L)
+            .containsEntry("conversation", 8L)
+            .containsEntry("rel_conversation__user", 16L)
+            .containsEntry("conversation_message", 24L);
+        assertThat(rows.get("participant")).isBetween(1L, 20L * 4);
+        assertThat(rows.get("activity_feed")).isGreaterThanOrEqualTo(20L);
+
+        long firstUserId = firstUserId();
+        for (String table : COLUMNS.keySet()) {
+            long expected = "activity_feed".equals(table) ? rows.get("activity") : rows.get(table);
+            assertThat(count(table, firstUserId)).as(table).isEqualTo(expected);
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from meet where is_enabled = true and id >= ?", Long.class, firstUserId))
+            .isEqualTo(10L);
+    }
+
+    @Test
+    void generateIsDeterministicForASeed() throws SQLException {
+        generator().generate();
+        Map<String, List<List<Object>>> first = snapshot();
+        deleteDataset();
+
+        generator().generate();
+        Map<String, List<List<Object>>> second = snapshot();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(first.get("activity_tag")).isNotEmpty();
+    }
+
+    @Test
+    void entitiesSavedAfterGenerateDoNotCollideWithTheDataset() throws SQLException {
+        generator().generate();
+        long firstUserId = firstUserId();
+        // Messages take the last ids reserved by the generator
+        long lastId = jdbcTemplate.queryForObject("select max(id) from conversation_message where id >= ?", Long.class, firstUserId);
+
+        // More than one block of ids of the pooled optimizer
+        for (int i = 0; i < 60; i++) {
+            Tag tag = new Tag();
+            tag.setTitle("after-dataset-" + i);
+            assertThat(tagRepository.saveAndFlush(tag).getId()).isNotBetween(firstUserId, lastId);
+        }
+    }
+
+    private DatasetGenerator generator() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        ApplicationProperties.Dataset dataset = applicationProperties.getDataset();
+        dataset.setSeed(SEED);
+        dataset.setUsers(10);
+        dataset.setActivities(20);
+        dataset.setTags(5);
+        dataset.setTagsPerActivity(2);
+        dataset.setParticipantsPerActivity(2);
+        dataset.setMeetsPerUser(2);
+        dataset.setRequestsPerMeet(2);
+        dataset.setConversations(8);
+        dataset.setMessagesPerConversation(3);
+        dataset.setCelebrityHosts(2);
+        dataset.setBatchSize(7);
+        return new DatasetGenerator(dataSource, activityFeedService, tagCatalogService, applicationProperties);
+    }
+
+    /**
+     * Id of the first generated user: every generated id is above it.
+     */
+    private Long firstUserId() {
+        return jdbcTemplate.queryForObject("select min(id) from jhi_user where login like ?", Long.class, "dataset-" + SEED + "-%");
+    }
+
+    private long count(String table, long firstUserId) {
+        String sql = "select count(*) from " + table + " where " + selectedColumn(table) + " >= ?";
+        return jdbcTemplate.queryForObject(sql, Long.class, firstUserId);
+    }
+
+    /**
+     * Rows of the dataset, with their ids made relative to the first generated user.
+     */
+    private Map<String, List<List<Object>>> snapshot() {
+        long firstUserId = firstUserId();
+        Map<String, List<List<Object>>> snapshot = new LinkedHashMap<>();
+        COLUMNS.forEach((table, columns) ->
+            snapshot.put(
+                table,
+                jdbcTemplate.query(
+                    "select " + columns + " from " + table + " where " + selectedColumn(table) + " >= ? order by " + columns,
+                    (resultSet, rowNum) -> {
+                        List<Object> row = new ArrayList<>();
+                        for (int column = 1; column <= resultSet.getMetaData().getColumnCount(); column++) {
+                            String name = resultSet.getMetaData().getColumnLabel(column).toLowerCase();
+                            Object value = resultSet.getObject(column);
+                            boolean id = "id".equals(name) || name.endsWith("_id");
+                            row.add(id && value != null ? ((Number) value).longValue() - firstUserId : value);
+                        }
+                        return row;
+                    },
+                    firstUserId
+                )
+            )
+        );
+        return snapshot;
+    }
+
+    private static String selectedColumn(String table) {
+        String columns = COLUMNS.get(table);
+        return columns.substring(0, columns.indexOf(','));
+    }
+}
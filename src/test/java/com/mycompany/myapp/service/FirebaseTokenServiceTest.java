@@ -0,0 +1,124 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.task.TaskRejectedException;
+
+/**
+ * Test class for the {@link FirebaseTokenService}.
+ */
+class FirebaseTokenServiceTest {
+
+    private LocalFirebaseTokenSigner localSigner;
+
+    private AtomicInteger signings;
+
+    private ApplicationProperties applicationProperties;
+
+    private FirebaseTokenService firebaseTokenService;
+
+    @BeforeEach
+    public void setup() {
+        localSigner = new LocalFirebaseTokenSigner();
+        signings = new AtomicInteger();
+        applicationProperties = new ApplicationProperties();
+        FirebaseTokenSigner countingSigner = uid -> {
+            signings.incrementAndGet();
+            return localSigner.createCustomToken(uid);
+        };
+        firebaseTokenService = new FirebaseTokenService(countingSigner, Runnable::run, applicationProperties);
+    }
+
+    @Test
+    void testTokenIsSignedForLogin() {
+        String token = firebaseTokenService.getToken("alice").join();
+
+        Claims claims = Jwts.parserBuilder().setSigningKey(localSigner.getKeyPair().getPublic()).build().parseClaimsJws(token).getBody();
+        assertThat(claims.get("uid")).isEqualTo("alice");
+        assertThat(claims.getAudience()).isEqualTo(LocalFirebaseTokenSigner.AUDIENCE);
+        assertThat(claims.getExpiration().getTime() - claims.getIssuedAt().getTime()).isEqualTo(Duration.ofHours(1).toMillis());
+    }
+
+    @Test
+    void testTokenIsReusedPerLogin() {
+        String first = firebaseTokenService.getToken("alice").join();
+        String second = firebaseTokenService.getToken("alice").join();
+        String other = firebaseTokenService.getToken("bob").join();
+
+        assertThat(second).isEqualTo(first);
+        assertThat(other).isNotEqualTo(first);
+        assertThat(signings).hasValue(2);
+    }
+
+    @Test
+    void testConcurrentRequestsShareOneSigning() {
+        CompletableFuture<Void> release = new CompletableFuture<>();
+        Executor delayed = command -> release.thenRun(command);
+        firebaseTokenService = new FirebaseTokenService(uid -> "token-" + signings.incrementAndGet(), delayed, applicationProperties);
+
+        CompletableFuture<String> first = firebaseTokenService.getToken("alice");
+        CompletableFuture<String> second = firebaseTokenService.getToken("alice");
+        release.complete(null);
+
+        assertThat(first.join()).isEqualTo("token-1");
+        assertThat(second.join()).isEqualTo("token-1");
+    }
+
+    @Test
+    void testFailedSigningIsNotCached() {
+        firebaseTokenService =
+            new FirebaseTokenService(
+                uid -> {
+                    if (signings.incrementAndGet() == 1) {
+                        throw new IllegalStateException("Firebase is not initialized");
+                    }
+                    return "token";
+                },
+                Runnable::run,
+                applicationProperties
+            );
+
+        assertThat(firebaseTokenService.getToken("alice")).isCompletedExceptionally();
+        assertThat(firebaseTokenService.getToken("alice").join()).isEqualTo("token");
+    }
+
+    @Test
+    void testInlineTokenCanBeDisabled() {
+        applicationProperties.getFirebase().setInlineToken(false);
+
+        assertThat(firebaseTokenService.getInlineToken("alice")).isEmpty();
+        assertThat(signings).hasValue(0);
+    }
+
+    @Test
+    void testInlineTokenIsOmittedWhenSigningIsTooSlow() {
+        applicationProperties.getFirebase().setInlineTimeout(Duration.ofMillis(10));
+        firebaseTokenService = new FirebaseTokenService(uid -> "token", command -> {}, applicationProperties);
+
+        assertThat(firebaseTokenService.getInlineToken("alice")).isEmpty();
+    }
+
+    @Test
+    void testSaturatedExecutorOmitsInlineToken() {
+        AtomicInteger submissions = new AtomicInteger();
+        Executor saturated = command -> {
+            if (submissions.incrementAndGet() == 1) {
+                throw new TaskRejectedException("Executor is saturated");
+            }
+            command.run();
+        };
+        firebaseTokenService = new FirebaseTokenService(uid -> "token", saturated, applicationProperties);
+
+        assertThat(firebaseTokenService.getInlineToken("alice")).isEmpty();
+        assertThat(firebaseTokenService.getInlineToken("alice")).contains("token");
+    }
+}
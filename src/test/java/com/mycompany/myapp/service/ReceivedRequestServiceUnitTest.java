@@ -0,0 +1,168 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.config.ApplicationProperties;
+import com.mycompany.myapp.domain.Meet;
+import com.mycompany.myapp.domain.Request;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.GetRequestDto;
+import com.mycompany.myapp.repository.RequestRepository;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Test class for the {@link ReceivedRequestService}.
+ */
+class ReceivedRequestServiceUnitTest {
+
+    private static final Long OWNER_ID = 42L;
+
+    private RequestRepository requestRepository;
+
+    private ReceivedRequestService receivedRequestService;
+
+    @BeforeEach
+    void setup() {
+        requestRepository = mock(RequestRepository.class);
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getReceivedRequests().setMaxStreamsPerUser(2);
+        receivedRequestService = new ReceivedRequestService(requestRepository, Runnable::run, applicationProperties);
+    }
+
+    private Request request(boolean enabledMeet) {
+        User owner = new User();
+        owner.setId(OWNER_ID);
+        owner.setLogin("owner");
+        User requester = new User();
+        requester.setId(43L);
+        requester.setLogin("requester");
+        return Request.builder().id(1L).user(requester).meet(Meet.builder().user(owner).isEnabled(enabledMeet).build()).build();
+    }
+
+    @Test
+    void countIsReadOnceThenKeptUpToDate() {
+        when(requestRepository.countReceivedByOwnerId(OWNER_ID)).thenReturn(3L);
+
+        assertThat(receivedRequestService.getCount(OWNER_ID)).isEqualTo(3L);
+        receivedRequestService.requestCreated(request(true));
+        assertThat(receivedRequestService.getCount(OWNER_ID)).isEqualTo(4L);
+        receivedRequestService.requestDeleted(request(true));
+        receivedRequestService.requestDeleted(request(true));
+        assertThat(receivedRequestService.getCount(OWNER_ID)).isEqualTo(2L);
+        receivedRequestService.requestDeleted(request(false));
+        assertThat(receivedRequestService.getCount(OWNER_ID)).isEqualTo(2L);
+
+        verify(requestRepository, times(1)).countReceivedByOwnerId(OWNER_ID);
+    }
+
+    @Test
+    void meetChangeReadsTheCountAgain() {
+        when(requestRepository.countReceivedByOwnerId(OWNER_ID)).thenReturn(3L, 0L);
+
+        assertThat(receivedRequestService.getCount(OWNER_ID)).isEqualTo(3L);
+        receivedRequestService.meetsChanged(OWNER_ID);
+        assertThat(receivedRequestService.getCount(OWNER_ID)).isEqualTo(0L);
+
+        verify(requestRepository, times(2)).countReceivedByOwnerId(OWNER_ID);
+    }
+
+    @Test
+    void streamsGetNewRequestsAndCounts() {
+        when(requestRepository.countReceivedByOwnerId(OWNER_ID)).thenReturn(3L);
+        receivedRequestService.getCount(OWNER_ID);
+        CapturingSseEmitter emitter = new CapturingSseEmitter();
+        receivedRequestService.register(OWNER_ID, emitter);
+
+        receivedRequestService.requestCreated(request(true));
+
+        assertThat(emitter.events).hasSize(2);
+        assertThat(emitter.events.get(0)).contains("event:" + ReceivedRequestService.REQUEST_EVENT);
+        assertThat(emitter.payloads.get(0))
+            .isInstanceOfSatisfying(GetRequestDto.class, dto -> assertThat(dto.getUserName()).isEqualTo("requester"));
+        assertThat(emitter.events.get(1)).contains("event:" + ReceivedRequestService.COUNT_EVENT).contains("4");
+    }
+
+    @Test
+    void oldestStreamIsClosedAboveTheLimit() {
+        CapturingSseEmitter first = new CapturingSseEmitter();
+        CapturingSseEmitter second = new CapturingSseEmitter();
+        CapturingSseEmitter third = new CapturingSseEmitter();
+        receivedRequestService.register(OWNER_ID, first);
+        receivedRequestService.register(OWNER_ID, second);
+        receivedRequestService.register(OWNER_ID, third);
+
+        receivedRequestService.requestCreated(request(true));
+
+        assertThat(first.events).isEmpty();
+        assertThat(second.events).hasSize(1);
+        assertThat(third.events).hasSize(1);
+    }
+
+    @Test
+    void failingStreamIsDropped() {
+        when(requestRepository.countReceivedByOwnerId(OWNER_ID)).thenReturn(3L);
+        CapturingSseEmitter failing = new CapturingSseEmitter();
+        failing.failing = true;
+        receivedRequestService.register(OWNER_ID, failing);
+
+        receivedRequestService.heartbeat();
+        receivedRequestService.heartbeat();
+
+        assertThat(failing.attempts).isEqualTo(1);
+    }
+
+    @Test
+    void heartbeatRunsOnTheTaskExecutor() {
+        when(requestRepository.countReceivedByOwnerId(OWNER_ID)).thenReturn(3L);
+        List<Runnable> tasks = new ArrayList<>();
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        receivedRequestService = new ReceivedRequestService(requestRepository, tasks::add, applicationProperties);
+        CapturingSseEmitter emitter = new CapturingSseEmitter();
+        receivedRequestService.register(OWNER_ID, emitter);
+
+        receivedRequestService.heartbeat();
+
+        assertThat(tasks).hasSize(1);
+        assertThat(emitter.attempts).isZero();
+        verify(requestRepository, never()).countReceivedByOwnerId(OWNER_ID);
+
+        tasks.forEach(Runnable::run);
+
+        assertThat(emitter.events).hasSize(1);
+        assertThat(emitter.events.get(0)).contains("event:" + ReceivedRequestService.COUNT_EVENT).contains("3");
+    }
+
+    private static class CapturingSseEmitter extends SseEmitter {
+
+        private final List<String> events = new ArrayList<>();
+
+        private final List<Object> payloads = new ArrayList<>();
+
+        private boolean failing;
+
+        private int attempts;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            attempts++;
+            if (failing) {
+                throw new IOException("Broken pipe");
+            }
+            Set<DataWithMediaType> parts = builder.build();
+            events.add(parts.stream().map(part -> part.getData().toString()).collect(Collectors.joining()));
+            parts.stream().filter(part -> !(part.getData() instanceof String)).map(DataWithMediaType::getData).forEach(payloads::add);
+        }
+    }
+}
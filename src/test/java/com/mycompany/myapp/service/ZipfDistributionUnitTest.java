@@ -0,0 +1,54 @@
+package com.mycompany.myapp.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link ZipfDistribution}.
+ */
+class ZipfDistributionUnitTest {
+
+    private static final int DRAWS = 100_000;
+
+    private static int[] histogram(ZipfDistribution distribution, int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int[] counts = new int[size];
+        for (int i = 0; i < DRAWS; i++) {
+            counts[distribution.sample(random)]++;
+        }
+        return counts;
+    }
+
+    @Test
+    void lowRanksAreDrawnMostOften() {
+        int[] counts = histogram(new ZipfDistribution(100, 1.1), 100, 42);
+
+        assertThat(counts[0]).isGreaterThan(counts[1]).isGreaterThan(counts[10]);
+        assertThat(counts[0] + counts[1] + counts[2]).isGreaterThan(DRAWS / 3);
+        assertThat(counts[99]).isLessThan(DRAWS / 500);
+    }
+
+    @Test
+    void zeroExponentIsUniform() {
+        int[] counts = histogram(new ZipfDistribution(10, 0), 10, 42);
+
+        assertThat(counts).allSatisfy(count -> assertThat(count).isBetween(DRAWS / 10 - 1_000, DRAWS / 10 + 1_000));
+    }
+
+    @Test
+    void sameSeedDrawsSameRanks() {
+        ZipfDistribution distribution = new ZipfDistribution(1_000, 1.1);
+
+        assertThat(histogram(distribution, 1_000, 7)).isEqualTo(histogram(distribution, 1_000, 7));
+        assertThat(IntStream.of(histogram(distribution, 1_000, 7)).sum()).isEqualTo(DRAWS);
+    }
+
+    @Test
+    void emptyDistributionIsRejected() {
+        assertThatThrownBy(() -> new ZipfDistribution(0, 1.1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
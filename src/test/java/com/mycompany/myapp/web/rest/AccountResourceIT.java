@@ -2,13 +2,10 @@ package com.mycompany.myapp.web.rest;
 
 import static com.mycompany.myapp.web.rest.AccountResourceIT.TEST_USER_LOGIN;
 import static org.assertj.core.api.Assertions.assertThat;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-import com.google.firebase.auth.FirebaseAuth;
+import com.jayway.jsonpath.JsonPath;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.config.Constants;
 import com.mycompany.myapp.domain.User;
@@ -25,14 +22,14 @@ import java.time.Instant;
 import java.util.*;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -84,6 +81,19 @@ class AccountResourceIT {
             .andExpect(content().string(TEST_USER_LOGIN));
     }
 
+    @Test
+    void testGetFirebaseToken() throws Exception {
+        MvcResult first = restAccountMockMvc.perform(get("/api/account/firebase-token")).andExpect(request().asyncStarted()).andReturn();
+        String token = JsonPath.read(
+            restAccountMockMvc.perform(asyncDispatch(first)).andExpect(status().isOk()).andReturn().getResponse().getContentAsString(),
+            "$.token"
+        );
+        assertThat(token).isNotBlank();
+
+        MvcResult second = restAccountMockMvc.perform(get("/api/account/firebase-token")).andReturn();
+        restAccountMockMvc.perform(asyncDispatch(second)).andExpect(status().isOk()).andExpect(jsonPath("$.token").value(token));
+    }
+
     @Test
     void testGetExistingAccount() throws Exception {
         Set<String> authorities = new HashSet<>();
@@ -112,6 +122,31 @@ class AccountResourceIT {
             .andExpect(jsonPath("$.authorities").value(AuthoritiesConstants.ADMIN));
     }
 
+    @Test
+    @Transactional
+    void testGetProfileNotModified() throws Exception {
+        AdminUserDTO user = new AdminUserDTO();
+        user.setLogin(TEST_USER_LOGIN);
+        user.setFirstName("john");
+        user.setLastName("doe");
+        user.setEmail("john.doe@jhipster.com");
+        user.setLangKey("en");
+        userService.createUser(user);
+
+        String eTag = restAccountMockMvc
+            .perform(get("/api/account/profile").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fullName").value("john doe"))
+            .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restAccountMockMvc
+            .perform(get("/api/account/profile").accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
     @Test
     void testGetUnknownAccount() throws Exception {
         restAccountMockMvc
@@ -122,33 +157,23 @@ class AccountResourceIT {
     @Test
     @Transactional
     void testRegisterValid() throws Exception {
-        try (MockedStatic<FirebaseAuth> mockedFirebaseAuth = Mockito.mockStatic(FirebaseAuth.class)) {
-            FirebaseAuth mockFirebaseAuthInstance = mock(FirebaseAuth.class);
-
-            // Mock the static method call
-            mockedFirebaseAuth.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuthInstance);
-
-            // Mock the instance method call
-            when(mockFirebaseAuthInstance.createCustomToken(anyString())).thenReturn("MockedFirebaseToken");
-            ManagedUserVM validUser = new ManagedUserVM();
-            validUser.setLogin("test-register-valid");
-            validUser.setPassword("password");
-            validUser.setFirstName("Alice");
-            validUser.setLastName("Test");
-            validUser.setEmail("test-register-valid@example.com");
-            validUser.setImageUrl("http://placehold.it/50x50");
-            validUser.setLangKey(Constants.DEFAULT_LANGUAGE);
-            validUser.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
-            assertThat(userRepository.findOneByLogin("test-register-valid")).isEmpty();
-
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(validUser))
-                )
-                .andExpect(status().isCreated());
-
-            assertThat(userRepository.findOneByLogin("test-register-valid")).isPresent();
-        }
+        ManagedUserVM validUser = new ManagedUserVM();
+        validUser.setLogin("test-register-valid");
+        validUser.setPassword("password");
+        validUser.setFirstName("Alice");
+        validUser.setLastName("Test");
+        validUser.setEmail("test-register-valid@example.com");
+        validUser.setImageUrl("http://placehold.it/50x50");
+        validUser.setLangKey(Constants.DEFAULT_LANGUAGE);
+        validUser.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
+        assertThat(userRepository.findOneByLogin("test-register-valid")).isEmpty();
+
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(validUser)))
+            .andExpect(status().isCreated())
+            .andExpect(header().exists(UserJWTController.FIREBASE_TOKEN_HEADER));
+
+        assertThat(userRepository.findOneByLogin("test-register-valid")).isPresent();
     }
 
     @Test
@@ -242,185 +267,142 @@ class AccountResourceIT {
     @Test
     @Transactional
     void testRegisterDuplicateLogin() throws Exception {
-        try (MockedStatic<FirebaseAuth> mockedFirebaseAuth = Mockito.mockStatic(FirebaseAuth.class)) {
-            FirebaseAuth mockFirebaseAuthInstance = mock(FirebaseAuth.class);
-
-            // Mock the static method call
-            mockedFirebaseAuth.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuthInstance);
-
-            // Mock the instance method call
-            when(mockFirebaseAuthInstance.createCustomToken(anyString())).thenReturn("MockedFirebaseToken");
-            // First registration
-            ManagedUserVM firstUser = new ManagedUserVM();
-            firstUser.setLogin("alice");
-            firstUser.setPassword("password");
-            firstUser.setFirstName("Alice");
-            firstUser.setLastName("Something");
-            firstUser.setEmail("alice@example.com");
-            firstUser.setImageUrl("http://placehold.it/50x50");
-            firstUser.setLangKey(Constants.DEFAULT_LANGUAGE);
-            firstUser.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
-
-            // Duplicate login, different email
-            ManagedUserVM secondUser = new ManagedUserVM();
-            secondUser.setLogin(firstUser.getLogin());
-            secondUser.setPassword(firstUser.getPassword());
-            secondUser.setFirstName(firstUser.getFirstName());
-            secondUser.setLastName(firstUser.getLastName());
-            secondUser.setEmail("alice2@example.com");
-            secondUser.setImageUrl(firstUser.getImageUrl());
-            secondUser.setLangKey(firstUser.getLangKey());
-            secondUser.setCreatedBy(firstUser.getCreatedBy());
-            secondUser.setCreatedDate(firstUser.getCreatedDate());
-            secondUser.setLastModifiedBy(firstUser.getLastModifiedBy());
-            secondUser.setLastModifiedDate(firstUser.getLastModifiedDate());
-            secondUser.setAuthorities(new HashSet<>(firstUser.getAuthorities()));
-
-            // First user
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(firstUser))
-                )
-                .andExpect(status().isCreated());
-
-            // Second (non activated) user
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser))
-                )
-                .andExpect(status().isBadRequest());
-
-            Optional<User> testUser = userRepository.findOneByEmailIgnoreCase("alice2@example.com");
-            assertThat(testUser).isEmpty();
-            // Second (already activated) user
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser))
-                )
-                .andExpect(status().is4xxClientError());
-        }
+        // First registration
+        ManagedUserVM firstUser = new ManagedUserVM();
+        firstUser.setLogin("alice");
+        firstUser.setPassword("password");
+        firstUser.setFirstName("Alice");
+        firstUser.setLastName("Something");
+        firstUser.setEmail("alice@example.com");
+        firstUser.setImageUrl("http://placehold.it/50x50");
+        firstUser.setLangKey(Constants.DEFAULT_LANGUAGE);
+        firstUser.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
+
+        // Duplicate login, different email
+        ManagedUserVM secondUser = new ManagedUserVM();
+        secondUser.setLogin(firstUser.getLogin());
+        secondUser.setPassword(firstUser.getPassword());
+        secondUser.setFirstName(firstUser.getFirstName());
+        secondUser.setLastName(firstUser.getLastName());
+        secondUser.setEmail("alice2@example.com");
+        secondUser.setImageUrl(firstUser.getImageUrl());
+        secondUser.setLangKey(firstUser.getLangKey());
+        secondUser.setCreatedBy(firstUser.getCreatedBy());
+        secondUser.setCreatedDate(firstUser.getCreatedDate());
+        secondUser.setLastModifiedBy(firstUser.getLastModifiedBy());
+        secondUser.setLastModifiedDate(firstUser.getLastModifiedDate());
+        secondUser.setAuthorities(new HashSet<>(firstUser.getAuthorities()));
+
+        // First user
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(firstUser)))
+            .andExpect(status().isCreated());
+
+        // Second (non activated) user
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser)))
+            .andExpect(status().isBadRequest());
+
+        Optional<User> testUser = userRepository.findOneByEmailIgnoreCase("alice2@example.com");
+        assertThat(testUser).isEmpty();
+        // Second (already activated) user
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser)))
+            .andExpect(status().is4xxClientError());
     }
 
     @Test
     @Transactional
     void testRegisterDuplicateEmail() throws Exception {
-        try (MockedStatic<FirebaseAuth> mockedFirebaseAuth = Mockito.mockStatic(FirebaseAuth.class)) {
-            FirebaseAuth mockFirebaseAuthInstance = mock(FirebaseAuth.class);
-
-            // Mock the static method call
-            mockedFirebaseAuth.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuthInstance);
-
-            // Mock the instance method call
-            when(mockFirebaseAuthInstance.createCustomToken(anyString())).thenReturn("MockedFirebaseToken");
-            // First user
-            ManagedUserVM firstUser = new ManagedUserVM();
-            firstUser.setLogin("test-register-duplicate-email");
-            firstUser.setPassword("password");
-            firstUser.setFirstName("Alice");
-            firstUser.setLastName("Test");
-            firstUser.setEmail("test-register-duplicate-email@example.com");
-            firstUser.setImageUrl("http://placehold.it/50x50");
-            firstUser.setLangKey(Constants.DEFAULT_LANGUAGE);
-            firstUser.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
-
-            // Register first user
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(firstUser))
-                )
-                .andExpect(status().isCreated());
-
-            Optional<User> testUser1 = userRepository.findOneByLogin("test-register-duplicate-email");
-            assertThat(testUser1).isPresent();
-
-            // Duplicate email, different login
-            ManagedUserVM secondUser = new ManagedUserVM();
-            secondUser.setLogin("test-register-duplicate-email-2");
-            secondUser.setPassword(firstUser.getPassword());
-            secondUser.setFirstName(firstUser.getFirstName());
-            secondUser.setLastName(firstUser.getLastName());
-            secondUser.setEmail(firstUser.getEmail());
-            secondUser.setImageUrl(firstUser.getImageUrl());
-            secondUser.setLangKey(firstUser.getLangKey());
-            secondUser.setAuthorities(new HashSet<>(firstUser.getAuthorities()));
-
-            // Register second (non activated) user
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser))
-                )
-                .andExpect(status().isBadRequest());
-
-            Optional<User> testUser2 = userRepository.findOneByLogin("test-register-duplicate-email-2");
-            assertThat(testUser2).isEmpty();
-
-            // Duplicate email - with uppercase email address
-            ManagedUserVM userWithUpperCaseEmail = new ManagedUserVM();
-            userWithUpperCaseEmail.setId(firstUser.getId());
-            userWithUpperCaseEmail.setLogin("test-register-duplicate-email-3");
-            userWithUpperCaseEmail.setPassword(firstUser.getPassword());
-            userWithUpperCaseEmail.setFirstName(firstUser.getFirstName());
-            userWithUpperCaseEmail.setLastName(firstUser.getLastName());
-            userWithUpperCaseEmail.setEmail("TEST-register-duplicate-email@example.com");
-            userWithUpperCaseEmail.setImageUrl(firstUser.getImageUrl());
-            userWithUpperCaseEmail.setLangKey(firstUser.getLangKey());
-            userWithUpperCaseEmail.setAuthorities(new HashSet<>(firstUser.getAuthorities()));
-
-            // Register third (not activated) user
-            restAccountMockMvc
-                .perform(
-                    post("/api/register")
-                        .contentType(MediaType.APPLICATION_JSON)
-                        .content(TestUtil.convertObjectToJsonBytes(userWithUpperCaseEmail))
-                )
-                .andExpect(status().isBadRequest());
-
-            Optional<User> testUser4 = userRepository.findOneByLogin("test-register-duplicate-email-3");
-            assertThat(testUser4).isEmpty();
-
-            // Register 4th (already activated) user
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser))
-                )
-                .andExpect(status().is4xxClientError());
-        }
+        // First user
+        ManagedUserVM firstUser = new ManagedUserVM();
+        firstUser.setLogin("test-register-duplicate-email");
+        firstUser.setPassword("password");
+        firstUser.setFirstName("Alice");
+        firstUser.setLastName("Test");
+        firstUser.setEmail("test-register-duplicate-email@example.com");
+        firstUser.setImageUrl("http://placehold.it/50x50");
+        firstUser.setLangKey(Constants.DEFAULT_LANGUAGE);
+        firstUser.setAuthorities(Collections.singleton(AuthoritiesConstants.USER));
+
+        // Register first user
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(firstUser)))
+            .andExpect(status().isCreated());
+
+        Optional<User> testUser1 = userRepository.findOneByLogin("test-register-duplicate-email");
+        assertThat(testUser1).isPresent();
+
+        // Duplicate email, different login
+        ManagedUserVM secondUser = new ManagedUserVM();
+        secondUser.setLogin("test-register-duplicate-email-2");
+        secondUser.setPassword(firstUser.getPassword());
+        secondUser.setFirstName(firstUser.getFirstName());
+        secondUser.setLastName(firstUser.getLastName());
+        secondUser.setEmail(firstUser.getEmail());
+        secondUser.setImageUrl(firstUser.getImageUrl());
+        secondUser.setLangKey(firstUser.getLangKey());
+        secondUser.setAuthorities(new HashSet<>(firstUser.getAuthorities()));
+
+        // Register second (non activated) user
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser)))
+            .andExpect(status().isBadRequest());
+
+        Optional<User> testUser2 = userRepository.findOneByLogin("test-register-duplicate-email-2");
+        assertThat(testUser2).isEmpty();
+
+        // Duplicate email - with uppercase email address
+        ManagedUserVM userWithUpperCaseEmail = new ManagedUserVM();
+        userWithUpperCaseEmail.setId(firstUser.getId());
+        userWithUpperCaseEmail.setLogin("test-register-duplicate-email-3");
+        userWithUpperCaseEmail.setPassword(firstUser.getPassword());
+        userWithUpperCaseEmail.setFirstName(firstUser.getFirstName());
+        userWithUpperCaseEmail.setLastName(firstUser.getLastName());
+        userWithUpperCaseEmail.setEmail("TEST-register-duplicate-email@example.com");
+        userWithUpperCaseEmail.setImageUrl(firstUser.getImageUrl());
+        userWithUpperCaseEmail.setLangKey(firstUser.getLangKey());
+        userWithUpperCaseEmail.setAuthorities(new HashSet<>(firstUser.getAuthorities()));
+
+        // Register third (not activated) user
+        restAccountMockMvc
+            .perform(
+                post("/api/register")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(userWithUpperCaseEmail))
+            )
+            .andExpect(status().isBadRequest());
+
+        Optional<User> testUser4 = userRepository.findOneByLogin("test-register-duplicate-email-3");
+        assertThat(testUser4).isEmpty();
+
+        // Register 4th (already activated) user
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(secondUser)))
+            .andExpect(status().is4xxClientError());
     }
 
     @Test
     @Transactional
     void testRegisterAdminIsIgnored() throws Exception {
-        try (MockedStatic<FirebaseAuth> mockedFirebaseAuth = Mockito.mockStatic(FirebaseAuth.class)) {
-            FirebaseAuth mockFirebaseAuthInstance = mock(FirebaseAuth.class);
-
-            // Mock the static method call
-            mockedFirebaseAuth.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuthInstance);
-
-            // Mock the instance method call
-            when(mockFirebaseAuthInstance.createCustomToken(anyString())).thenReturn("MockedFirebaseToken");
-            ManagedUserVM validUser = new ManagedUserVM();
-            validUser.setLogin("badguy");
-            validUser.setPassword("password");
-            validUser.setFirstName("Bad");
-            validUser.setLastName("Guy");
-            validUser.setEmail("badguy@example.com");
-            validUser.setActivated(true);
-            validUser.setImageUrl("http://placehold.it/50x50");
-            validUser.setLangKey(Constants.DEFAULT_LANGUAGE);
-            validUser.setAuthorities(Collections.singleton(AuthoritiesConstants.ADMIN));
-
-            restAccountMockMvc
-                .perform(
-                    post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(validUser))
-                )
-                .andExpect(status().isCreated());
-
-            Optional<User> userDup = userRepository.findOneWithAuthoritiesByLogin("badguy");
-            assertThat(userDup).isPresent();
-            assertThat(userDup.get().getAuthorities())
-                .hasSize(1)
-                .containsExactly(authorityRepository.findById(AuthoritiesConstants.USER).get());
-        }
+        ManagedUserVM validUser = new ManagedUserVM();
+        validUser.setLogin("badguy");
+        validUser.setPassword("password");
+        validUser.setFirstName("Bad");
+        validUser.setLastName("Guy");
+        validUser.setEmail("badguy@example.com");
+        validUser.setActivated(true);
+        validUser.setImageUrl("http://placehold.it/50x50");
+        validUser.setLangKey(Constants.DEFAULT_LANGUAGE);
+        validUser.setAuthorities(Collections.singleton(AuthoritiesConstants.ADMIN));
+
+        restAccountMockMvc
+            .perform(post("/api/register").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(validUser)))
+            .andExpect(status().isCreated());
+
+        Optional<User> userDup = userRepository.findOneWithAuthoritiesByLogin("badguy");
+        assertThat(userDup).isPresent();
+        assertThat(userDup.get().getAuthorities()).hasSize(1).containsExactly(authorityRepository.findById(AuthoritiesConstants.USER).get());
     }
 
     @Test
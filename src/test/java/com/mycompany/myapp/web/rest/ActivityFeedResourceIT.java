@@ -0,0 +1,65 @@
+package com.mycompany.myapp.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.mycompany.myapp.IntegrationTest;
+import com.mycompany.myapp.domain.Activity;
+import com.mycompany.myapp.repository.ActivityFeedRepository;
+import com.mycompany.myapp.repository.ActivityRepository;
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ActivityFeedResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class ActivityFeedResourceIT {
+
+    private static final String REBUILD_API_URL = "/api/admin/activity-feed/rebuild";
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private ActivityFeedRepository activityFeedRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restActivityFeedMockMvc;
+
+    @Test
+    @Transactional
+    void rebuildActivityFeed() throws Exception {
+        Activity activity = activityRepository.saveAndFlush(ActivityResourceIT.createEntity(em));
+        assertThat(activityFeedRepository.findById(activity.getId())).isEmpty();
+
+        restActivityFeedMockMvc.perform(post(REBUILD_API_URL)).andExpect(status().isOk());
+
+        assertThat(activityFeedRepository.count()).isEqualTo(activityRepository.count());
+        assertThat(activityFeedRepository.findById(activity.getId()))
+            .hasValueSatisfying(entry -> {
+                assertThat(entry.getOwnerId()).isEqualTo(activity.getUser().getId());
+                assertThat(entry.getOwnerLogin()).isEqualTo(activity.getUser().getLogin());
+                assertThat(entry.getParticipantCount()).isZero();
+            });
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser(authorities = AuthoritiesConstants.USER)
+    void rebuildActivityFeedIsForbiddenToUsers() throws Exception {
+        restActivityFeedMockMvc.perform(post(REBUILD_API_URL)).andExpect(status().isForbidden());
+    }
+}
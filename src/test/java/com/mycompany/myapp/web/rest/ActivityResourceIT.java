@@ -1,20 +1,32 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Activity;
+import com.mycompany.myapp.domain.ActivityTag;
+import com.mycompany.myapp.domain.Participant;
 import com.mycompany.myapp.domain.Tag;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.dto.CreateActivityDto;
 import com.mycompany.myapp.dto.GetTagDto;
+import com.mycompany.myapp.management.SqlCountHeaderAdvice;
+import com.mycompany.myapp.repository.ActivityFeedRepository;
 import com.mycompany.myapp.repository.ActivityRepository;
+import com.mycompany.myapp.repository.ActivityTagRepository;
+import com.mycompany.myapp.repository.ParticipantRepository;
 import com.mycompany.myapp.repository.TagRepository;
+import com.mycompany.myapp.service.ActivityFeedService;
+import com.mycompany.myapp.service.TagCatalogService;
 import com.mycompany.myapp.web.rest.TestUtil;
+import com.mycompany.myapp.web.rest.util.KeysetCursor;
+import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
@@ -33,9 +45,11 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
 /**
@@ -74,6 +88,21 @@ class ActivityResourceIT {
     @Autowired
     private TagRepository tagRepository;
 
+    @Autowired
+    private ActivityTagRepository activityTagRepository;
+
+    @Autowired
+    private ParticipantRepository participantRepository;
+
+    @Autowired
+    private ActivityFeedRepository activityFeedRepository;
+
+    @Autowired
+    private ActivityFeedService activityFeedService;
+
+    @Autowired
+    private TagCatalogService tagCatalogService;
+
     @Mock
     private ActivityRepository activityRepositoryMock;
 
@@ -153,6 +182,89 @@ class ActivityResourceIT {
         assertThat(testActivity.getTitle()).isEqualTo(DEFAULT_TITLE);
         assertThat(testActivity.getDescription()).isEqualTo(DEFAULT_DESCRIPTION);
         assertThat(testActivity.getDate()).isEqualTo(DEFAULT_DATE);
+        assertThat(activityFeedRepository.findById(testActivity.getId()))
+            .hasValueSatisfying(entry -> {
+                assertThat(entry.getTitle()).isEqualTo(DEFAULT_TITLE);
+                assertThat(entry.getOwnerLogin()).isEqualTo("user");
+                assertThat(entry.getParticipantCount()).isZero();
+            });
+    }
+
+    @Test
+    @Transactional
+    void createActivityWithManyTags() throws Exception {
+        List<GetTagDto> tags = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Tag tag = tagRepository.saveAndFlush(Tag.builder().title("test " + i).build());
+            tags.add(GetTagDto.builder().id(tag.getId()).title(tag.getTitle()).build());
+        }
+        // A tag given twice is attached once
+        tags.add(tags.get(0));
+        // The first request warms the caches, the second one gives the statements needed for a single tag
+        restActivityMockMvc.perform(createActivityRequest(tags.subList(0, 1))).andExpect(status().isCreated());
+        long baseline = TestUtil.sqlStatementCount(
+            restActivityMockMvc.perform(createActivityRequest(tags.subList(0, 1))).andExpect(status().isCreated()).andReturn()
+        );
+
+        restActivityMockMvc
+            .perform(createActivityRequest(tags))
+            .andExpect(status().isCreated())
+            // Tags are checked with one query and inserted in one batch, plus one call to the pooled sequence at most
+            .andExpect(TestUtil.sqlStatementCountAtMost(baseline + 1));
+
+        List<Activity> activityList = activityRepository.findAll();
+        Activity testActivity = activityList.get(activityList.size() - 1);
+        List<Long> tagIds = activityTagRepository.findTagIdsByActivityId(testActivity.getId());
+        assertThat(tagCatalogService.getCatalog().getTitles(tagIds)).hasSize(10).contains("test 0", "test 9");
+    }
+
+    private MockHttpServletRequestBuilder createActivityRequest(List<GetTagDto> tags) throws IOException {
+        return post(ENTITY_API_URL)
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(
+                TestUtil.convertObjectToJsonBytes(
+                    CreateActivityDto
+                        .builder()
+                        .date(activity.getDate())
+                        .title(activity.getTitle())
+                        .description(activity.getDescription())
+                        .tags(tags)
+                        .build()
+                )
+            );
+    }
+
+    @Test
+    @Transactional
+    void createActivityWithUnknownTagIsRejected() throws Exception {
+        int activityTagsBeforeCreate = activityTagRepository.findAll().size();
+        Tag tag = tagRepository.saveAndFlush(Tag.builder().title("test").build());
+
+        restActivityMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        TestUtil.convertObjectToJsonBytes(
+                            CreateActivityDto
+                                .builder()
+                                .date(activity.getDate())
+                                .title(activity.getTitle())
+                                .description(activity.getDescription())
+                                .tags(
+                                    List.of(
+                                        GetTagDto.builder().id(tag.getId()).title(tag.getTitle()).build(),
+                                        GetTagDto.builder().id(Long.MAX_VALUE).title("unknown").build()
+                                    )
+                                )
+                                .build()
+                        )
+                    )
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.tagnotfound"));
+
+        assertThat(activityTagRepository.findAll()).hasSize(activityTagsBeforeCreate);
     }
 
     @Test
@@ -273,7 +385,163 @@ class ActivityResourceIT {
             .andExpect(jsonPath("$.id").value(activity.getId().intValue()))
             .andExpect(jsonPath("$.title").value(DEFAULT_TITLE))
             .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
-            .andExpect(jsonPath("$.date").value(DEFAULT_DATE.toString()));
+            .andExpect(jsonPath("$.date").value(DEFAULT_DATE.toString()))
+            .andExpect(jsonPath("$.userName").value(activity.getUser().getLogin()))
+            .andExpect(jsonPath("$.isParticipating").value(false))
+            .andExpect(jsonPath("$.participantCount").value(0));
+    }
+
+    @Test
+    @Transactional
+    void getActivityNotModified() throws Exception {
+        // Initialize the database
+        activityRepository.saveAndFlush(activity);
+
+        String eTag = restActivityMockMvc
+            .perform(get(ENTITY_API_URL_ID, activity.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        restActivityMockMvc
+            .perform(get(ENTITY_API_URL_ID, activity.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // A new participant changes the representation
+        User participant = UserResourceIT.createEntity(em);
+        em.persist(participant);
+        participantRepository.saveAndFlush(Participant.builder().activity(activity).user(participant).build());
+
+        restActivityMockMvc
+            .perform(get(ENTITY_API_URL_ID, activity.getId()).header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, not(eTag)))
+            .andExpect(jsonPath("$.participantCount").value(1));
+    }
+
+    @Test
+    @Transactional
+    void getActivityWithParticipantLimit() throws Exception {
+        // Initialize the database
+        activityRepository.saveAndFlush(activity);
+        Tag tag = tagRepository.saveAndFlush(Tag.builder().title("hiking").build());
+        activityTagRepository.saveAndFlush(ActivityTag.builder().activity(activity).tag(tag).user(activity.getUser()).build());
+        for (int i = 0; i < 3; i++) {
+            User participant = UserResourceIT.createEntity(em);
+            em.persist(participant);
+            participantRepository.saveAndFlush(Participant.builder().activity(activity).user(participant).build());
+        }
+
+        restActivityMockMvc
+            .perform(get(ENTITY_API_URL_ID + "?participantLimit=2", activity.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.participants.length()").value(2))
+            .andExpect(jsonPath("$.participantCount").value(3))
+            .andExpect(jsonPath("$.tags").value(hasItem("hiking")));
+    }
+
+    @Test
+    @Transactional
+    void getAllActivitiesWithCursor() throws Exception {
+        // Initialize the database
+        activityRepository.saveAndFlush(activity);
+        activityFeedService.refresh(activity.getId());
+        Activity newer = createUpdatedEntity(em);
+        activityRepository.saveAndFlush(newer);
+        activityFeedService.refresh(newer.getId());
+
+        restActivityMockMvc
+            .perform(get(ENTITY_API_URL + "?cursor=true&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("rel=\"next\"")))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @Transactional
+    void getAllActivitiesWithCursorAfterLastActivity() throws Exception {
+        // Initialize the database
+        activityRepository.saveAndFlush(activity);
+        activityFeedService.refresh(activity.getId());
+        String after = new KeysetCursor(activity.getDate(), activity.getId()).encode();
+
+        restActivityMockMvc
+            .perform(get(ENTITY_API_URL + "?after=" + after))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(activity.getId().intValue()))));
+    }
+
+    @Test
+    @Transactional
+    void getAllActivitiesWithInvalidCursor() throws Exception {
+        restActivityMockMvc.perform(get(ENTITY_API_URL + "?after=not-a-cursor")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void getAllActivitiesWithTagFilter() throws Exception {
+        // Initialize the database
+        activityRepository.saveAndFlush(activity);
+        Tag hiking = tagRepository.saveAndFlush(Tag.builder().title("hiking").build());
+        Tag climbing = tagRepository.saveAndFlush(Tag.builder().title("climbing").build());
+        activityTagRepository.saveAndFlush(ActivityTag.builder().activity(activity).tag(hiking).user(activity.getUser()).build());
+        activityFeedService.refresh(activity.getId());
+
+        restActivityMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/filter?sort=id,desc")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(hiking, climbing)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(activity.getId().intValue())))
+            .andExpect(jsonPath("$.[*].userName").value(hasItem(activity.getUser().getLogin())));
+
+        restActivityMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/filter?matchAll=true")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(List.of(hiking, climbing)))
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"));
+    }
+
+    @Test
+    @Transactional
+    void getAllActivitiesWithTagFilterStatementCountDoesNotGrow() throws Exception {
+        // Initialize the database
+        Tag hiking = tagRepository.saveAndFlush(Tag.builder().title("hiking").build());
+        byte[] tags = TestUtil.convertObjectToJsonBytes(List.of(hiking));
+        activityRepository.saveAndFlush(activity);
+        activityTagRepository.saveAndFlush(ActivityTag.builder().activity(activity).tag(hiking).user(activity.getUser()).build());
+        activityFeedService.refresh(activity.getId());
+        restActivityMockMvc
+            .perform(post(ENTITY_API_URL + "/filter").contentType(MediaType.APPLICATION_JSON).content(tags))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(SqlCountHeaderAdvice.SQL_COUNT_HEADER));
+        long baseline = TestUtil.sqlStatementCount(
+            restActivityMockMvc.perform(post(ENTITY_API_URL + "/filter").contentType(MediaType.APPLICATION_JSON).content(tags)).andReturn()
+        );
+
+        for (int i = 0; i < 3; i++) {
+            Activity other = activityRepository.saveAndFlush(createEntity(em));
+            activityTagRepository.saveAndFlush(ActivityTag.builder().activity(other).tag(hiking).user(other.getUser()).build());
+            activityFeedService.refresh(other.getId());
+        }
+
+        restActivityMockMvc
+            .perform(post(ENTITY_API_URL + "/filter").contentType(MediaType.APPLICATION_JSON).content(tags))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "4"))
+            .andExpect(TestUtil.sqlStatementCountAtMost(baseline));
     }
 
     @Test
@@ -397,6 +665,9 @@ class ActivityResourceIT {
         assertThat(testActivity.getTitle()).isEqualTo(UPDATED_TITLE);
         assertThat(testActivity.getDescription()).isEqualTo(UPDATED_DESCRIPTION);
         assertThat(testActivity.getDate()).isEqualTo(UPDATED_DATE);
+        assertThat(activityFeedRepository.findById(activity.getId())).hasValueSatisfying(entry ->
+            assertThat(entry.getTitle()).isEqualTo(UPDATED_TITLE)
+        );
     }
 
     @Test
@@ -490,6 +761,7 @@ class ActivityResourceIT {
     void deleteActivity() throws Exception {
         // Initialize the database
         activityRepository.saveAndFlush(activity);
+        activityFeedService.refresh(activity.getId());
 
         int databaseSizeBeforeDelete = activityRepository.findAll().size();
 
@@ -501,5 +773,6 @@ class ActivityResourceIT {
         // Validate the database contains one less item
         List<Activity> activityList = activityRepository.findAll();
         assertThat(activityList).hasSize(databaseSizeBeforeDelete - 1);
+        assertThat(activityFeedRepository.findById(activity.getId())).isEmpty();
     }
 }
@@ -1,6 +1,8 @@
 package com.mycompany.myapp.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasItem;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -8,9 +10,13 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Conversation;
+import com.mycompany.myapp.domain.ConversationMessage;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.dto.CreateConversationDto;
+import com.mycompany.myapp.dto.CreateConversationMessagesDto;
+import com.mycompany.myapp.repository.ConversationMessageRepository;
 import com.mycompany.myapp.repository.ConversationRepository;
+import com.mycompany.myapp.repository.UserRepository;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -27,6 +33,8 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -53,6 +61,12 @@ class ConversationResourceIT {
     @Mock
     private ConversationRepository conversationRepositoryMock;
 
+    @Autowired
+    private ConversationMessageRepository conversationMessageRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -124,6 +138,45 @@ class ConversationResourceIT {
         Conversation testConversation = conversationList.get(conversationList.size() - 1);
     }
 
+    @Test
+    @Transactional
+    void createConversationTwiceReturnsExistingConversation() throws Exception {
+        User otherUser = conversation.getUsers().iterator().next();
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        byte[] content = TestUtil.convertObjectToJsonBytes(CreateConversationDto.builder().userName(otherUser.getLogin()).build());
+        int databaseSizeBeforeCreate = conversationRepository.findAll().size();
+
+        restConversationMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(content))
+            .andExpect(status().isCreated());
+        restConversationMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(content))
+            .andExpect(status().isOk());
+
+        assertThat(conversationRepository.findAll()).hasSize(databaseSizeBeforeCreate + 1);
+        Conversation testConversation = conversationRepository.findByBothUsers(currentUser, otherUser).orElseThrow();
+        assertThat(testConversation.getUserLowId()).isEqualTo(Math.min(currentUser.getId(), otherUser.getId()));
+        assertThat(testConversation.getUserHighId()).isEqualTo(Math.max(currentUser.getId(), otherUser.getId()));
+        assertThat(conversationRepository.findOneWithEagerRelationships(testConversation.getId()).orElseThrow().getUsers())
+            .containsExactlyInAnyOrder(currentUser, otherUser);
+    }
+
+    @Test
+    @Transactional
+    void createConversationWithSelfIsRejected() throws Exception {
+        int databaseSizeBeforeCreate = conversationRepository.findAll().size();
+
+        restConversationMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(CreateConversationDto.builder().userName("user").build()))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(conversationRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
     @Test
     @Transactional
     void createConversationWithExistingId() throws Exception {
@@ -173,6 +226,192 @@ class ConversationResourceIT {
         verify(conversationRepositoryMock, times(1)).findAll(any(Pageable.class));
     }
 
+    @Test
+    @Transactional
+    void getInboxOfCurrentUser() throws Exception {
+        // Initialize the database
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        User otherUser = conversation.getUsers().iterator().next();
+        Long id = conversationRepository.findOrCreateDirectConversation(currentUser, otherUser).getId();
+
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL + "/users"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.[0].id").value(id.intValue()))
+            .andExpect(jsonPath("$.[0].userName").value(otherUser.getLogin()));
+    }
+
+    @Test
+    @Transactional
+    void getInboxOfCurrentUserStatementCountDoesNotGrow() throws Exception {
+        // Initialize the database
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        conversationRepository.findOrCreateDirectConversation(currentUser, conversation.getUsers().iterator().next());
+        em.flush();
+        restConversationMockMvc.perform(get(ENTITY_API_URL + "/users")).andExpect(status().isOk());
+        long baseline = TestUtil.sqlStatementCount(restConversationMockMvc.perform(get(ENTITY_API_URL + "/users")).andReturn());
+
+        for (int i = 0; i < 3; i++) {
+            User otherUser = UserResourceIT.createEntity(em);
+            em.persist(otherUser);
+            em.flush();
+            conversationRepository.findOrCreateDirectConversation(currentUser, otherUser);
+        }
+        em.flush();
+
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL + "/users"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "4"))
+            .andExpect(TestUtil.sqlStatementCountAtMost(baseline));
+    }
+
+    @Test
+    @Transactional
+    void getInboxCountMatchesItsRows() throws Exception {
+        // Initialize the database
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        Long id = conversationRepository.findOrCreateDirectConversation(currentUser, conversation.getUsers().iterator().next()).getId();
+        Conversation alone = new Conversation();
+        alone.getUsers().add(currentUser);
+        em.persist(alone);
+        em.flush();
+
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL + "/users"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(id.intValue()));
+    }
+
+    @Test
+    @Transactional
+    void getInboxOfCurrentUserWithCursor() throws Exception {
+        // Initialize the database
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        Long older = conversationRepository.findOrCreateDirectConversation(currentUser, conversation.getUsers().iterator().next()).getId();
+        User newerUser = UserResourceIT.createEntity(em);
+        em.persist(newerUser);
+        em.flush();
+        Long newer = conversationRepository.findOrCreateDirectConversation(currentUser, newerUser).getId();
+
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL + "/users?cursor=true&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(header().string(HttpHeaders.LINK, containsString("after=" + newer)))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(newer.intValue()))
+            .andExpect(jsonPath("$.[0].userName").value(newerUser.getLogin()));
+
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL + "/users?after=" + newer + "&size=1"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.LINK))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(older.intValue()));
+    }
+
+    @Test
+    @Transactional
+    void appendAndReadMessages() throws Exception {
+        // Initialize the database
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        User otherUser = conversation.getUsers().iterator().next();
+        Long id = conversationRepository.findOrCreateDirectConversation(currentUser, otherUser).getId();
+
+        restConversationMockMvc
+            .perform(
+                post(ENTITY_API_URL_ID + "/messages", id)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(
+                        TestUtil.convertObjectToJsonBytes(
+                            CreateConversationMessagesDto.builder().messages(List.of("first", "second", "third")).build()
+                        )
+                    )
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$.[2].content").value("third"))
+            .andExpect(jsonPath("$.[2].seq").value(3))
+            .andExpect(jsonPath("$.[2].userName").value("user"));
+
+        List<ConversationMessage> messages = conversationMessageRepository.findAll(Sort.by("id"));
+        assertThat(messages).extracting(ConversationMessage::getContent).containsExactly("first", "second", "third");
+        assertThat(messages).extracting(ConversationMessage::getSeq).containsExactly(1L, 2L, 3L);
+        Long thirdId = messages.get(2).getId();
+        em.clear();
+        assertThat(conversationRepository.findById(id).orElseThrow().getLastMessage().getId()).isEqualTo(thirdId);
+
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/messages?size=2", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].content").value(contains("second", "third")));
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/messages?before=2", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].content").value(contains("first")));
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/messages?after=2", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].content").value(contains("third")));
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL + "/users"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].lastMessageId").value(thirdId.intValue()))
+            .andExpect(jsonPath("$.[0].lastMessage").value("third"));
+    }
+
+    @Test
+    @Transactional
+    void getMessagesAfterFollowsAppendOrderRatherThanIds() throws Exception {
+        // Initialize the database
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        User otherUser = conversation.getUsers().iterator().next();
+        Long id = conversationRepository.findOrCreateDirectConversation(currentUser, otherUser).getId();
+        byte[] first = TestUtil.convertObjectToJsonBytes(CreateConversationMessagesDto.builder().messages(List.of("first")).build());
+        byte[] second = TestUtil.convertObjectToJsonBytes(CreateConversationMessagesDto.builder().messages(List.of("second")).build());
+        restConversationMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/messages", id).contentType(MediaType.APPLICATION_JSON).content(first))
+            .andExpect(status().isCreated());
+        // As if the first message took its id from the block of another node, ahead of this one
+        em.flush();
+        em.createNativeQuery("update conversation_message set id = id + 1000000 where conversation_id = :id")
+            .setParameter("id", id)
+            .executeUpdate();
+        em.clear();
+
+        restConversationMockMvc
+            .perform(post(ENTITY_API_URL_ID + "/messages", id).contentType(MediaType.APPLICATION_JSON).content(second))
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.[0].seq").value(2));
+
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/messages?after=1", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].content").value(contains("second")));
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL_ID + "/messages", id))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].content").value(contains("first", "second")));
+        restConversationMockMvc
+            .perform(get(ENTITY_API_URL + "/users"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[0].lastMessage").value("second"));
+    }
+
+    @Test
+    @Transactional
+    void getMessagesOfOtherConversationIsRejected() throws Exception {
+        // Initialize the database
+        conversationRepository.saveAndFlush(conversation);
+
+        restConversationMockMvc.perform(get(ENTITY_API_URL_ID + "/messages", conversation.getId())).andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getConversation() throws Exception {
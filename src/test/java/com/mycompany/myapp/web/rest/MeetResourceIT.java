@@ -8,8 +8,12 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.Meet;
+import com.mycompany.myapp.domain.Request;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.MeetRepository;
+import com.mycompany.myapp.repository.RequestRepository;
+import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.CacheInvalidationBus;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -22,10 +26,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -54,9 +61,18 @@ class MeetResourceIT {
     @Autowired
     private MeetRepository meetRepository;
 
+    @Autowired
+    private RequestRepository requestRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
     @Mock
     private MeetRepository meetRepositoryMock;
 
+    @SpyBean
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @Autowired
     private EntityManager em;
 
@@ -128,6 +144,84 @@ class MeetResourceIT {
             .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @Transactional
+    void createSecondEnabledMeetIsRejected() throws Exception {
+        restMeetMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(meet)))
+            .andExpect(status().isCreated());
+
+        restMeetMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(meet)))
+            .andExpect(status().isBadRequest());
+
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        assertThat(meetRepository.findByUserAndIsEnabledTrue(currentUser)).hasSize(1);
+    }
+
+    @Test
+    @Transactional
+    void replaceEnabledMeet() throws Exception {
+        restMeetMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(meet)))
+            .andExpect(status().isCreated());
+        meet.setDescription(UPDATED_DESCRIPTION);
+
+        restMeetMockMvc
+            .perform(
+                post(ENTITY_API_URL + "/replace").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(meet))
+            )
+            .andExpect(status().isCreated())
+            .andExpect(jsonPath("$.description").value(UPDATED_DESCRIPTION))
+            .andExpect(jsonPath("$.isEnabled").value(true));
+
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        assertThat(meetRepository.findByUser(currentUser)).hasSize(2);
+        assertThat(meetRepository.findByUserAndIsEnabledTrue(currentUser))
+            .singleElement()
+            .satisfies(enabledMeet -> assertThat(enabledMeet.getDescription()).isEqualTo(UPDATED_DESCRIPTION));
+    }
+
+    @Test
+    @Transactional
+    void getEnabledMeetNotModified() throws Exception {
+        restMeetMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(meet)))
+            .andExpect(status().isCreated());
+
+        MockHttpServletResponse response = restMeetMockMvc
+            .perform(get(ENTITY_API_URL + "/isEnabled"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.description").value(DEFAULT_DESCRIPTION))
+            .andReturn()
+            .getResponse();
+
+        restMeetMockMvc
+            .perform(get(ENTITY_API_URL + "/isEnabled").header(HttpHeaders.IF_NONE_MATCH, response.getHeader(HttpHeaders.ETAG)))
+            .andExpect(status().isNotModified());
+        restMeetMockMvc
+            .perform(
+                get(ENTITY_API_URL + "/isEnabled").header(HttpHeaders.IF_MODIFIED_SINCE, response.getHeader(HttpHeaders.LAST_MODIFIED))
+            )
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    void disableEnabledMeet() throws Exception {
+        restMeetMockMvc
+            .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(meet)))
+            .andExpect(status().isCreated());
+
+        restMeetMockMvc.perform(get(ENTITY_API_URL + "/disable")).andExpect(status().isOk()).andExpect(jsonPath("$").value(true));
+        restMeetMockMvc.perform(get(ENTITY_API_URL + "/disable")).andExpect(status().isNotFound());
+        // The create and the bulk disable both evict the meets cached by the other nodes
+        verify(cacheInvalidationBus, times(2)).publishEntityEviction(Meet.class);
+
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        assertThat(meetRepository.findByUserAndIsEnabledTrue(currentUser)).isEmpty();
+    }
+
     @Test
     @Transactional
     void checkDescriptionIsRequired() throws Exception {
@@ -161,6 +255,46 @@ class MeetResourceIT {
             .andExpect(jsonPath("$.[*].isEnabled").value(hasItem(DEFAULT_IS_ENABLED.booleanValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllMeetsUserExcludedWithRequestStatus() throws Exception {
+        // Initialize the database
+        meet.setIsEnabled(true);
+        meetRepository.saveAndFlush(meet);
+        Meet otherMeet = createUpdatedEntity(em);
+        meetRepository.saveAndFlush(otherMeet);
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        requestRepository.saveAndFlush(Request.builder().meet(meet).user(currentUser).build());
+
+        restMeetMockMvc
+            .perform(get(ENTITY_API_URL + "/exclude-user-meets?size=2000"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == " + meet.getId() + ")].isRequestSent").value(hasItem(true)))
+            .andExpect(jsonPath("$[?(@.id == " + meet.getId() + ")].userName").value(hasItem(meet.getUser().getLogin())))
+            .andExpect(jsonPath("$[?(@.id == " + otherMeet.getId() + ")].isRequestSent").value(hasItem(false)));
+    }
+
+    @Test
+    @Transactional
+    void getAllMeetsUserExcludedStatementCountDoesNotGrow() throws Exception {
+        // Initialize the database
+        meet.setIsEnabled(true);
+        meetRepository.saveAndFlush(meet);
+        String url = ENTITY_API_URL + "/exclude-user-meets?size=2000";
+        restMeetMockMvc.perform(get(url)).andExpect(status().isOk());
+        long baseline = TestUtil.sqlStatementCount(restMeetMockMvc.perform(get(url)).andReturn());
+
+        User currentUser = userRepository.findOneByLogin("user").orElseThrow();
+        for (int i = 0; i < 3; i++) {
+            Meet otherMeet = createEntity(em);
+            otherMeet.setIsEnabled(true);
+            meetRepository.saveAndFlush(otherMeet);
+            requestRepository.saveAndFlush(Request.builder().meet(otherMeet).user(currentUser).build());
+        }
+
+        restMeetMockMvc.perform(get(url)).andExpect(status().isOk()).andExpect(TestUtil.sqlStatementCountAtMost(baseline));
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllMeetsWithEagerRelationshipsIsEnabled() throws Exception {
         when(meetRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -231,6 +365,27 @@ class MeetResourceIT {
         assertThat(testMeet.getIsEnabled()).isEqualTo(UPDATED_IS_ENABLED);
     }
 
+    @Test
+    @Transactional
+    void putSecondEnabledMeetIsRejected() throws Exception {
+        // Initialize the database
+        meetRepository.saveAndFlush(meet);
+        meetRepository.saveAndFlush(new Meet().description(UPDATED_DESCRIPTION).isEnabled(true).user(meet.getUser()));
+
+        Meet updatedMeet = meetRepository.findById(meet.getId()).get();
+        em.detach(updatedMeet);
+        updatedMeet.isEnabled(true);
+
+        restMeetMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedMeet.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(updatedMeet))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.entityExists"));
+    }
+
     @Test
     @Transactional
     void putNonExistingMeet() throws Exception {
@@ -347,6 +502,28 @@ class MeetResourceIT {
         assertThat(testMeet.getIsEnabled()).isEqualTo(UPDATED_IS_ENABLED);
     }
 
+    @Test
+    @Transactional
+    void patchSecondEnabledMeetIsRejected() throws Exception {
+        // Initialize the database
+        meetRepository.saveAndFlush(meet);
+        meetRepository.saveAndFlush(new Meet().description(UPDATED_DESCRIPTION).isEnabled(true).user(meet.getUser()));
+
+        Meet partialUpdatedMeet = new Meet();
+        partialUpdatedMeet.setId(meet.getId());
+
+        partialUpdatedMeet.isEnabled(true);
+
+        restMeetMockMvc
+            .perform(
+                patch(ENTITY_API_URL_ID, partialUpdatedMeet.getId())
+                    .contentType("application/merge-patch+json")
+                    .content(TestUtil.convertObjectToJsonBytes(partialUpdatedMeet))
+            )
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$.message").value("error.entityExists"));
+    }
+
     @Test
     @Transactional
     void patchNonExistingMeet() throws Exception {
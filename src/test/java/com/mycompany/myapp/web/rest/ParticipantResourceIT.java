@@ -11,6 +11,7 @@ import com.mycompany.myapp.domain.Activity;
 import com.mycompany.myapp.domain.Participant;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.dto.CreateParticipantDto;
+import com.mycompany.myapp.repository.ActivityFeedRepository;
 import com.mycompany.myapp.repository.ParticipantRepository;
 import java.util.ArrayList;
 import java.util.List;
@@ -53,6 +54,9 @@ class ParticipantResourceIT {
     @Mock
     private ParticipantRepository participantRepositoryMock;
 
+    @Autowired
+    private ActivityFeedRepository activityFeedRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -139,6 +143,10 @@ class ParticipantResourceIT {
         List<Participant> participantList = participantRepository.findAll();
         assertThat(participantList).hasSize(databaseSizeBeforeCreate + 1);
         Participant testParticipant = participantList.get(participantList.size() - 1);
+        Long activityId = participant.getActivity().getId();
+        long participantCount = participantList.stream().filter(p -> p.getActivity().getId().equals(activityId)).count();
+        assertThat(activityFeedRepository.findById(activityId))
+            .hasValueSatisfying(entry -> assertThat(entry.getParticipantCount()).isEqualTo(participantCount));
     }
 
     @Test
@@ -173,6 +181,48 @@ class ParticipantResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(participant.getId().intValue())));
     }
 
+    @Test
+    @Transactional
+    void getAllParticipantsOfActivity() throws Exception {
+        // Initialize the database
+        participantRepository.saveAndFlush(participant);
+
+        restParticipantMockMvc
+            .perform(get(ENTITY_API_URL + "/activity/{id}?sort=id,desc", participant.getActivity().getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(participant.getId().intValue())))
+            .andExpect(jsonPath("$.[*].userName").value(hasItem(participant.getUser().getLogin())));
+    }
+
+    @Test
+    @Transactional
+    void getAllParticipantsOfActivityStatementCountDoesNotGrow() throws Exception {
+        // Initialize the database
+        participantRepository.saveAndFlush(participant);
+        String url = ENTITY_API_URL + "/activity/" + participant.getActivity().getId() + "?sort=id,desc";
+        restParticipantMockMvc.perform(get(url)).andExpect(status().isOk());
+        long baseline = TestUtil.sqlStatementCount(restParticipantMockMvc.perform(get(url)).andReturn());
+
+        for (int i = 0; i < 3; i++) {
+            Participant other = createEntity(em);
+            other.setActivity(participant.getActivity());
+            participantRepository.saveAndFlush(other);
+        }
+
+        restParticipantMockMvc
+            .perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(4))
+            .andExpect(TestUtil.sqlStatementCountAtMost(baseline));
+    }
+
+    @Test
+    @Transactional
+    void getAllParticipantsOfNonExistingActivity() throws Exception {
+        restParticipantMockMvc.perform(get(ENTITY_API_URL + "/activity/{id}", Long.MAX_VALUE)).andExpect(status().isBadRequest());
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllParticipantsWithEagerRelationshipsIsEnabled() throws Exception {
         when(participantRepositoryMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
@@ -236,6 +286,10 @@ class ParticipantResourceIT {
         List<Participant> participantList = participantRepository.findAll();
         assertThat(participantList).hasSize(databaseSizeBeforeUpdate);
         Participant testParticipant = participantList.get(participantList.size() - 1);
+        Long activityId = participant.getActivity().getId();
+        long participantCount = participantList.stream().filter(p -> p.getActivity().getId().equals(activityId)).count();
+        assertThat(activityFeedRepository.findById(activityId))
+            .hasValueSatisfying(entry -> assertThat(entry.getParticipantCount()).isEqualTo(participantCount));
     }
 
     @Test
@@ -318,6 +372,10 @@ class ParticipantResourceIT {
         List<Participant> participantList = participantRepository.findAll();
         assertThat(participantList).hasSize(databaseSizeBeforeUpdate);
         Participant testParticipant = participantList.get(participantList.size() - 1);
+        Long activityId = participant.getActivity().getId();
+        long participantCount = participantList.stream().filter(p -> p.getActivity().getId().equals(activityId)).count();
+        assertThat(activityFeedRepository.findById(activityId))
+            .hasValueSatisfying(entry -> assertThat(entry.getParticipantCount()).isEqualTo(participantCount));
     }
 
     @Test
@@ -344,6 +402,10 @@ class ParticipantResourceIT {
         List<Participant> participantList = participantRepository.findAll();
         assertThat(participantList).hasSize(databaseSizeBeforeUpdate);
         Participant testParticipant = participantList.get(participantList.size() - 1);
+        Long activityId = participant.getActivity().getId();
+        long participantCount = participantList.stream().filter(p -> p.getActivity().getId().equals(activityId)).count();
+        assertThat(activityFeedRepository.findById(activityId))
+            .hasValueSatisfying(entry -> assertThat(entry.getParticipantCount()).isEqualTo(participantCount));
     }
 
     @Test
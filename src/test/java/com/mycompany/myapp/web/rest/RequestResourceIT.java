@@ -138,6 +138,38 @@ class RequestResourceIT {
         Request testRequest = requestList.get(requestList.size() - 1);
     }
 
+    @Test
+    @Transactional
+    void createRequestTwiceIsRejected() throws Exception {
+        restRequestMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(request.getMeet().getId()))
+            )
+            .andExpect(status().isCreated());
+        int databaseSizeBeforeCreate = requestRepository.findAll().size();
+
+        restRequestMockMvc
+            .perform(
+                post(ENTITY_API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(TestUtil.convertObjectToJsonBytes(request.getMeet().getId()))
+            )
+            .andExpect(status().isBadRequest());
+
+        assertThat(requestRepository.findAll()).hasSize(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void streamReceivedRequests() throws Exception {
+        restRequestMockMvc
+            .perform(get(ENTITY_API_URL + "/received/stream").accept(MediaType.TEXT_EVENT_STREAM))
+            .andExpect(status().isOk())
+            .andExpect(request().asyncStarted());
+    }
+
     @Test
     @Transactional
     void createRequestWithExistingId() throws Exception {
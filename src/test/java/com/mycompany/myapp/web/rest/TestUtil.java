@@ -6,6 +6,8 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.mycompany.myapp.management.SqlStatistics;
+import com.mycompany.myapp.management.SqlStatisticsInterceptor;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.time.ZonedDateTime;
@@ -22,6 +24,8 @@ import org.hamcrest.TypeSafeMatcher;
 import org.springframework.format.datetime.standard.DateTimeFormatterRegistrar;
 import org.springframework.format.support.DefaultFormattingConversionService;
 import org.springframework.format.support.FormattingConversionService;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
 
 /**
  * Utility class for testing REST controllers.
@@ -202,5 +206,27 @@ public final class TestUtil {
         return allQuery.getResultList();
     }
 
+    /**
+     * Get the number of SQL statements executed by the handler of a request.
+     *
+     * @param result the result of the request.
+     * @return the number of statements.
+     */
+    public static long sqlStatementCount(MvcResult result) {
+        SqlStatistics statistics = (SqlStatistics) result.getRequest().getAttribute(SqlStatisticsInterceptor.STATISTICS_ATTRIBUTE);
+        assertThat(statistics).as("SQL statistics of the request").isNotNull();
+        return statistics.getStatements();
+    }
+
+    /**
+     * Assert that the handler of a request executed at most the given number of SQL statements, to catch N+1 queries.
+     *
+     * @param max the maximum number of statements.
+     * @return the matcher.
+     */
+    public static ResultMatcher sqlStatementCountAtMost(long max) {
+        return result -> assertThat(sqlStatementCount(result)).as("SQL statements of the request").isLessThanOrEqualTo(max);
+    }
+
     private TestUtil() {}
 }
@@ -4,24 +4,24 @@ import static org.hamcrest.Matchers.emptyString;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
-import static org.mockito.ArgumentMatchers.anyString;
-import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
-import com.google.firebase.auth.FirebaseAuth;
 import com.mycompany.myapp.IntegrationTest;
 import com.mycompany.myapp.domain.User;
 import com.mycompany.myapp.repository.UserRepository;
+import com.mycompany.myapp.service.FirebaseTokenService;
 import com.mycompany.myapp.web.rest.vm.LoginVM;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
 import org.junit.jupiter.api.Test;
-import org.mockito.MockedStatic;
-import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
@@ -42,83 +42,104 @@ class UserJWTControllerIT {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    @Qualifier(FirebaseTokenService.EXECUTOR_BEAN_NAME)
+    private ThreadPoolTaskExecutor firebaseTokenExecutor;
+
     @Test
     @Transactional
     void testAuthorize() throws Exception {
-        try (MockedStatic<FirebaseAuth> mockedFirebaseAuth = Mockito.mockStatic(FirebaseAuth.class)) {
-            FirebaseAuth mockFirebaseAuthInstance = mock(FirebaseAuth.class);
+        User user = new User();
+        user.setLogin("user-jwt-controller");
+        user.setEmail("user-jwt-controller@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
 
-            // Mock the static method call
-            mockedFirebaseAuth.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuthInstance);
+        userRepository.saveAndFlush(user);
 
-            // Mock the instance method call
-            when(mockFirebaseAuthInstance.createCustomToken(anyString())).thenReturn("MockedFirebaseToken");
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller");
+        login.setPassword("test");
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isString())
+            .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(header().string("Authorization", not(nullValue())))
+            .andExpect(header().string("Authorization", not(is(emptyString()))))
+            .andExpect(header().exists(UserJWTController.FIREBASE_TOKEN_HEADER))
+            .andExpect(header().string(UserJWTController.FIREBASE_TOKEN_HEADER, not(is(emptyString()))));
+    }
 
-            User user = new User();
-            user.setLogin("user-jwt-controller");
-            user.setEmail("user-jwt-controller@example.com");
-            user.setActivated(true);
-            user.setPassword(passwordEncoder.encode("test"));
+    @Test
+    @Transactional
+    void testAuthorizeWithSaturatedFirebaseExecutor() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-saturated");
+        user.setEmail("user-jwt-controller-saturated@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+
+        userRepository.saveAndFlush(user);
 
-            userRepository.saveAndFlush(user);
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-saturated");
+        login.setPassword("test");
+        CountDownLatch release = new CountDownLatch(1);
+        ThreadPoolExecutor pool = firebaseTokenExecutor.getThreadPoolExecutor();
+        try {
+            for (int i = 0; i < pool.getMaximumPoolSize(); i++) {
+                firebaseTokenExecutor.execute(() -> await(release));
+            }
+            while (pool.getActiveCount() < pool.getMaximumPoolSize()) {
+                Thread.sleep(10);
+            }
+            while (pool.getQueue().remainingCapacity() > 0) {
+                firebaseTokenExecutor.execute(() -> {});
+            }
 
-            LoginVM login = new LoginVM();
-            login.setUsername("user-jwt-controller");
-            login.setPassword("test");
             mockMvc
                 .perform(
                     post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login))
                 )
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id_token").isString())
                 .andExpect(jsonPath("$.id_token").isNotEmpty())
-                .andExpect(header().string("Authorization", not(nullValue())))
-                .andExpect(header().string("Authorization", not(is(emptyString()))));
+                .andExpect(header().doesNotExist(UserJWTController.FIREBASE_TOKEN_HEADER));
+        } finally {
+            release.countDown();
+        }
+    }
 
-            // Assertions
-            // Verify interactions
-            verify(mockFirebaseAuthInstance).createCustomToken(anyString());
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         }
     }
 
     @Test
     @Transactional
     void testAuthorizeWithRememberMe() throws Exception {
-        // Mock FirebaseAuth and its instance
-        try (MockedStatic<FirebaseAuth> mockedFirebaseAuth = Mockito.mockStatic(FirebaseAuth.class)) {
-            FirebaseAuth mockFirebaseAuthInstance = mock(FirebaseAuth.class);
-
-            // Mock the static method call
-            mockedFirebaseAuth.when(FirebaseAuth::getInstance).thenReturn(mockFirebaseAuthInstance);
+        User user = new User();
+        user.setLogin("user-jwt-controller-remember-me");
+        user.setEmail("user-jwt-controller-remember-me@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
 
-            // Mock the instance method call
-            when(mockFirebaseAuthInstance.createCustomToken(anyString())).thenReturn("MockedFirebaseToken");
+        userRepository.saveAndFlush(user);
 
-            User user = new User();
-            user.setLogin("user-jwt-controller-remember-me");
-            user.setEmail("user-jwt-controller-remember-me@example.com");
-            user.setActivated(true);
-            user.setPassword(passwordEncoder.encode("test"));
-
-            userRepository.saveAndFlush(user);
-
-            LoginVM login = new LoginVM();
-            login.setUsername("user-jwt-controller-remember-me");
-            login.setPassword("test");
-            login.setRememberMe(true);
-            mockMvc
-                .perform(
-                    post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login))
-                )
-                .andExpect(status().isOk())
-                .andExpect(jsonPath("$.id_token").isString())
-                .andExpect(jsonPath("$.id_token").isNotEmpty())
-                .andExpect(header().string("Authorization", not(nullValue())))
-                .andExpect(header().string("Authorization", not(is(emptyString()))));
-            // Assertions
-            // Verify interactions
-            verify(mockFirebaseAuthInstance).createCustomToken(anyString());
-        }
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-remember-me");
+        login.setPassword("test");
+        login.setRememberMe(true);
+        mockMvc
+            .perform(post("/api/authenticate").contentType(MediaType.APPLICATION_JSON).content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isString())
+            .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(header().string("Authorization", not(nullValue())))
+            .andExpect(header().string("Authorization", not(is(emptyString()))));
     }
 
     @Test
@@ -0,0 +1,59 @@
+package com.mycompany.myapp.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.service.CurrentUserService;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+
+/**
+ * Test class for the {@link CurrentUserArgumentResolver}.
+ */
+class CurrentUserArgumentResolverUnitTest {
+
+    private CurrentUserService currentUserService;
+
+    private CurrentUserArgumentResolver resolver;
+
+    @BeforeEach
+    void setup() {
+        currentUserService = mock(CurrentUserService.class);
+        resolver = new CurrentUserArgumentResolver(currentUserService);
+    }
+
+    @SuppressWarnings("unused")
+    private void handler(@CurrentUser User required, @CurrentUser @Nullable User nullable, @CurrentUser Optional<User> optional) {}
+
+    private MethodParameter parameter(int index) throws NoSuchMethodException {
+        return new MethodParameter(getClass().getDeclaredMethod("handler", User.class, User.class, Optional.class), index);
+    }
+
+    @Test
+    void testResolvesEveryDeclaration() throws Exception {
+        User user = new User();
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.of(user));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(resolver.supportsParameter(parameter(i))).isTrue();
+        }
+        assertThat(resolver.resolveArgument(parameter(0), null, null, null)).isSameAs(user);
+        assertThat(resolver.resolveArgument(parameter(1), null, null, null)).isSameAs(user);
+        assertThat(resolver.resolveArgument(parameter(2), null, null, null)).isEqualTo(Optional.of(user));
+    }
+
+    @Test
+    void testNobodyLoggedIn() throws Exception {
+        when(currentUserService.getCurrentUser()).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> resolver.resolveArgument(parameter(0), null, null, null)).isInstanceOf(IllegalCallerException.class);
+        assertThat(resolver.resolveArgument(parameter(1), null, null, null)).isNull();
+        assertThat(resolver.resolveArgument(parameter(2), null, null, null)).isEqualTo(Optional.empty());
+    }
+}
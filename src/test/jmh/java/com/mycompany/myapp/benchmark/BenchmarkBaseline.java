@@ -0,0 +1,139 @@
+package com.mycompany.myapp.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compares a JMH JSON result file against the stored baseline, and fails when a benchmark allocates more than the
+ * baseline allows.
+ * <p>
+ * The gate is on the bytes allocated per operation, as measured by the {@code gc} profiler: unlike the average time,
+ * they do not depend on the machine running the benchmarks. A result is a regression when it exceeds its baseline by
+ * more than {@code benchmark.tolerance}; the average time is only logged. A benchmark without a baseline fails the
+ * build too. With {@code benchmark.baseline.update=true}, the results are written as the new baseline instead.
+ */
+public final class BenchmarkBaseline {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BenchmarkBaseline.class);
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    /**
+     * Allocation differences below this many bytes per operation are measurement noise.
+     */
+    private static final double ALLOCATION_NOISE = 16;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private BenchmarkBaseline() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: BenchmarkBaseline <jmh result file> <baseline file>");
+        }
+        Map<String, Measure> results = readResults(new File(args[0]));
+        File baselineFile = new File(args[1]);
+        if (Boolean.getBoolean("benchmark.baseline.update")) {
+            writeBaseline(results, baselineFile);
+            LOG.info("Recorded {} benchmark baselines in {}", results.size(), baselineFile);
+            return;
+        }
+        Map<String, Double> baseline = baselineFile.exists() ? readBaseline(baselineFile) : Map.of();
+        double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.15"));
+        List<String> regressions = new ArrayList<>();
+        results.forEach((benchmark, result) -> {
+            Double expected = baseline.get(benchmark);
+            if (result.allocation < 0) {
+                regressions.add(benchmark + " has no " + ALLOCATION_METRIC + " metric, run it with the gc profiler");
+            } else if (expected == null) {
+                regressions.add(benchmark + " has no baseline, record it with -Dbenchmark.baseline.update=true");
+            } else {
+                LOG.info("{}: {} (baseline {} B/op)", benchmark, result, String.format("%.0f", expected));
+                if (result.allocation - expected > Math.max(ALLOCATION_NOISE, expected * tolerance)) {
+                    regressions.add(benchmark + " allocates " + result.allocation + " B/op, baseline " + expected);
+                }
+            }
+        });
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> LOG.error("Regression: {}", regression));
+            throw new IllegalStateException(regressions.size() + " benchmark(s) exceed their baseline");
+        }
+    }
+
+    private static Map<String, Measure> readResults(File file) throws IOException {
+        Map<String, Measure> results = new TreeMap<>();
+        for (JsonNode run : OBJECT_MAPPER.readTree(file)) {
+            StringBuilder benchmark = new StringBuilder(run.path("benchmark").asText());
+            Iterator<Map.Entry<String, JsonNode>> params = run.path("params").fields();
+            while (params.hasNext()) {
+                Map.Entry<String, JsonNode> param = params.next();
+                benchmark.append(':').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            JsonNode primaryMetric = run.path("primaryMetric");
+            double allocation = -1;
+            Iterator<Map.Entry<String, JsonNode>> secondaryMetrics = run.path("secondaryMetrics").fields();
+            while (secondaryMetrics.hasNext()) {
+                Map.Entry<String, JsonNode> metric = secondaryMetrics.next();
+                // Older JMH versions prefix the profiler metrics with a middle dot
+                if (metric.getKey().replace("·", "").equals(ALLOCATION_METRIC)) {
+                    allocation = metric.getValue().path("score").asDouble();
+                }
+            }
+            results.put(
+                benchmark.toString(),
+                new Measure(primaryMetric.path("score").asDouble(), primaryMetric.path("scoreUnit").asText(), allocation)
+            );
+        }
+        return results;
+    }
+
+    private static Map<String, Double> readBaseline(File file) throws IOException {
+        Map<String, Double> baseline = new TreeMap<>();
+        OBJECT_MAPPER
+            .readTree(file)
+            .fields()
+            .forEachRemaining(entry -> {
+                JsonNode allocation = entry.getValue().path("allocation");
+                if (allocation.isNumber()) {
+                    baseline.put(entry.getKey(), allocation.asDouble());
+                }
+            });
+        return baseline;
+    }
+
+    private static void writeBaseline(Map<String, Measure> results, File file) throws IOException {
+        ObjectNode baseline = OBJECT_MAPPER.createObjectNode();
+        results.forEach((benchmark, result) -> baseline.putObject(benchmark).put("allocation", result.allocation));
+        OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValue(file, baseline);
+    }
+
+    private static final class Measure {
+
+        private final double score;
+
+        private final String unit;
+
+        private final double allocation;
+
+        private Measure(double score, String unit, double allocation) {
+            this.score = score;
+            this.unit = unit;
+            this.allocation = allocation;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%.3f %s, %.0f B/op", score, unit, allocation);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.mycompany.myapp.benchmark;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import com.mycompany.myapp.config.CRLFLogConverter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks of {@link CRLFLogConverter}, applied to every logged message.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CRLFLogConverterBenchmark {
+
+    private static final String MESSAGE = "REST request to get Activity : 1051 for user-42";
+
+    private static final String MESSAGE_WITH_CRLF = "REST request to get Activity : 1051\r\nfor user-42\twith tabs";
+
+    private ExposedConverter converter;
+
+    private ExposedConverter colorConverter;
+
+    private ILoggingEvent event;
+
+    @Setup
+    public void setup() {
+        converter = new ExposedConverter();
+        colorConverter = new ExposedConverter();
+        colorConverter.setOptionList(List.of("red"));
+        LoggingEvent loggingEvent = new LoggingEvent();
+        loggingEvent.setLoggerName("com.mycompany.myapp.web.rest.ActivityResource");
+        loggingEvent.setLevel(Level.DEBUG);
+        loggingEvent.setMessage(MESSAGE);
+        event = loggingEvent;
+    }
+
+    @Benchmark
+    public String transform() {
+        return converter.transform(event, MESSAGE);
+    }
+
+    @Benchmark
+    public String transformWithCrlf() {
+        return converter.transform(event, MESSAGE_WITH_CRLF);
+    }
+
+    @Benchmark
+    public String transformWithCrlfInColor() {
+        return colorConverter.transform(event, MESSAGE_WITH_CRLF);
+    }
+
+    /**
+     * Exposes the conversion applied to a message, without a logger context to build the child converters.
+     */
+    private static final class ExposedConverter extends CRLFLogConverter {
+
+        @Override
+        public String transform(ILoggingEvent event, String in) {
+            return super.transform(event, in);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.security.AuthoritiesConstants;
+import com.mycompany.myapp.security.jwt.JWTFilter;
+import com.mycompany.myapp.security.jwt.TokenProvider;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+/**
+ * Benchmark of {@link JWTFilter#doFilter}, for a client presenting the same token on every request as browsers do.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JWTFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {};
+
+    private JWTFilter jwtFilter;
+
+    private MockHttpServletRequest request;
+
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setup() {
+        TokenProvider tokenProvider = TokenProviderBenchmark.tokenProvider();
+        String token = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken("user", "user", List.of(new SimpleGrantedAuthority(AuthoritiesConstants.USER))),
+            false
+        );
+        jwtFilter = new JWTFilter(tokenProvider);
+        request = new MockHttpServletRequest("GET", "/api/activities");
+        request.addHeader(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void doFilter() throws IOException, ServletException {
+        jwtFilter.doFilter(request, response, NO_OP_CHAIN);
+        // As at the end of a request, so that each invocation installs its own authentication
+        SecurityContextHolder.clearContext();
+    }
+}
@@ -0,0 +1,87 @@
+package com.mycompany.myapp.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.mycompany.myapp.config.JacksonConfiguration;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.GetActivityDetailsDto;
+import com.mycompany.myapp.dto.GetActivityDto;
+import com.mycompany.myapp.service.mapper.ActivityMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Benchmarks of the serialization of activity responses, with the modules registered by {@link JacksonConfiguration}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JacksonBenchmark {
+
+    private ObjectWriter activitiesWriter;
+
+    private ObjectWriter activityDetailsWriter;
+
+    private List<GetActivityDto> activities;
+
+    private GetActivityDetailsDto activityDetails;
+
+    @Setup
+    public void setup() {
+        JacksonConfiguration configuration = new JacksonConfiguration();
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder
+            .json()
+            .modules(
+                configuration.javaTimeModule(),
+                configuration.jdk8TimeModule(),
+                configuration.hibernate5Module(),
+                configuration.problemModule(),
+                configuration.constraintViolationProblemModule()
+            )
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+        activitiesWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, GetActivityDto.class));
+        activityDetailsWriter = objectMapper.writerFor(GetActivityDetailsDto.class);
+
+        List<User> users = IntStream.range(0, MapperBenchmark.PAGE_SIZE).mapToObj(MapperBenchmark::user).collect(Collectors.toList());
+        activities =
+            IntStream
+                .range(0, MapperBenchmark.PAGE_SIZE)
+                .mapToObj(i -> ActivityMapper.fromEntity(MapperBenchmark.activity(users.get(i), i)))
+                .collect(Collectors.toList());
+        activityDetails =
+            GetActivityDetailsDto
+                .builder()
+                .id(1L)
+                .userName("user-0")
+                .title("Activity 1")
+                .description("Description of activity 1")
+                .date(Instant.parse("2026-10-18T18:00:00Z"))
+                .imageUrl("https://example.com/images/user-0.png")
+                .tags(List.of("hiking", "outdoors", "weekend"))
+                .participants(users.stream().map(User::getLogin).collect(Collectors.toList()))
+                .isParticipating(true)
+                .participantCount((long) users.size())
+                .build();
+    }
+
+    @Benchmark
+    public byte[] activityPage() throws JsonProcessingException {
+        return activitiesWriter.writeValueAsBytes(activities);
+    }
+
+    @Benchmark
+    public byte[] activityDetails() throws JsonProcessingException {
+        return activityDetailsWriter.writeValueAsBytes(activityDetails);
+    }
+}
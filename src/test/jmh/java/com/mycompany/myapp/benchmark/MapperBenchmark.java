@@ -0,0 +1,69 @@
+package com.mycompany.myapp.benchmark;
+
+import com.mycompany.myapp.domain.Activity;
+import com.mycompany.myapp.domain.User;
+import com.mycompany.myapp.dto.GetActivityDto;
+import com.mycompany.myapp.service.dto.UserDTO;
+import com.mycompany.myapp.service.mapper.ActivityMapper;
+import com.mycompany.myapp.service.mapper.UserMapper;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks of the entity to DTO mappings run for every listed entity.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    static final int PAGE_SIZE = 20;
+
+    private final UserMapper userMapper = new UserMapper();
+
+    private Activity activity;
+
+    private List<User> users;
+
+    @Setup
+    public void setup() {
+        users = IntStream.range(0, PAGE_SIZE).mapToObj(MapperBenchmark::user).collect(Collectors.toList());
+        activity = activity(users.get(0), 1);
+    }
+
+    static User user(int index) {
+        User user = new User();
+        user.setId((long) index);
+        user.setLogin("user-" + index);
+        user.setImageUrl("https://example.com/images/user-" + index + ".png");
+        return user;
+    }
+
+    static Activity activity(User owner, int index) {
+        return Activity
+            .builder()
+            .id((long) index)
+            .title("Activity " + index)
+            .description("Description of activity " + index)
+            .date(Instant.parse("2026-10-18T18:00:00Z"))
+            .user(owner)
+            .build();
+    }
+
+    @Benchmark
+    public GetActivityDto activityFromEntity() {
+        return ActivityMapper.fromEntity(activity);
+    }
+
+    @Benchmark
+    public List<UserDTO> usersToUserDTOs() {
+        return userMapper.usersToUserDTOs(users);
+    }
+}